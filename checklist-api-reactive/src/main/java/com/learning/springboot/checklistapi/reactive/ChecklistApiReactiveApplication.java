@@ -0,0 +1,35 @@
+package com.learning.springboot.checklistapi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Non-blocking alternative to the servlet Checklist API: the same {@code /api/v1/categories} and
+ * {@code /api/v1/checklist-items} contract served by WebFlux over R2DBC, so a pod holds many idle or slow
+ * connections without a thread per request.
+ */
+@SpringBootApplication
+public class ChecklistApiReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ChecklistApiReactiveApplication.class, args);
+    }
+
+    @Bean
+    public WebFluxConfigurer corsLocalConfig(){
+        return new WebFluxConfigurer() {
+            @Override
+            public void addCorsMappings(CorsRegistry registry){
+                registry.addMapping("/**")
+                        .allowedOrigins("http://localhost:4200")
+                        .allowedMethods("GET", "PUT", "OPTIONS", "POST", "DELETE", "PATCH")
+                        .maxAge(900)
+                        .allowedHeaders("Origin", "X-Requested-With", "Content-Type","Accept", "Authorization", "If-None-Match")
+                        .exposedHeaders("ETag");
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.learning.springboot.checklistapi.reactive.controller;
+
+import com.learning.springboot.checklistapi.reactive.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.reactive.dto.CategoryStatsDTO;
+import com.learning.springboot.checklistapi.reactive.dto.NewResourceDTO;
+import com.learning.springboot.checklistapi.reactive.exception.ValidationException;
+import com.learning.springboot.checklistapi.reactive.service.CategoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/categories")
+public class CategoryController {
+
+    private final CategoryService categoryService;
+
+    public CategoryController(CategoryService categoryService){
+        this.categoryService = categoryService;
+    }
+
+    @Operation(description = "Retrieves all categories, as a JSON array or streamed as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found all categories")
+    })
+    @CrossOrigin
+    @GetMapping(value = "", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CategoryDTO> getAllCategories(){
+
+        return this.categoryService.findAllCategories();
+    }
+
+    @Operation(description = "Retrieves total, completed and overdue checklist item counts per category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found category statistics")
+    })
+    @CrossOrigin
+    @GetMapping(value = "stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<CategoryStatsDTO> getCategoryStats(){
+
+        return this.categoryService.findAllCategoryStats();
+    }
+
+    @Operation(description = "Create a category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Category created")
+    })
+    @CrossOrigin
+    @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<NewResourceDTO>> addNewCategory(@RequestBody CategoryDTO categoryDTO){
+
+        return this.categoryService.addNewCategory(categoryDTO.name())
+                .map(newCategory -> new ResponseEntity<>(new NewResourceDTO(newCategory.getGuid().toString()), HttpStatus.CREATED));
+    }
+
+    @Operation(description = "Modify a category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Category modified")
+    })
+    @CrossOrigin
+    @PutMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> updateCategory(@RequestBody CategoryDTO categoryDTO){
+        if(!StringUtils.hasText(categoryDTO.guid())){
+            throw new ValidationException("Category guid cannot be null or empty");
+        }
+        return this.categoryService.updateCategory(categoryDTO.guid(), categoryDTO.name())
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    @Operation(description = "Delete a category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Category deleted")
+    })
+    @CrossOrigin
+    @DeleteMapping(value = "{guid}")
+    public Mono<ResponseEntity<Void>> deleteCategory(@PathVariable String guid){
+
+        return this.categoryService.deleteCategory(guid)
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+}
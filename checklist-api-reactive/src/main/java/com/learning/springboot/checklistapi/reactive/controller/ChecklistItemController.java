@@ -0,0 +1,172 @@
+package com.learning.springboot.checklistapi.reactive.controller;
+
+import com.learning.springboot.checklistapi.reactive.dto.BulkUpdateStatusDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemFilterDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemPageDTO;
+import com.learning.springboot.checklistapi.reactive.dto.NewResourceDTO;
+import com.learning.springboot.checklistapi.reactive.dto.UpdateStatusDTO;
+import com.learning.springboot.checklistapi.reactive.dto.UpdatedResourcesDTO;
+import com.learning.springboot.checklistapi.reactive.exception.ValidationException;
+import com.learning.springboot.checklistapi.reactive.repository.ChecklistItemSort;
+import com.learning.springboot.checklistapi.reactive.service.ChecklistItemCursor;
+import com.learning.springboot.checklistapi.reactive.service.ChecklistItemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/checklist-items")
+public class ChecklistItemController {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ChecklistItemService checklistItemService;
+
+    public ChecklistItemController(ChecklistItemService checklistItemService){
+        this.checklistItemService = checklistItemService;
+    }
+
+    @Operation(description = "Retrieves a page of chesklist items matching the given filters, ordered by deadline " +
+            "unless another sort (deadline, -deadline, postedDate, -postedDate) is given")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found a page of checklist items"),
+            @ApiResponse(responseCode = "422", description = "Invalid cursor, page size, sort or date range")
+    })
+    @CrossOrigin
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ChecklistItemPageDTO>> getAllChecklistItems(
+            @RequestParam(required = false) String categoryGuid,
+            @RequestParam(required = false) Boolean isCompleted,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate postedDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate postedDateTo,
+            @RequestParam(required = false, defaultValue = "deadline") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size){
+
+        ChecklistItemSort checklistItemSort = ChecklistItemSort.fromParameter(sort)
+                .orElseThrow(() -> new ValidationException("Invalid checklist items sort"));
+        ChecklistItemFilterDTO filter = new ChecklistItemFilterDTO(StringUtils.hasText(categoryGuid) ? categoryGuid : null,
+                isCompleted, deadlineFrom, deadlineTo, postedDateFrom, postedDateTo);
+
+        return this.checklistItemService.findChecklistItemsPage(filter, checklistItemSort,
+                        StringUtils.hasText(cursor) ? ChecklistItemCursor.decode(cursor) : null, size)
+                .map(page -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(page));
+    }
+
+    @Operation(description = "Retrieves a chesklist item by its guid")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the checklist item"),
+            @ApiResponse(responseCode = "422", description = "Checklist item not found")
+    })
+    @CrossOrigin
+    @GetMapping(value = "{guid}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ChecklistItemDTO>> getChecklistItem(@PathVariable String guid){
+
+        return this.checklistItemService.findChecklistItemDTOByGuid(guid)
+                .map(checklistItem -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(checklistItem));
+    }
+
+    @Operation(description = "Creates checklist item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Checklist item created")
+    })
+    @CrossOrigin
+    @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<NewResourceDTO>> createChecklistItems(@RequestBody ChecklistItemDTO checklistItemDTO){
+
+        return this.checklistItemService.addNewChecklistItem(checklistItemDTO.description(), checklistItemDTO.isCompleted(),
+                        checklistItemDTO.deadline(), checklistItemDTO.categoryDTO() != null ? checklistItemDTO.categoryDTO().guid() : null)
+                .map(newChecklistItem -> new ResponseEntity<>(new NewResourceDTO(newChecklistItem.getGuid().toString()),
+                        HttpStatus.CREATED));
+    }
+
+    @Operation(description = "Creates checklist items in a single transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Checklist items created"),
+            @ApiResponse(responseCode = "422", description = "Empty or too large batch, or unknown category")
+    })
+    @CrossOrigin
+    @PostMapping(value = "batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<NewResourceDTO>>> createChecklistItemsBatch(@RequestBody List<ChecklistItemDTO> checklistItemDTOs){
+        if(CollectionUtils.isEmpty(checklistItemDTOs) || checklistItemDTOs.size() > MAX_BATCH_SIZE){
+            throw new ValidationException("Checklist items batch must have between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+        return this.checklistItemService.addNewChecklistItems(checklistItemDTOs)
+                .map(checklistItem -> new NewResourceDTO(checklistItem.getGuid().toString()))
+                .collectList()
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @Operation(description = "Modify a chesklist item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Checklist item modified")
+    })
+    @CrossOrigin
+    @PutMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> updateChecklistItems(@RequestBody ChecklistItemDTO checklistItemDTO){
+        if(!StringUtils.hasLength(checklistItemDTO.guid())){
+            throw new ValidationException("Checklist Item guid is mandatory");
+        }
+        return this.checklistItemService.updateChecklistItem(checklistItemDTO.guid(), checklistItemDTO.description(),
+                        checklistItemDTO.isCompleted(), checklistItemDTO.deadline(),
+                        checklistItemDTO.categoryDTO() != null ? checklistItemDTO.categoryDTO().guid() : null)
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    @Operation(description = "Retrieves all chesklist Items")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Checklist item deleted")
+    })
+    @CrossOrigin
+    @DeleteMapping(value = "{guid}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> deleteChecklistItem(@PathVariable String guid){
+
+        return this.checklistItemService.deleteChecklistItem(guid)
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    @CrossOrigin
+    @PatchMapping(value = "{guid}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> updateCompletedStatus(@PathVariable String guid, @RequestBody UpdateStatusDTO statusDTO){
+        return this.checklistItemService.updateIsCompletedStatus(guid, statusDTO.isCompleted())
+                .thenReturn(new ResponseEntity<>(HttpStatus.ACCEPTED));
+    }
+
+    @Operation(description = "Marks the given chesklist items, or all items of a category, as completed or not completed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Checklist items status modified"),
+            @ApiResponse(responseCode = "422", description = "Invalid selection or category not found")
+    })
+    @CrossOrigin
+    @PatchMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<UpdatedResourcesDTO>> updateCompletedStatusInBulk(@RequestBody BulkUpdateStatusDTO statusDTO){
+        boolean hasGuids = !CollectionUtils.isEmpty(statusDTO.guids());
+        boolean hasCategory = StringUtils.hasText(statusDTO.categoryGuid());
+        if(hasGuids == hasCategory){
+            throw new ValidationException("Either checklist item guids or a category guid must be provided");
+        }
+        if(hasGuids && statusDTO.guids().size() > MAX_BATCH_SIZE){
+            throw new ValidationException("Checklist items batch must have between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+
+        Mono<Integer> updated = hasGuids ?
+                this.checklistItemService.updateIsCompletedStatus(statusDTO.guids(), statusDTO.isCompleted()) :
+                this.checklistItemService.updateIsCompletedStatusByCategory(statusDTO.categoryGuid(), statusDTO.isCompleted());
+        return updated.map(count -> new ResponseEntity<>(new UpdatedResourcesDTO(count), HttpStatus.ACCEPTED));
+    }
+}
@@ -0,0 +1,39 @@
+package com.learning.springboot.checklistapi.reactive.controller;
+
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.service.ChecklistItemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/v1/checklist-items/export")
+public class ChecklistItemExportController {
+
+    private final ChecklistItemService checklistItemService;
+
+    public ChecklistItemExportController(ChecklistItemService checklistItemService){
+        this.checklistItemService = checklistItemService;
+    }
+
+    /**
+     * Each line is written as soon as its row arrives, and rows are only requested from the database while the
+     * client keeps reading, so a slow client holds back the query instead of buffering the table in memory.
+     */
+    @Operation(description = "Streams all checklist items as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Checklist items exported")
+    })
+    @CrossOrigin
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ChecklistItemDTO> exportChecklistItems(){
+
+        return this.checklistItemService.streamChecklistItems();
+    }
+}
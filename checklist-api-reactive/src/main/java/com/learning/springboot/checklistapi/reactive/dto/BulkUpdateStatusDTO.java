@@ -0,0 +1,5 @@
+package com.learning.springboot.checklistapi.reactive.dto;
+
+import java.util.List;
+
+public record BulkUpdateStatusDTO(List<String> guids, String categoryGuid, boolean isCompleted) {}
@@ -0,0 +1,17 @@
+package com.learning.springboot.checklistapi.reactive.dto;
+
+import com.learning.springboot.checklistapi.reactive.entity.CategoryEntity;
+import lombok.Builder;
+
+@Builder
+public record CategoryDTO(
+        String guid,
+        String name) {
+
+    public static CategoryDTO toDTO(CategoryEntity categoryEntity){
+        return CategoryDTO.builder()
+                .guid(categoryEntity.getGuid().toString())
+                .name(categoryEntity.getName())
+                .build();
+    }
+}
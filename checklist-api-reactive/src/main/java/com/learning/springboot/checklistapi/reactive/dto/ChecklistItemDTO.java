@@ -0,0 +1,20 @@
+package com.learning.springboot.checklistapi.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+@Builder
+public record ChecklistItemDTO(
+        @JsonIgnore
+        Long id,
+        String guid,
+        String description,
+        Boolean isCompleted,
+        LocalDate deadline,
+        LocalDate postedDate,
+        @JsonProperty(value = "category")
+        CategoryDTO categoryDTO) {
+}
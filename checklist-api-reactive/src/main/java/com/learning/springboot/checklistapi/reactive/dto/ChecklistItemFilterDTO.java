@@ -0,0 +1,17 @@
+package com.learning.springboot.checklistapi.reactive.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria of a checklist items query; null components do not restrict the result and date ranges are
+ * inclusive on both ends.
+ */
+public record ChecklistItemFilterDTO(String categoryGuid,
+                                     Boolean isCompleted,
+                                     LocalDate deadlineFrom,
+                                     LocalDate deadlineTo,
+                                     LocalDate postedDateFrom,
+                                     LocalDate postedDateTo) {
+
+    public static final ChecklistItemFilterDTO NONE = new ChecklistItemFilterDTO(null, null, null, null, null, null);
+}
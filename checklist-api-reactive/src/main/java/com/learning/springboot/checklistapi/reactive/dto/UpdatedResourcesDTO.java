@@ -0,0 +1,3 @@
+package com.learning.springboot.checklistapi.reactive.dto;
+
+public record UpdatedResourcesDTO(int updated) {}
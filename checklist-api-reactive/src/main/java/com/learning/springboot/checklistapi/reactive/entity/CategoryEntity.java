@@ -0,0 +1,19 @@
+package com.learning.springboot.checklistapi.reactive.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.UUID;
+
+@Data
+@Table("category")
+public class CategoryEntity {
+
+    @Id
+    private Long id;
+
+    private UUID guid;
+
+    private String name;
+}
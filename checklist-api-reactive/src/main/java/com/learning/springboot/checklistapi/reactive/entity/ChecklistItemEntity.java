@@ -0,0 +1,31 @@
+package com.learning.springboot.checklistapi.reactive.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * R2DBC has no associations, so the category is referenced by id and joined explicitly where it is read.
+ */
+@Data
+@Table("checklist_item")
+public class ChecklistItemEntity {
+
+    @Id
+    private Long id;
+
+    private UUID guid;
+
+    private Boolean isCompleted;
+
+    private String description;
+
+    private LocalDate deadline;
+
+    private LocalDate postedDate;
+
+    private Long categoryId;
+}
@@ -0,0 +1,44 @@
+package com.learning.springboot.checklistapi.reactive.entity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates time-ordered version 7 UUIDs, like the servlet application, and maps guids received on the wire to
+ * the stored UUIDs.
+ */
+public final class GuidGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private GuidGenerator(){
+    }
+
+    public static UUID newUuid(){
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+
+        long mostSignificantBits = (System.currentTimeMillis() & 0xFFFF_FFFF_FFFFL) << 16
+                | 0x7000L
+                | ((random[0] & 0x0FL) << 8)
+                | (random[1] & 0xFFL);
+        long leastSignificantBits = 0x8000_0000_0000_0000L | ((random[2] & 0x3FL) << 56);
+        for(int i = 3; i < 10; i++){
+            leastSignificantBits |= (random[i] & 0xFFL) << (8 * (9 - i));
+        }
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * A string that is not a UUID becomes a name-based (version 3) UUID, which never matches a generated guid, so
+     * lookups with malformed guids answer "not found" instead of failing.
+     */
+    public static UUID toUuid(String guid){
+        try {
+            return UUID.fromString(guid);
+        } catch (IllegalArgumentException e){
+            return UUID.nameUUIDFromBytes(guid.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
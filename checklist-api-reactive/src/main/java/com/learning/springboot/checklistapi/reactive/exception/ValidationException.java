@@ -0,0 +1,7 @@
+package com.learning.springboot.checklistapi.reactive.exception;
+
+public class ValidationException extends RuntimeException{
+    public ValidationException(String message){
+        super(message);
+    }
+}
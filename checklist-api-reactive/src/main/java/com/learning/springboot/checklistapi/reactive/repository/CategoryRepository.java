@@ -0,0 +1,30 @@
+package com.learning.springboot.checklistapi.reactive.repository;
+
+import com.learning.springboot.checklistapi.reactive.dto.CategoryStatsDTO;
+import com.learning.springboot.checklistapi.reactive.entity.CategoryEntity;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface CategoryRepository extends R2dbcRepository<CategoryEntity, Long> {
+
+    Mono<CategoryEntity> findByGuid(UUID guid);
+
+    Flux<CategoryEntity> findByGuidIn(Collection<UUID> guids);
+
+    /**
+     * Counts on the fly: the servlet application keeps incremental counters, which this stack does not maintain.
+     */
+    @Query("select cast(cat.guid as varchar) as guid, cat.name," +
+            " count(c.id) as total," +
+            " count(case when c.is_completed = true then 1 end) as completed," +
+            " count(case when (c.is_completed is null or c.is_completed = false) and c.deadline < :today then 1 end) as overdue" +
+            " from category cat left join checklist_item c on c.category_id = cat.id" +
+            " group by cat.id, cat.guid, cat.name order by cat.name")
+    Flux<CategoryStatsDTO> findAllStats(LocalDate today);
+}
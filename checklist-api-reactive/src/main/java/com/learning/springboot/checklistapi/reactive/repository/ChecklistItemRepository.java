@@ -0,0 +1,35 @@
+package com.learning.springboot.checklistapi.reactive.repository;
+
+import com.learning.springboot.checklistapi.reactive.entity.ChecklistItemEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface ChecklistItemRepository extends R2dbcRepository<ChecklistItemEntity, Long>, ChecklistItemRepositoryCustom {
+
+    Mono<ChecklistItemEntity> findByGuid(UUID guid);
+
+    Mono<Boolean> existsByGuid(UUID guid);
+
+    Mono<Boolean> existsByCategoryId(Long categoryId);
+
+    /**
+     * Only touches the row when the status actually changes, like the servlet application.
+     */
+    @Modifying
+    @Query("update checklist_item set is_completed = :isCompleted" +
+            " where guid = :guid and (is_completed is null or is_completed <> :isCompleted)")
+    Mono<Integer> updateIsCompletedByGuid(UUID guid, boolean isCompleted);
+
+    @Modifying
+    @Query("update checklist_item set is_completed = :isCompleted where guid in (:guids)")
+    Mono<Integer> updateIsCompletedByGuidIn(Collection<UUID> guids, boolean isCompleted);
+
+    @Modifying
+    @Query("update checklist_item set is_completed = :isCompleted where category_id = :categoryId")
+    Mono<Integer> updateIsCompletedByCategoryId(Long categoryId, boolean isCompleted);
+}
@@ -0,0 +1,24 @@
+package com.learning.springboot.checklistapi.reactive.repository;
+
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemFilterDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface ChecklistItemRepositoryCustom {
+
+    Mono<ChecklistItemDTO> findDTOByGuid(UUID guid);
+
+    /**
+     * Emits at most {@code limit} checklist items matching the filter in the given order, starting after the
+     * (afterSortKey, afterId) keyset position when both are given. Rows are pulled from the database as the
+     * subscriber requests them.
+     */
+    Flux<ChecklistItemDTO> findPage(ChecklistItemFilterDTO filter, ChecklistItemSort sort,
+                                    LocalDate afterSortKey, Long afterId, int limit);
+
+    Flux<ChecklistItemDTO> streamAllDTOs();
+}
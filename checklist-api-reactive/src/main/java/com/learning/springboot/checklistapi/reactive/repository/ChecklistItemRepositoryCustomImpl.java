@@ -0,0 +1,103 @@
+package com.learning.springboot.checklistapi.reactive.repository;
+
+import com.learning.springboot.checklistapi.reactive.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemFilterDTO;
+import com.learning.springboot.checklistapi.reactive.entity.GuidGenerator;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class ChecklistItemRepositoryCustomImpl implements ChecklistItemRepositoryCustom {
+
+    static final String SELECT_DTO = "select c.id, c.guid, c.description, c.is_completed, c.deadline, c.posted_date," +
+            " cat.guid as category_guid, cat.name as category_name" +
+            " from checklist_item c left join category cat on cat.id = c.category_id";
+
+    private final DatabaseClient databaseClient;
+
+    public ChecklistItemRepositoryCustomImpl(DatabaseClient databaseClient){
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<ChecklistItemDTO> findDTOByGuid(UUID guid){
+        return this.databaseClient.sql(SELECT_DTO + " where c.guid = :guid")
+                .bind("guid", guid)
+                .map(ChecklistItemRepositoryCustomImpl::toDTO)
+                .one();
+    }
+
+    @Override
+    public Flux<ChecklistItemDTO> findPage(ChecklistItemFilterDTO filter, ChecklistItemSort sort,
+                                           LocalDate afterSortKey, Long afterId, int limit){
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        addCondition(conditions, parameters, "cat.guid = :categoryGuid", "categoryGuid",
+                filter.categoryGuid() != null ? GuidGenerator.toUuid(filter.categoryGuid()) : null);
+        addCondition(conditions, parameters, "c.is_completed = :isCompleted", "isCompleted", filter.isCompleted());
+        addCondition(conditions, parameters, "c.deadline >= :deadlineFrom", "deadlineFrom", filter.deadlineFrom());
+        addCondition(conditions, parameters, "c.deadline <= :deadlineTo", "deadlineTo", filter.deadlineTo());
+        addCondition(conditions, parameters, "c.posted_date >= :postedDateFrom", "postedDateFrom", filter.postedDateFrom());
+        addCondition(conditions, parameters, "c.posted_date <= :postedDateTo", "postedDateTo", filter.postedDateTo());
+
+        String column = "c." + sort.column();
+        String direction = sort.descending() ? " desc" : "";
+        if(afterSortKey != null && afterId != null){
+            String comparison = sort.descending() ? " < " : " > ";
+            conditions.add("(" + column + comparison + ":afterSortKey or (" + column + " = :afterSortKey and c.id"
+                    + comparison + ":afterId))");
+            parameters.put("afterSortKey", afterSortKey);
+            parameters.put("afterId", afterId);
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_DTO);
+        if(!conditions.isEmpty()){
+            sql.append(" where ").append(String.join(" and ", conditions));
+        }
+        sql.append(" order by ").append(column).append(direction).append(", c.id").append(direction)
+                .append(" limit ").append(limit);
+
+        DatabaseClient.GenericExecuteSpec spec = this.databaseClient.sql(sql.toString());
+        for(Map.Entry<String, Object> parameter : parameters.entrySet()){
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(ChecklistItemRepositoryCustomImpl::toDTO).all();
+    }
+
+    @Override
+    public Flux<ChecklistItemDTO> streamAllDTOs(){
+        return this.databaseClient.sql(SELECT_DTO + " order by c.id")
+                .map(ChecklistItemRepositoryCustomImpl::toDTO)
+                .all();
+    }
+
+    private static void addCondition(List<String> conditions, Map<String, Object> parameters,
+                                     String condition, String name, Object value){
+        if(value != null){
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+    }
+
+    private static ChecklistItemDTO toDTO(Readable row){
+        UUID categoryGuid = row.get("category_guid", UUID.class);
+        return new ChecklistItemDTO(
+                row.get("id", Long.class),
+                row.get("guid", UUID.class).toString(),
+                row.get("description", String.class),
+                row.get("is_completed", Boolean.class),
+                row.get("deadline", LocalDate.class),
+                row.get("posted_date", LocalDate.class),
+                categoryGuid != null ? new CategoryDTO(categoryGuid.toString(), row.get("category_name", String.class)) : null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.learning.springboot.checklistapi.reactive.repository;
+
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Supported orderings of checklist item pages, with the same parameters as the servlet application. Each one is
+ * (column, id) in the same direction, so it can be paged by keyset over the (.., column, id) indexes.
+ */
+public enum ChecklistItemSort {
+
+    DEADLINE("deadline", "deadline", false, ChecklistItemDTO::deadline),
+    DEADLINE_DESC("-deadline", "deadline", true, ChecklistItemDTO::deadline),
+    POSTED_DATE("postedDate", "posted_date", false, ChecklistItemDTO::postedDate),
+    POSTED_DATE_DESC("-postedDate", "posted_date", true, ChecklistItemDTO::postedDate);
+
+    private final String parameter;
+    private final String column;
+    private final boolean descending;
+    private final Function<ChecklistItemDTO, LocalDate> sortKey;
+
+    ChecklistItemSort(String parameter, String column, boolean descending,
+                      Function<ChecklistItemDTO, LocalDate> sortKey){
+        this.parameter = parameter;
+        this.column = column;
+        this.descending = descending;
+        this.sortKey = sortKey;
+    }
+
+    public static Optional<ChecklistItemSort> fromParameter(String parameter){
+        return Arrays.stream(values()).filter(sort -> sort.parameter.equals(parameter)).findFirst();
+    }
+
+    public String column(){
+        return column;
+    }
+
+    public boolean descending(){
+        return descending;
+    }
+
+    public LocalDate sortKeyOf(ChecklistItemDTO checklistItemDTO){
+        return sortKey.apply(checklistItemDTO);
+    }
+}
@@ -0,0 +1,88 @@
+package com.learning.springboot.checklistapi.reactive.service;
+
+import com.learning.springboot.checklistapi.reactive.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.reactive.dto.CategoryStatsDTO;
+import com.learning.springboot.checklistapi.reactive.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.reactive.entity.GuidGenerator;
+import com.learning.springboot.checklistapi.reactive.exception.ResourceNotFoundException;
+import com.learning.springboot.checklistapi.reactive.exception.ValidationException;
+import com.learning.springboot.checklistapi.reactive.repository.CategoryRepository;
+import com.learning.springboot.checklistapi.reactive.repository.ChecklistItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Service
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ChecklistItemRepository checklistItemRepository;
+    private static final String CATEGORY_NOT_FOUND = "Category not found.";
+
+    public CategoryService(CategoryRepository categoryRepository, ChecklistItemRepository checklistItemRepository) {
+        this.categoryRepository = categoryRepository;
+        this.checklistItemRepository = checklistItemRepository;
+    }
+
+    @Transactional
+    public Mono<CategoryEntity> addNewCategory(String name) {
+        if (!StringUtils.hasText(name)) {
+            return Mono.error(new IllegalArgumentException("Category name cannot be empty or null"));
+        }
+        CategoryEntity newCategory = new CategoryEntity();
+        newCategory.setGuid(GuidGenerator.newUuid());
+        newCategory.setName(name);
+
+        log.debug("Adding new Category with name [name = {}]", name);
+        return this.categoryRepository.save(newCategory);
+    }
+
+    @Transactional
+    public Mono<CategoryEntity> updateCategory(String guid, String name){
+        if(!StringUtils.hasText(guid) || !StringUtils.hasText(name)){
+            return Mono.error(new IllegalArgumentException("Invalid parameters provided to update a category"));
+        }
+        return this.findCategoryByGuid(guid)
+                .flatMap(retrievedCategory -> {
+                    retrievedCategory.setName(name);
+                    log.debug("Updating category [ guid = {}, newName = {}", guid, name);
+                    return this.categoryRepository.save(retrievedCategory);
+                });
+    }
+
+    @Transactional
+    public Mono<Void> deleteCategory(String guid){
+        return this.findCategoryByGuid(guid)
+                .flatMap(retrievedCategory -> this.checklistItemRepository.existsByCategoryId(retrievedCategory.getId())
+                        .flatMap(hasChecklistItems -> {
+                            if(hasChecklistItems){
+                                return Mono.error(new ValidationException(
+                                        "It is not possible to delete given category as it has been used by checklist items"));
+                            }
+                            log.debug("Deleting category [guid = {} ]", guid);
+                            return this.categoryRepository.delete(retrievedCategory);
+                        }));
+    }
+
+    public Flux<CategoryDTO> findAllCategories(){
+        return this.categoryRepository.findAll().map(CategoryDTO::toDTO);
+    }
+
+    public Flux<CategoryStatsDTO> findAllCategoryStats(){
+        return this.categoryRepository.findAllStats(LocalDate.now());
+    }
+
+    public Mono<CategoryEntity> findCategoryByGuid(String guid){
+        if(!StringUtils.hasText(guid)){
+            return Mono.error(new IllegalArgumentException("Category guid cannot be empty or null"));
+        }
+        return this.categoryRepository.findByGuid(GuidGenerator.toUuid(guid))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND)));
+    }
+}
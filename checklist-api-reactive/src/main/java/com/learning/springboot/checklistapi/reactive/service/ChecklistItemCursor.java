@@ -0,0 +1,39 @@
+package com.learning.springboot.checklistapi.reactive.service;
+
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.exception.ValidationException;
+import com.learning.springboot.checklistapi.reactive.repository.ChecklistItemSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last checklist item of a page: its sort key (deadline or posted date) and id.
+ * Clients only see it as an opaque url-safe token, valid for the same filter and sort it was issued for.
+ */
+public record ChecklistItemCursor(LocalDate sortKey, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ChecklistItemCursor of(ChecklistItemDTO checklistItemDTO, ChecklistItemSort sort){
+        return new ChecklistItemCursor(sort.sortKeyOf(checklistItemDTO), checklistItemDTO.id());
+    }
+
+    public String encode(){
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChecklistItemCursor decode(String token){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new ChecklistItemCursor(LocalDate.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e){
+            throw new ValidationException("Invalid checklist items cursor");
+        }
+    }
+}
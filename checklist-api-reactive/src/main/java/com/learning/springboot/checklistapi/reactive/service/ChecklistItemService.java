@@ -0,0 +1,240 @@
+package com.learning.springboot.checklistapi.reactive.service;
+
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemFilterDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemPageDTO;
+import com.learning.springboot.checklistapi.reactive.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.reactive.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.reactive.entity.GuidGenerator;
+import com.learning.springboot.checklistapi.reactive.exception.ResourceNotFoundException;
+import com.learning.springboot.checklistapi.reactive.exception.ValidationException;
+import com.learning.springboot.checklistapi.reactive.repository.CategoryRepository;
+import com.learning.springboot.checklistapi.reactive.repository.ChecklistItemRepository;
+import com.learning.springboot.checklistapi.reactive.repository.ChecklistItemSort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ChecklistItemService {
+
+    private final ChecklistItemRepository checklistItemRepository;
+    private final CategoryRepository categoryRepository;
+    private static final String CHECKLIST_ITEM_NOT_FOUND = "ChecklistItem not found.";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    public ChecklistItemService(ChecklistItemRepository checklistItemRepository, CategoryRepository categoryRepository){
+        this.checklistItemRepository = checklistItemRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Transactional
+    public Mono<ChecklistItemEntity> addNewChecklistItem(String description, Boolean isCompleted, LocalDate deadline,
+                                                         String categoryGuid){
+        return Mono.fromRunnable(() -> this.validateChecklistItemData(description, isCompleted, deadline, categoryGuid))
+                .then(Mono.defer(() -> this.findCategory(categoryGuid, "Category not found")))
+                .flatMap(retrievedCategory -> {
+                    ChecklistItemEntity checklistItemEntity = newChecklistItem(description, isCompleted, deadline,
+                            LocalDate.now(), retrievedCategory);
+
+                    log.debug("Adding new checklist item [ checklistItem = {} ]", checklistItemEntity);
+                    return this.checklistItemRepository.save(checklistItemEntity);
+                });
+    }
+
+    @Transactional
+    public Flux<ChecklistItemEntity> addNewChecklistItems(List<ChecklistItemDTO> checklistItems){
+        return Mono.fromCallable(() -> {
+                    checklistItems.forEach(item -> this.validateChecklistItemData(item.description(), item.isCompleted(),
+                            item.deadline(), item.categoryDTO() != null ? item.categoryDTO().guid() : null));
+                    return checklistItems.stream()
+                            .map(item -> GuidGenerator.toUuid(item.categoryDTO().guid()))
+                            .collect(Collectors.toSet());
+                })
+                .flatMapMany(categoryGuids -> this.categoryRepository.findByGuidIn(categoryGuids)
+                        .collectMap(CategoryEntity::getGuid)
+                        .flatMapMany(categoriesByGuid -> {
+                            if(categoriesByGuid.size() != categoryGuids.size()){
+                                return Flux.error(new ResourceNotFoundException("Category not found"));
+                            }
+                            LocalDate postedDate = LocalDate.now();
+                            List<ChecklistItemEntity> newChecklistItems = checklistItems.stream()
+                                    .map(item -> newChecklistItem(item.description(), item.isCompleted(), item.deadline(),
+                                            postedDate, categoriesByGuid.get(GuidGenerator.toUuid(item.categoryDTO().guid()))))
+                                    .toList();
+
+                            log.debug("Adding new checklist items in batch [ size = {} ]", newChecklistItems.size());
+                            return this.checklistItemRepository.saveAll(newChecklistItems);
+                        }));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<ChecklistItemPageDTO> findChecklistItemsPage(ChecklistItemFilterDTO filter, ChecklistItemSort sort,
+                                                             ChecklistItemCursor cursor, Integer size){
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if(pageSize < 1 || pageSize > MAX_PAGE_SIZE){
+            return Mono.error(new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return Mono.fromRunnable(() -> {
+                    validateRange(filter.deadlineFrom(), filter.deadlineTo(), "deadline");
+                    validateRange(filter.postedDateFrom(), filter.postedDateTo(), "postedDate");
+                })
+                // One extra row tells whether another page follows without a count query
+                .thenMany(Flux.defer(() -> this.checklistItemRepository.findPage(filter, sort,
+                        cursor != null ? cursor.sortKey() : null, cursor != null ? cursor.id() : null, pageSize + 1)))
+                .collectList()
+                .map(checklistItems -> {
+                    if(checklistItems.size() <= pageSize){
+                        return new ChecklistItemPageDTO(checklistItems, null);
+                    }
+                    List<ChecklistItemDTO> page = checklistItems.subList(0, pageSize);
+                    return new ChecklistItemPageDTO(page, ChecklistItemCursor.of(page.get(pageSize - 1), sort).encode());
+                });
+    }
+
+    /**
+     * All checklist items in id order, read from the database only as fast as the subscriber consumes them.
+     */
+    public Flux<ChecklistItemDTO> streamChecklistItems(){
+        return this.checklistItemRepository.streamAllDTOs();
+    }
+
+    @Transactional
+    public Mono<Void> deleteChecklistItem(String guid){
+        return this.findChecklistItemByGuid(guid)
+                .flatMap(retrivedItem -> {
+                    log.debug("Deleting checklist item [guid = {} ]", guid);
+                    return this.checklistItemRepository.delete(retrivedItem);
+                });
+    }
+
+    @Transactional
+    public Mono<ChecklistItemEntity> updateChecklistItem(String guid, String description, Boolean isCompleted,
+                                                         LocalDate deadline, String categoryGuid){
+        // Sequential lookups: inside a transaction both queries share one connection
+        return this.findChecklistItemByGuid(guid)
+                .flatMap(retrivedItem -> this.findCategory(categoryGuid, "Category not found.")
+                        .flatMap(retrivedCategory -> {
+                            if(StringUtils.hasText(description)){
+                                retrivedItem.setDescription(description);
+                            }
+                            if(isCompleted != null){
+                                retrivedItem.setIsCompleted(isCompleted);
+                            }
+                            if(deadline != null){
+                                retrivedItem.setDeadline(deadline);
+                            }
+                            retrivedItem.setCategoryId(retrivedCategory.getId());
+
+                            log.debug("Updating checklist item [ checklistItem = {} ]", retrivedItem);
+                            return this.checklistItemRepository.save(retrivedItem);
+                        }));
+    }
+
+    public Mono<ChecklistItemEntity> findChecklistItemByGuid(String guid){
+        if(!StringUtils.hasText(guid)){
+            return Mono.error(new IllegalArgumentException("ChecklistItem guid cannot be empty or null"));
+        }
+        return this.checklistItemRepository.findByGuid(GuidGenerator.toUuid(guid))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND)));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<ChecklistItemDTO> findChecklistItemDTOByGuid(String guid){
+        if(!StringUtils.hasText(guid)){
+            return Mono.error(new IllegalArgumentException("ChecklistItem guid cannot be empty or null"));
+        }
+        return this.checklistItemRepository.findDTOByGuid(GuidGenerator.toUuid(guid))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND)));
+    }
+
+    @Transactional
+    public Mono<Void> updateIsCompletedStatus(String guid, boolean isCompleted) {
+        if(!StringUtils.hasText(guid)){
+            return Mono.error(new IllegalArgumentException("ChecklistItem guid cannot be empty or null"));
+        }
+        UUID uuid = GuidGenerator.toUuid(guid);
+
+        log.debug("Updating checklist item completed status [ guid = {}, isCompleted={} ]", guid, isCompleted);
+
+        return this.checklistItemRepository.updateIsCompletedByGuid(uuid, isCompleted)
+                .flatMap(updated -> updated > 0 ? Mono.just(true) : this.checklistItemRepository.existsByGuid(uuid))
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND)));
+    }
+
+    @Transactional
+    public Mono<Integer> updateIsCompletedStatus(List<String> guids, boolean isCompleted) {
+        if(CollectionUtils.isEmpty(guids)){
+            return Mono.error(new IllegalArgumentException("ChecklistItem guids cannot be empty or null"));
+        }
+
+        log.debug("Updating checklist items completed status [ size = {}, isCompleted={} ]", guids.size(), isCompleted);
+
+        Set<UUID> uuids = guids.stream().map(GuidGenerator::toUuid).collect(Collectors.toSet());
+        return this.checklistItemRepository.updateIsCompletedByGuidIn(uuids, isCompleted);
+    }
+
+    @Transactional
+    public Mono<Integer> updateIsCompletedStatusByCategory(String categoryGuid, boolean isCompleted) {
+        return this.findCategory(categoryGuid, "Category not found.")
+                .flatMap(category -> {
+                    log.debug("Updating category checklist items completed status [ categoryGuid = {}, isCompleted={} ]",
+                            categoryGuid, isCompleted);
+                    return this.checklistItemRepository.updateIsCompletedByCategoryId(category.getId(), isCompleted);
+                });
+    }
+
+    private Mono<CategoryEntity> findCategory(String categoryGuid, String notFoundMessage){
+        if(!StringUtils.hasText(categoryGuid)){
+            return Mono.error(new ResourceNotFoundException(notFoundMessage));
+        }
+        return this.categoryRepository.findByGuid(GuidGenerator.toUuid(categoryGuid))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(notFoundMessage)));
+    }
+
+    private static ChecklistItemEntity newChecklistItem(String description, Boolean isCompleted, LocalDate deadline,
+                                                        LocalDate postedDate, CategoryEntity category){
+        ChecklistItemEntity checklistItemEntity = new ChecklistItemEntity();
+        checklistItemEntity.setGuid(GuidGenerator.newUuid());
+        checklistItemEntity.setDescription(description);
+        checklistItemEntity.setDeadline(deadline);
+        checklistItemEntity.setPostedDate(postedDate);
+        checklistItemEntity.setCategoryId(category.getId());
+        checklistItemEntity.setIsCompleted(isCompleted);
+        return checklistItemEntity;
+    }
+
+    private void validateChecklistItemData(String description, Boolean isCompleted,
+                                      LocalDate deadline, String guid){
+        if(!StringUtils.hasText(description)){
+            throw new IllegalArgumentException("Checklist item must have a description");
+        }
+        if(isCompleted == null){
+            throw new IllegalArgumentException("Checklist item must have a flag indicating if it is completed or not");
+        }
+        if(deadline == null){
+            throw new IllegalArgumentException("Checklist item must have a deadline");
+        }
+        if(!StringUtils.hasText(guid)){
+            throw new IllegalArgumentException("Checklist item category guid must be provided");
+        }
+    }
+
+    private void validateRange(LocalDate from, LocalDate to, String attribute){
+        if(from != null && to != null && from.isAfter(to)){
+            throw new ValidationException(attribute + "From cannot be after " + attribute + "To");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Mirrors the columns and indexes of the JPA application, with database generated ids
+create table if not exists category (
+    id bigint generated by default as identity primary key,
+    guid uuid,
+    name varchar(255) unique
+);
+create index if not exists IDX_GUID_CAT on category (guid);
+
+create table if not exists checklist_item (
+    id bigint generated by default as identity primary key,
+    guid uuid,
+    is_completed boolean,
+    description varchar(255),
+    deadline date,
+    posted_date date,
+    category_id bigint references category (id)
+);
+create index if not exists IDX_GUID_CK_IT on checklist_item (guid);
+create index if not exists IDX_DEADLINE_ID_CK_IT on checklist_item (deadline, id);
+create index if not exists IDX_CATEGORY_COMPLETED_DEADLINE_CK_IT on checklist_item (category_id, is_completed, deadline, id);
+create index if not exists IDX_COMPLETED_DEADLINE_CK_IT on checklist_item (is_completed, deadline, id);
+create index if not exists IDX_POSTED_DATE_ID_CK_IT on checklist_item (posted_date, id);
@@ -0,0 +1,109 @@
+package com.learning.springboot.checklistapi.reactive.controller;
+
+import com.learning.springboot.checklistapi.reactive.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemFilterDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemPageDTO;
+import com.learning.springboot.checklistapi.reactive.exception.ResourceNotFoundException;
+import com.learning.springboot.checklistapi.reactive.repository.ChecklistItemSort;
+import com.learning.springboot.checklistapi.reactive.service.ChecklistItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest({ChecklistItemController.class, ChecklistItemExportController.class})
+class ChecklistItemControllerTest {
+
+    @MockBean
+    private ChecklistItemService checklistItemService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void shouldCallGetAllChecklistItemsAndReturn200(){
+        ChecklistItemDTO checklistItem = checklistItem("Item 1");
+        when(checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, null, null))
+                .thenReturn(Mono.just(new ChecklistItemPageDTO(List.of(checklistItem), null)));
+
+        this.webTestClient.get().uri("/api/v1/checklist-items")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].id").doesNotExist()
+                .jsonPath("$.items[0].guid").isEqualTo(checklistItem.guid())
+                .jsonPath("$.items[0].description").isEqualTo("Item 1")
+                .jsonPath("$.items[0].deadline").isEqualTo("2023-11-17")
+                .jsonPath("$.items[0].category.name").isEqualTo("Cat 1")
+                .jsonPath("$.next").doesNotExist();
+    }
+
+    @Test
+    void shouldRejectInvalidSortWith422(){
+
+        this.webTestClient.get().uri("/api/v1/checklist-items?sort=description")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid checklist items sort");
+        verifyNoInteractions(checklistItemService);
+    }
+
+    @Test
+    void shouldMapResourceNotFoundTo422(){
+        when(checklistItemService.findChecklistItemDTOByGuid("missing"))
+                .thenReturn(Mono.error(new ResourceNotFoundException("ChecklistItem not found.")));
+
+        this.webTestClient.get().uri("/api/v1/checklist-items/missing")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("ChecklistItem not found.")
+                .jsonPath("$.status").isEqualTo("UNPROCESSABLE_ENTITY");
+    }
+
+    @Test
+    void shouldRejectBulkUpdateWithGuidsAndCategory(){
+
+        this.webTestClient.patch().uri("/api/v1/checklist-items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"guids\":[\"a\"],\"categoryGuid\":\"b\",\"isCompleted\":true}")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+        verify(checklistItemService, never()).updateIsCompletedStatus(anyList(), anyBoolean());
+    }
+
+    @Test
+    void shouldStreamExportAsNewlineDelimitedJson(){
+        when(checklistItemService.streamChecklistItems())
+                .thenReturn(Flux.just(checklistItem("Item 1"), checklistItem("Item 2")));
+
+        String body = this.webTestClient.get().uri("/api/v1/checklist-items/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertEquals(2, body.strip().lines().count());
+    }
+
+    private static ChecklistItemDTO checklistItem(String description){
+        return new ChecklistItemDTO(1L, UUID.randomUUID().toString(), description, false, LocalDate.of(2023, 11, 17),
+                LocalDate.of(2023, 11, 1), new CategoryDTO(UUID.randomUUID().toString(), "Cat 1"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.learning.springboot.checklistapi.reactive.repository;
+
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemFilterDTO;
+import com.learning.springboot.checklistapi.reactive.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.reactive.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.reactive.entity.GuidGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataR2dbcTest
+class ChecklistItemRepositoryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ChecklistItemRepository checklistItemRepository;
+
+    @Test
+    void shouldPageByKeysetInRequestedOrder(){
+        //having
+        CategoryEntity category = saveCategory("Keyset");
+        LocalDate deadline = LocalDate.of(2024, 1, 10);
+        saveItem("a", false, deadline, category);
+        saveItem("b", true, deadline, category);
+        saveItem("c", false, deadline.plusDays(1), category);
+        ChecklistItemFilterDTO filter = new ChecklistItemFilterDTO(category.getGuid().toString(),
+                null, null, null, null, null);
+
+        //when
+        List<ChecklistItemDTO> firstPage = this.checklistItemRepository
+                .findPage(filter, ChecklistItemSort.DEADLINE_DESC, null, null, 2).collectList().block();
+        ChecklistItemDTO last = firstPage.get(1);
+        List<ChecklistItemDTO> secondPage = this.checklistItemRepository
+                .findPage(filter, ChecklistItemSort.DEADLINE_DESC, last.deadline(), last.id(), 2).collectList().block();
+
+        //then
+        assertEquals(List.of("c", "b"), firstPage.stream().map(ChecklistItemDTO::description).toList());
+        assertEquals(List.of("a"), secondPage.stream().map(ChecklistItemDTO::description).toList());
+        assertEquals("Keyset", secondPage.get(0).categoryDTO().name());
+    }
+
+    @Test
+    void shouldCountCategoryStatsOnTheFly(){
+        //having
+        CategoryEntity category = saveCategory("Stats");
+        LocalDate today = LocalDate.of(2024, 1, 10);
+        saveItem("overdue", false, today.minusDays(1), category);
+        saveItem("done", true, today.minusDays(1), category);
+        saveItem("upcoming", false, today.plusDays(1), category);
+
+        //when //then
+        StepVerifier.create(this.categoryRepository.findAllStats(today)
+                        .filter(stats -> stats.name().equals("Stats")))
+                .assertNext(stats -> {
+                    assertEquals(category.getGuid().toString(), stats.guid());
+                    assertEquals(3, stats.total());
+                    assertEquals(1, stats.completed());
+                    assertEquals(1, stats.overdue());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldOnlyUpdateStatusWhenItChanges(){
+        //having
+        ChecklistItemEntity item = saveItem("toggle", false, LocalDate.of(2024, 1, 10), saveCategory("Toggle"));
+
+        //when //then
+        StepVerifier.create(this.checklistItemRepository.updateIsCompletedByGuid(item.getGuid(), true))
+                .expectNext(1).verifyComplete();
+        StepVerifier.create(this.checklistItemRepository.updateIsCompletedByGuid(item.getGuid(), true))
+                .expectNext(0).verifyComplete();
+    }
+
+    private CategoryEntity saveCategory(String name){
+        CategoryEntity category = new CategoryEntity();
+        category.setGuid(GuidGenerator.newUuid());
+        category.setName(name);
+        return this.categoryRepository.save(category).block();
+    }
+
+    private ChecklistItemEntity saveItem(String description, boolean isCompleted, LocalDate deadline, CategoryEntity category){
+        ChecklistItemEntity item = new ChecklistItemEntity();
+        item.setGuid(GuidGenerator.newUuid());
+        item.setDescription(description);
+        item.setIsCompleted(isCompleted);
+        item.setDeadline(deadline);
+        item.setPostedDate(deadline);
+        item.setCategoryId(category.getId());
+        return this.checklistItemRepository.save(item).block();
+    }
+}
@@ -0,0 +1,125 @@
+package com.learning.springboot.checklistapi.reactive.service;
+
+import com.learning.springboot.checklistapi.reactive.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.reactive.dto.ChecklistItemFilterDTO;
+import com.learning.springboot.checklistapi.reactive.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.reactive.exception.ResourceNotFoundException;
+import com.learning.springboot.checklistapi.reactive.exception.ValidationException;
+import com.learning.springboot.checklistapi.reactive.repository.CategoryRepository;
+import com.learning.springboot.checklistapi.reactive.repository.ChecklistItemRepository;
+import com.learning.springboot.checklistapi.reactive.repository.ChecklistItemSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChecklistItemServiceTest {
+
+    private ChecklistItemService checklistItemService;
+    private CategoryService categoryService;
+    @Mock
+    private ChecklistItemRepository checklistItemRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    public void initTest(){
+        this.checklistItemService = new ChecklistItemService(checklistItemRepository, categoryRepository);
+        this.categoryService = new CategoryService(categoryRepository, checklistItemRepository);
+    }
+
+    @Test
+    void shouldFetchOneExtraRowAndReturnNextCursor(){
+        //having
+        LocalDate deadline = LocalDate.of(2024, 1, 10);
+        when(checklistItemRepository.findPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, null, null, 3))
+                .thenReturn(Flux.just(checklistItem(1L, deadline), checklistItem(2L, deadline), checklistItem(3L, deadline)));
+
+        //when //then
+        StepVerifier.create(this.checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE,
+                        ChecklistItemSort.DEADLINE, null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.items().size());
+                    assertEquals(new ChecklistItemCursor(deadline, 2L), ChecklistItemCursor.decode(page.next()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor(){
+        //having
+        when(checklistItemRepository.findPage(any(), any(), any(), any(), anyInt()))
+                .thenReturn(Flux.just(checklistItem(1L, LocalDate.of(2024, 1, 10))));
+
+        //when //then
+        StepVerifier.create(this.checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE,
+                        ChecklistItemSort.DEADLINE, null, null))
+                .assertNext(page -> assertNull(page.next()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectInvalidPageSizeAndDateRange(){
+        //having
+        ChecklistItemFilterDTO invertedRange = new ChecklistItemFilterDTO(null, null,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), null, null);
+
+        //when //then
+        StepVerifier.create(this.checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE,
+                        ChecklistItemSort.DEADLINE, null, 0))
+                .verifyErrorMessage("Page size must be between 1 and " + ChecklistItemService.MAX_PAGE_SIZE);
+        StepVerifier.create(this.checklistItemService.findChecklistItemsPage(invertedRange,
+                        ChecklistItemSort.DEADLINE, null, null))
+                .expectError(ValidationException.class)
+                .verify();
+        verifyNoInteractions(checklistItemRepository);
+    }
+
+    @Test
+    void shouldFailWhenUpdatingStatusOfUnknownChecklistItem(){
+        //having
+        when(checklistItemRepository.updateIsCompletedByGuid(any(UUID.class), eq(true))).thenReturn(Mono.just(0));
+        when(checklistItemRepository.existsByGuid(any(UUID.class))).thenReturn(Mono.just(false));
+
+        //when //then
+        StepVerifier.create(this.checklistItemService.updateIsCompletedStatus(UUID.randomUUID().toString(), true))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldNotDeleteCategoryWithChecklistItems(){
+        //having
+        CategoryEntity category = new CategoryEntity();
+        category.setId(1L);
+        category.setGuid(UUID.randomUUID());
+        when(categoryRepository.findByGuid(category.getGuid())).thenReturn(Mono.just(category));
+        when(checklistItemRepository.existsByCategoryId(1L)).thenReturn(Mono.just(true));
+
+        //when //then
+        StepVerifier.create(this.categoryService.deleteCategory(category.getGuid().toString()))
+                .expectError(ValidationException.class)
+                .verify();
+        verify(categoryRepository, never()).delete(any());
+    }
+
+    private static ChecklistItemDTO checklistItem(Long id, LocalDate deadline){
+        return new ChecklistItemDTO(id, UUID.randomUUID().toString(), "Item " + id, false, deadline, deadline,
+                new CategoryDTO(UUID.randomUUID().toString(), "Cat"));
+    }
+}
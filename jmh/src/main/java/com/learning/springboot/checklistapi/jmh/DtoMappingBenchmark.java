@@ -0,0 +1,45 @@
+package com.learning.springboot.checklistapi.jmh;
+
+import com.learning.springboot.checklistapi.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of one row: the builder based {@code toDTO} methods used by the services, against the flat
+ * constructor that JPQL constructor expressions call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private ChecklistItemEntity checklistItem;
+
+    @Setup
+    public void setUp(){
+        this.checklistItem = Fixtures.checklistItems(1).get(0);
+    }
+
+    @Benchmark
+    public ChecklistItemDTO checklistItemToDTO(){
+        return ChecklistItemDTO.toDTO(checklistItem);
+    }
+
+    @Benchmark
+    public ChecklistItemDTO checklistItemFlatConstructor(){
+        return new ChecklistItemDTO(checklistItem.getId(), checklistItem.getGuid(), checklistItem.getDescription(),
+                checklistItem.getIsCompleted(), checklistItem.getDeadline(), checklistItem.getPostedDate(),
+                checklistItem.getCategory().getGuid(), checklistItem.getCategory().getName(), checklistItem.getVersion());
+    }
+
+    @Benchmark
+    public CategoryDTO categoryToDTO(){
+        return CategoryDTO.toDTO(checklistItem.getCategory());
+    }
+}
@@ -0,0 +1,35 @@
+package com.learning.springboot.checklistapi.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.learning.springboot.checklistapi.exception.ExceptionalResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and rendering the 422 body that CustomExceptionHandler returns for every rejected request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionalResponseBenchmark {
+
+    private ObjectWriter responseWriter;
+
+    @Setup
+    public void setUp(){
+        this.responseWriter = Fixtures.objectMapper().writerFor(ExceptionalResponse.class);
+    }
+
+    @Benchmark
+    public byte[] renderExceptionalResponse() throws JsonProcessingException {
+        return this.responseWriter.writeValueAsBytes(new ExceptionalResponse(LocalDateTime.now(),
+                "ChecklistItem not found.", HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+}
@@ -0,0 +1,77 @@
+package com.learning.springboot.checklistapi.jmh;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.learning.springboot.checklistapi.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.entity.GuidGenerator;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data and an ObjectMapper configured like the one Spring Boot auto-configures for the application.
+ */
+final class Fixtures {
+
+    private static final int CATEGORIES = 10;
+
+    private Fixtures(){
+    }
+
+    static ObjectMapper objectMapper(){
+        return objectMapperBuilder().build();
+    }
+
+    /**
+     * The same mapper serializing the DTOs reflectively, as before their dedicated serializers.
+     */
+    static ObjectMapper reflectiveObjectMapper(){
+        return objectMapperBuilder()
+                .mixIn(ChecklistItemDTO.class, ReflectiveSerialization.class)
+                .mixIn(CategoryDTO.class, ReflectiveSerialization.class)
+                .build();
+    }
+
+    private static Jackson2ObjectMapperBuilder objectMapperBuilder(){
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+    }
+
+    static List<ChecklistItemEntity> checklistItems(int size){
+        List<CategoryEntity> categories = new ArrayList<>(CATEGORIES);
+        for(int i = 0; i < CATEGORIES; i++){
+            CategoryEntity category = new CategoryEntity();
+            category.setId((long) i);
+            category.setGuid(GuidGenerator.newGuid());
+            category.setName("Category " + i);
+            categories.add(category);
+        }
+
+        LocalDate deadline = LocalDate.of(2024, 1, 1);
+        List<ChecklistItemEntity> checklistItems = new ArrayList<>(size);
+        for(int i = 0; i < size; i++){
+            ChecklistItemEntity checklistItem = new ChecklistItemEntity();
+            checklistItem.setId((long) i);
+            checklistItem.setGuid(GuidGenerator.newGuid());
+            checklistItem.setDescription("Checklist item number " + i);
+            checklistItem.setIsCompleted(i % 3 == 0);
+            checklistItem.setDeadline(deadline.plusDays(i % 365));
+            checklistItem.setPostedDate(deadline.minusDays(i % 30));
+            checklistItem.setCategory(categories.get(i % CATEGORIES));
+            checklistItems.add(checklistItem);
+        }
+        return checklistItems;
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class ReflectiveSerialization {
+    }
+}
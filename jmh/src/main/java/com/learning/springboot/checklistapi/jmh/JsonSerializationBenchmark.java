@@ -0,0 +1,96 @@
+package com.learning.springboot.checklistapi.jmh;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemJsonWriter;
+import com.learning.springboot.checklistapi.dto.ChecklistItemPageDTO;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a checklist items page response, and of the newline-delimited export, with 1, 100 and 10 000
+ * items, written to a discarding stream the way the response body is written. The reflective variants serialize the
+ * DTOs through Jackson's bean serializer, as before the dedicated serializers of {@link ChecklistItemJsonWriter}, and
+ * the reflective export maps every entity to a DTO first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper reflectiveObjectMapper;
+    private ObjectWriter pageWriter;
+    private ObjectWriter reflectivePageWriter;
+    private ObjectWriter reflectiveChecklistItemWriter;
+    private SerializerProvider serializerProvider;
+    private List<ChecklistItemEntity> checklistItems;
+    private ChecklistItemPageDTO page;
+    private final OutputStream outputStream = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp(){
+        this.objectMapper = Fixtures.objectMapper();
+        this.reflectiveObjectMapper = Fixtures.reflectiveObjectMapper();
+        this.objectMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.reflectiveObjectMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.pageWriter = this.objectMapper.writerFor(ChecklistItemPageDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.reflectivePageWriter = this.reflectiveObjectMapper.writerFor(ChecklistItemPageDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.reflectiveChecklistItemWriter = this.reflectiveObjectMapper.writerFor(ChecklistItemDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.serializerProvider = this.objectMapper.getSerializerProviderInstance();
+        this.checklistItems = Fixtures.checklistItems(size);
+        this.page = new ChecklistItemPageDTO(this.checklistItems.stream().map(ChecklistItemDTO::toDTO).toList(),
+                "MjAyNC0wMS0wMXwx");
+    }
+
+    @Benchmark
+    public void serializePage() throws IOException {
+        this.pageWriter.writeValue(outputStream, page);
+    }
+
+    @Benchmark
+    public void serializePageReflective() throws IOException {
+        this.reflectivePageWriter.writeValue(outputStream, page);
+    }
+
+    @Benchmark
+    public void exportEntities() throws IOException {
+        try(JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)){
+            generator.setRootValueSeparator(null);
+            for(ChecklistItemEntity checklistItem : this.checklistItems){
+                ChecklistItemJsonWriter.writeChecklistItem(generator, this.serializerProvider, checklistItem,
+                        checklistItem.getIsCompleted());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    @Benchmark
+    public void exportEntitiesReflective() throws IOException {
+        try(JsonGenerator generator = this.reflectiveObjectMapper.getFactory().createGenerator(outputStream)){
+            generator.setRootValueSeparator(null);
+            for(ChecklistItemEntity checklistItem : this.checklistItems){
+                this.reflectiveChecklistItemWriter.writeValue(generator, ChecklistItemDTO.toDTO(checklistItem));
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
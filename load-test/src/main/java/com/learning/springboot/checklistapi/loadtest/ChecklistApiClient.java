@@ -0,0 +1,148 @@
+package com.learning.springboot.checklistapi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal client of the Checklist API: builds request bodies by hand and only reads guids from responses, so the
+ * harness needs nothing but the JDK and HdrHistogram.
+ */
+final class ChecklistApiClient {
+
+    private static final Pattern GUID = Pattern.compile("\"guid\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int BATCH_SIZE = 1_000;
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final GuidPool guidPool = new GuidPool();
+    private String categoryGuid;
+
+    ChecklistApiClient(String baseUrl){
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    boolean isUp(){
+        try {
+            return send(get("/api/v1/categories")).statusCode() == 200;
+        } catch (IOException e){
+            return false;
+        }
+    }
+
+    void seed(int items) throws IOException {
+        HttpResponse<String> category = send(post("/api/v1/categories",
+                "{\"name\":\"Load test " + System.currentTimeMillis() + "\"}"));
+        expectStatus(category, 201);
+        this.categoryGuid = guids(category.body()).get(0);
+
+        RandomGenerator random = RandomGenerator.getDefault();
+        for(int created = 0; created < items; created += BATCH_SIZE){
+            StringBuilder batch = new StringBuilder("[");
+            for(int i = created; i < Math.min(items, created + BATCH_SIZE); i++){
+                batch.append(batch.length() > 1 ? "," : "").append(checklistItemJson(null, random));
+            }
+            HttpResponse<String> response = send(post("/api/v1/checklist-items/batch", batch.append(']').toString()));
+            expectStatus(response, 201);
+            guids(response.body()).forEach(guidPool::add);
+        }
+    }
+
+    /**
+     * Executes one operation and returns its HTTP status, or 0 when there was no item to target.
+     */
+    int execute(Operation operation, RandomGenerator random) throws IOException {
+        return switch (operation){
+            case LIST -> send(get("/api/v1/checklist-items?size=50" + (random.nextBoolean() ? "&isCompleted=false" : "")))
+                    .statusCode();
+            case CREATE -> {
+                HttpResponse<String> response = send(post("/api/v1/checklist-items", checklistItemJson(null, random)));
+                if(response.statusCode() == 201){
+                    guids(response.body()).forEach(guidPool::add);
+                }
+                yield response.statusCode();
+            }
+            case UPDATE -> {
+                String guid = guidPool.pick(random);
+                yield guid == null ? 0 : send(request("/api/v1/checklist-items")
+                        .PUT(HttpRequest.BodyPublishers.ofString(checklistItemJson(guid, random))).build()).statusCode();
+            }
+            case PATCH_STATUS -> {
+                String guid = guidPool.pick(random);
+                yield guid == null ? 0 : send(request("/api/v1/checklist-items/" + guid)
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"isCompleted\":" + random.nextBoolean() + "}"))
+                        .build()).statusCode();
+            }
+            case DELETE -> {
+                String guid = guidPool.take(random);
+                yield guid == null ? 0 : send(request("/api/v1/checklist-items/" + guid).DELETE().build()).statusCode();
+            }
+        };
+    }
+
+    int knownItems(){
+        return guidPool.size();
+    }
+
+    private String checklistItemJson(String guid, RandomGenerator random){
+        return "{" + (guid != null ? "\"guid\":\"" + guid + "\"," : "")
+                + "\"description\":\"Load test item " + random.nextInt(1_000_000) + "\","
+                + "\"isCompleted\":" + random.nextBoolean() + ","
+                + "\"deadline\":\"" + LocalDate.now().plusDays(random.nextInt(-30, 60)) + "\","
+                + "\"category\":{\"guid\":\"" + categoryGuid + "\"}}";
+    }
+
+    private HttpRequest get(String path){
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String body){
+        return request(path).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path){
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private static void expectStatus(HttpResponse<String> response, int status) throws IOException {
+        if(response.statusCode() != status){
+            throw new IOException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static List<String> guids(String json){
+        List<String> guids = new ArrayList<>();
+        Matcher matcher = GUID.matcher(json);
+        while(matcher.find()){
+            guids.add(matcher.group(1));
+        }
+        return guids;
+    }
+}
@@ -0,0 +1,39 @@
+package com.learning.springboot.checklistapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Guids of the checklist items known to exist, so updates, status changes and deletes target live items.
+ */
+final class GuidPool {
+
+    private final List<String> guids = new ArrayList<>();
+
+    synchronized void add(String guid){
+        guids.add(guid);
+    }
+
+    synchronized String pick(RandomGenerator random){
+        return guids.isEmpty() ? null : guids.get(random.nextInt(guids.size()));
+    }
+
+    /**
+     * Removes a random guid, so two concurrent deletes never target the same item.
+     */
+    synchronized String take(RandomGenerator random){
+        if(guids.isEmpty()){
+            return null;
+        }
+        int index = random.nextInt(guids.size());
+        String guid = guids.get(index);
+        guids.set(index, guids.get(guids.size() - 1));
+        guids.remove(guids.size() - 1);
+        return guid;
+    }
+
+    synchronized int size(){
+        return guids.size();
+    }
+}
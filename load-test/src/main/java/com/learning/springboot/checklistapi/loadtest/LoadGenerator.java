@@ -0,0 +1,114 @@
+package com.learning.springboot.checklistapi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: request {@code i} is due at {@code start + i / rate} whatever happened to earlier requests, and
+ * its latency is measured from that intended start. A slow response therefore shows up in the histograms of the
+ * requests queued behind it instead of silently lowering the offered rate (coordinated omission).
+ */
+final class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final ChecklistApiClient client;
+    private final OperationMix mix;
+    private final int ratePerSecond;
+    private final int maxInFlight;
+
+    LoadGenerator(ChecklistApiClient client, LoadTestConfig config){
+        this.client = client;
+        this.mix = config.mix();
+        this.ratePerSecond = config.ratePerSecond();
+        this.maxInFlight = config.maxInFlight();
+    }
+
+    LoadResult run(Duration duration){
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for(Operation operation : Operation.values()){
+            stats.put(operation, new OperationStats());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LongAdder dropped = new LongAdder();
+        AtomicLong maxDispatchLagNanos = new AtomicLong();
+        SplittableRandom random = new SplittableRandom();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()){
+            for(long i = 0; ; i++){
+                long intendedStartNanos = startNanos + i * intervalNanos;
+                if(intendedStartNanos >= endNanos){
+                    break;
+                }
+                long waitNanos = intendedStartNanos - System.nanoTime();
+                if(waitNanos > 0){
+                    LockSupport.parkNanos(waitNanos);
+                }
+                maxDispatchLagNanos.accumulateAndGet(System.nanoTime() - intendedStartNanos, Math::max);
+
+                Operation operation = mix.next(random);
+                if(!inFlight.tryAcquire()){
+                    dropped.increment();
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        execute(operation, stats.get(operation), intendedStartNanos);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new LoadResult(stats, Duration.ofNanos(System.nanoTime() - startNanos), dropped.sum(),
+                Duration.ofNanos(maxDispatchLagNanos.get()));
+    }
+
+    private void execute(Operation operation, OperationStats stats, long intendedStartNanos){
+        int status;
+        try {
+            status = client.execute(operation, ThreadLocalRandom.current());
+        } catch (IOException e){
+            status = -1;
+        }
+        if(status == 0){
+            stats.skipped.increment();
+            return;
+        }
+        stats.latencyMicros.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos)));
+        if(status < 200 || status >= 300){
+            stats.errors.increment();
+        }
+    }
+
+    static final class OperationStats {
+
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+    }
+
+    /**
+     * @param dropped          arrivals not sent because {@code load.max-in-flight} requests were outstanding
+     * @param maxDispatchLag   worst delay of the generator itself; when large, the machine could not keep the rate
+     */
+    record LoadResult(Map<Operation, OperationStats> stats, Duration elapsed, long dropped, Duration maxDispatchLag) {}
+}
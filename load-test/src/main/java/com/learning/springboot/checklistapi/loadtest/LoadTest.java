@@ -0,0 +1,68 @@
+package com.learning.springboot.checklistapi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a fixed arrival rate mix of checklist item calls against the application on the {@code local} profile and
+ * writes a report under {@code load.report-dir}.
+ * <pre>
+ * mvn -f load-test compile exec:java -Dload.rate=200 -Dload.duration-seconds=120 \
+ *     -Dload.mix=list=50,create=15,update=10,patch=20,delete=5
+ * </pre>
+ * Point {@code -Dload.base-url} at a running instance, or pass {@code -Dload.app-jar=target/checklist-api-0.0.1-SNAPSHOT.jar}
+ * (built with {@code mvn package}) to have the harness start a fresh one, so every run begins from the same state.
+ */
+public class LoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Process application = config.appJar() != null ? startApplication(config) : null;
+        try {
+            ChecklistApiClient client = new ChecklistApiClient(config.baseUrl());
+            awaitStartup(client);
+            client.seed(config.seedItems());
+
+            LoadGenerator generator = new LoadGenerator(client, config);
+            System.out.printf("Warming up for %d s at %d req/s%n", config.warmup().toSeconds(), config.ratePerSecond());
+            generator.run(config.warmup());
+            System.out.printf("Measuring for %d s at %d req/s%n", config.duration().toSeconds(), config.ratePerSecond());
+            Path report = LoadTestReport.write(config, generator.run(config.duration()));
+
+            System.out.println(Files.readString(report));
+            System.out.println("Report written to " + report.toAbsolutePath());
+        } finally {
+            if(application != null){
+                application.destroy();
+                application.waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static Process startApplication(LoadTestConfig config) throws IOException {
+        Files.createDirectories(config.reportDir());
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-jar", config.appJar().toString(),
+                "--spring.profiles.active=local",
+                "--server.port=" + URI.create(config.baseUrl()).getPort())
+                .redirectErrorStream(true)
+                .redirectOutput(config.reportDir().resolve("application.log").toFile())
+                .start();
+    }
+
+    private static void awaitStartup(ChecklistApiClient client) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while(!client.isUp()){
+            if(System.nanoTime() > deadline){
+                throw new IllegalStateException("Checklist API did not answer within " + STARTUP_TIMEOUT);
+            }
+            Thread.sleep(500);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.learning.springboot.checklistapi.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code -Dload.*} system properties.
+ *
+ * @param baseUrl        application under test, started with the {@code local} profile
+ * @param appJar         when set, the executable application jar is started (and stopped) by the harness
+ * @param ratePerSecond  fixed arrival rate of requests, independent of how fast responses come back
+ * @param warmup         period run at the same rate but left out of the report
+ * @param duration       measured period
+ * @param mix            relative weights of the operations, e.g. {@code list=50,create=15,update=10,patch=20,delete=5}
+ * @param maxInFlight    requests allowed in flight before new arrivals are counted as dropped
+ * @param seedItems      checklist items created before the run so updates and deletes have targets
+ * @param reportDir      directory of the markdown report and the per-operation percentile distributions
+ */
+record LoadTestConfig(String baseUrl, Path appJar, int ratePerSecond, Duration warmup, Duration duration,
+                      OperationMix mix, int maxInFlight, int seedItems, Path reportDir) {
+
+    static LoadTestConfig fromSystemProperties(){
+        String appJar = System.getProperty("load.app-jar");
+        return new LoadTestConfig(
+                System.getProperty("load.base-url", "http://localhost:8080"),
+                appJar != null ? Path.of(appJar) : null,
+                Integer.getInteger("load.rate", 100),
+                Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 60)),
+                OperationMix.parse(System.getProperty("load.mix", "list=50,create=15,update=10,patch=20,delete=5")),
+                Integer.getInteger("load.max-in-flight", 1_000),
+                Integer.getInteger("load.seed-items", 2_000),
+                Path.of(System.getProperty("load.report-dir", "target/load-test")));
+    }
+}
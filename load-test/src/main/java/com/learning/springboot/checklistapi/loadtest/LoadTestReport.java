@@ -0,0 +1,79 @@
+package com.learning.springboot.checklistapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes {@code report.md}, one row per operation plus the total, and a {@code <operation>.hgrm} percentile
+ * distribution per operation that HdrHistogram's plotter can overlay across runs.
+ */
+final class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private LoadTestReport(){
+    }
+
+    static Path write(LoadTestConfig config, LoadGenerator.LoadResult result) throws IOException {
+        Files.createDirectories(config.reportDir());
+        double seconds = result.elapsed().toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# Checklist API load test, " + OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        lines.add("");
+        lines.add(String.format(Locale.ROOT, "Offered rate %d req/s for %d s after %d s warmup, mix %s, %d seeded items, " +
+                        "max %d in flight. JDK %s, %d CPUs.", config.ratePerSecond(), config.duration().toSeconds(),
+                config.warmup().toSeconds(), config.mix(), config.seedItems(), config.maxInFlight(),
+                Runtime.version(), Runtime.getRuntime().availableProcessors()));
+        lines.add("");
+        lines.add("Latencies are measured from the intended start of each request, in milliseconds.");
+        lines.add("");
+        lines.add("| operation | endpoint | requests | errors | req/s | p50 | p90 | p99 | p99.9 | max |");
+        lines.add("|---|---|---|---|---|---|---|---|---|---|");
+        for(Map.Entry<Operation, LoadGenerator.OperationStats> entry : result.stats().entrySet()){
+            LoadGenerator.OperationStats stats = entry.getValue();
+            if(stats.latencyMicros.getTotalCount() == 0){
+                continue;
+            }
+            Histogram latency = stats.latencyMicros.copy();
+            total.add(latency);
+            lines.add(row(entry.getKey().parameter(), entry.getKey().endpoint(), latency, stats.errors.sum(), seconds));
+            try(PrintStream distribution = new PrintStream(
+                    Files.newOutputStream(config.reportDir().resolve(entry.getKey().parameter() + ".hgrm")))){
+                latency.outputPercentileDistribution(distribution, MICROS_PER_MILLI);
+            }
+        }
+        long totalErrors = result.stats().values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+        lines.add(row("**all**", "", total, totalErrors, seconds));
+        lines.add("");
+        long skipped = result.stats().values().stream().mapToLong(stats -> stats.skipped.sum()).sum();
+        lines.add(String.format(Locale.ROOT, "Dropped arrivals (max in flight reached): %d. Skipped (no item to target): %d. " +
+                "Worst generator dispatch lag: %.1f ms.", result.dropped(), skipped, result.maxDispatchLag().toNanos() / 1e6));
+
+        Path report = config.reportDir().resolve("report.md");
+        Files.write(report, lines);
+        return report;
+    }
+
+    private static String row(String operation, String endpoint, Histogram latency, long errors, double seconds){
+        return String.format(Locale.ROOT, "| %s | %s | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f |",
+                operation, endpoint, latency.getTotalCount(), errors, latency.getTotalCount() / seconds,
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram latency, double percentile){
+        return latency.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
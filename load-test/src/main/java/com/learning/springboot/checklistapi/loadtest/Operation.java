@@ -0,0 +1,38 @@
+package com.learning.springboot.checklistapi.loadtest;
+
+/**
+ * Calls of the checklist items API driven by the load test; each one is reported separately.
+ */
+enum Operation {
+
+    LIST("list", "GET /api/v1/checklist-items"),
+    CREATE("create", "POST /api/v1/checklist-items"),
+    UPDATE("update", "PUT /api/v1/checklist-items"),
+    PATCH_STATUS("patch", "PATCH /api/v1/checklist-items/{guid}"),
+    DELETE("delete", "DELETE /api/v1/checklist-items/{guid}");
+
+    private final String parameter;
+    private final String endpoint;
+
+    Operation(String parameter, String endpoint){
+        this.parameter = parameter;
+        this.endpoint = endpoint;
+    }
+
+    static Operation fromParameter(String parameter){
+        for(Operation operation : values()){
+            if(operation.parameter.equals(parameter)){
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in load.mix: " + parameter);
+    }
+
+    String parameter(){
+        return parameter;
+    }
+
+    String endpoint(){
+        return endpoint;
+    }
+}
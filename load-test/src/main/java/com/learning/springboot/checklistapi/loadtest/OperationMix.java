@@ -0,0 +1,63 @@
+package com.learning.springboot.checklistapi.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted choice of the next operation.
+ */
+final class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Integer> weights;
+
+    private OperationMix(Map<Operation, Integer> weights){
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for(int i = 0; i < operations.length; i++){
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if(total == 0){
+            throw new IllegalArgumentException("load.mix must give at least one operation a positive weight");
+        }
+    }
+
+    static OperationMix parse(String mix){
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for(String entry : mix.split(",")){
+            String[] parts = entry.trim().split("=");
+            if(parts.length != 2){
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if(weight < 0){
+                throw new IllegalArgumentException("Negative weight in load.mix: " + entry);
+            }
+            weights.put(Operation.fromParameter(parts[0].trim()), weight);
+        }
+        return new OperationMix(weights);
+    }
+
+    Operation next(RandomGenerator random){
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for(int i = 0; i < cumulativeWeights.length; i++){
+            if(pick < cumulativeWeights[i]){
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder description = new StringBuilder();
+        weights.forEach((operation, weight) -> description.append(description.isEmpty() ? "" : ",")
+                .append(operation.parameter()).append('=').append(weight));
+        return description.toString();
+    }
+}
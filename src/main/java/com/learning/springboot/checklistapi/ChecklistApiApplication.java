@@ -8,10 +8,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @SpringBootApplication
+@EnableScheduling
 public class ChecklistApiApplication {
 
     public static void main(String[] args) {
@@ -28,7 +30,8 @@ public class ChecklistApiApplication {
                         .allowedOrigins("http://localhost:4200")
                         .allowedMethods("GET", "PUT", "OPTIONS", "POST", "DELETE", "PATCH")
                         .maxAge(900) //Default = 1800(30 minutes)
-                        .allowedHeaders("Origin", "X-Requested-With", "Content-Type","Accept", "Authorization");
+                        .allowedHeaders("Origin", "X-Requested-With", "Content-Type","Accept", "Authorization", "If-None-Match", "If-Match", "Idempotency-Key")
+                        .exposedHeaders("ETag");
             }
         };
     }
@@ -43,7 +46,8 @@ public class ChecklistApiApplication {
                         .allowedOrigins("http://checklist-spa.s3-website-sa-east-1.amazonaws.com")
                         .allowedMethods("GET", "PUT", "OPTIONS", "POST", "DELETE", "PATCH")
                         .maxAge(900)
-                        .allowedHeaders("Origin", "X-Requested-With", "Content-Type","Accept", "Authorization");
+                        .allowedHeaders("Origin", "X-Requested-With", "Content-Type","Accept", "Authorization", "If-None-Match", "If-Match", "Idempotency-Key")
+                        .exposedHeaders("ETag");
             }
         };
     }
@@ -0,0 +1,97 @@
+package com.learning.springboot.checklistapi.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out a connection only to callers holding one of a fixed number of permits, released when the connection is
+ * closed. Sized like the connection pool, it turns a burst of requests into a fair queue of parked (virtual)
+ * threads instead of a pile of pool timeouts.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+
+    public ConcurrencyLimitingDataSource(DataSource targetDataSource, int maxConcurrency, Duration acquireTimeout){
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        this.acquirePermit();
+        try {
+            return this.releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e){
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        this.acquirePermit();
+        try {
+            return this.releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e){
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits(){
+        return this.permits.availablePermits();
+    }
+
+    public int maxConcurrency(){
+        return this.maxConcurrency;
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if(!this.permits.tryAcquire(this.acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)){
+                throw new SQLTransientConnectionException("Timed out after " + this.acquireTimeout.toMillis()
+                        + "ms waiting for one of " + this.maxConcurrency + " database permits");
+            }
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection){
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if(method.getName().equals("close")){
+                        try {
+                            connection.close();
+                        } finally {
+                            if(released.compareAndSet(false, true)){
+                                this.permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e){
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
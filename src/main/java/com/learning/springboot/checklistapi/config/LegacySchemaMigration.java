@@ -0,0 +1,160 @@
+package com.learning.springboot.checklistapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Map;
+
+/**
+ * Brings MySQL schemas created by earlier versions of the application up to the current mappings. It runs before the
+ * entity manager factory, because {@code ddl-auto=update} only creates what is missing and never changes what exists:
+ * <ul>
+ *     <li>guids moved from text to 16 byte UUIDs; {@code varchar} guid columns are rewritten to {@code binary(16)}
+ *     with {@code UNHEX(REPLACE(guid, '-', ''))}, the byte order Hibernate binds (and MySQL 8's {@code UUID_TO_BIN}
+ *     without swap), and their index is rebuilt</li>
+ *     <li>ids of checklist items and categories moved from IDENTITY columns to pooled sequences, which MySQL emulates
+ *     with {@code *_seq} tables; those are created, or raised, so that the next allocated block starts above
+ *     {@code max(id)} instead of at 1</li>
+ * </ul>
+ * Every step inspects the schema first, so an empty or already migrated schema is left untouched.
+ */
+@Slf4j
+public class LegacySchemaMigration {
+
+    /**
+     * Tables holding a guid, with the name of its index.
+     */
+    static final Map<String, String> GUID_INDEXES = Map.of(
+            "checklist item", "IDX_GUID_CK_IT",
+            "category", "IDX_GUID_CAT");
+    private static final String BINARY_GUID = "guid_bin";
+
+    /**
+     * Tables whose id moved to a sequence, with the table emulating it. Matches the entities' allocation size.
+     */
+    static final Map<String, String> SEQUENCE_TABLES = Map.of(
+            "checklist item", "checklist_item_seq",
+            "category", "category_seq");
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean mySql;
+
+    public LegacySchemaMigration(DataSource dataSource){
+        this(new JdbcTemplate(dataSource));
+    }
+
+    private LegacySchemaMigration(JdbcTemplate jdbcTemplate){
+        this(jdbcTemplate, "MySQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName())));
+    }
+
+    LegacySchemaMigration(JdbcTemplate jdbcTemplate, boolean mySql){
+        this.jdbcTemplate = jdbcTemplate;
+        this.mySql = mySql;
+    }
+
+    public void migrate(){
+        if(this.mySql){
+            GUID_INDEXES.forEach(this::convertGuidColumn);
+            SEQUENCE_TABLES.forEach(this::seedSequenceTable);
+        }
+    }
+
+    /**
+     * Fills a binary copy of the column, then swaps it in. DDL is not transactional on MySQL, so a run interrupted
+     * after dropping the text column is completed by the next one. Values that are not UUIDs stop the migration
+     * before anything is dropped.
+     */
+    private void convertGuidColumn(String table, String index){
+        Integer guidType = this.columnType(table, "guid");
+        boolean hasBinaryCopy = this.columnType(table, BINARY_GUID) != null;
+        if(guidType != null && guidType != Types.VARCHAR && guidType != Types.CHAR){
+            return;
+        }
+        if(guidType == null && !hasBinaryCopy){
+            return;
+        }
+        log.info("Converting text guids to binary(16) [ table = {} ]", table);
+        if(guidType != null){
+            if(!hasBinaryCopy){
+                this.jdbcTemplate.execute("alter table " + quote(table) + " add column " + BINARY_GUID + " binary(16)");
+            }
+            this.jdbcTemplate.update("update " + quote(table) + " set " + BINARY_GUID + " = unhex(replace(guid, '-', ''))");
+            Integer unconverted = this.jdbcTemplate.queryForObject("select count(*) from " + quote(table)
+                    + " where guid is not null and (" + BINARY_GUID + " is null or length(guid) <> 36)", Integer.class);
+            if(unconverted != null && unconverted > 0){
+                throw new IllegalStateException(unconverted + " guids of table " + table + " are not UUIDs");
+            }
+            this.jdbcTemplate.execute("alter table " + quote(table) + " drop column guid");
+        }
+        this.jdbcTemplate.execute("alter table " + quote(table) + " change column " + BINARY_GUID + " guid binary(16)");
+        this.jdbcTemplate.execute("create index " + index + " on " + quote(table) + " (guid)");
+    }
+
+    /**
+     * The pooled optimizer hands out the block ending at the value it reads, so a stored {@code max(id) + allocation
+     * size} makes the next id {@code max(id) + 1}. A sequence already past that is never lowered.
+     */
+    private void seedSequenceTable(String table, String sequenceTable){
+        if(!this.tableExists(table)){
+            return;
+        }
+        Long maxId = this.jdbcTemplate.queryForObject("select max(id) from " + quote(table), Long.class);
+        if(maxId == null){
+            return;
+        }
+        long nextValue = maxId + ALLOCATION_SIZE;
+        if(!this.tableExists(sequenceTable)){
+            this.jdbcTemplate.execute("create table " + quote(sequenceTable) + " (next_val bigint) engine=InnoDB");
+        }
+        int raised = this.jdbcTemplate.update("update " + quote(sequenceTable) + " set next_val = ? where next_val < ?",
+                nextValue, nextValue);
+        Integer rows = this.jdbcTemplate.queryForObject("select count(*) from " + quote(sequenceTable), Integer.class);
+        if(rows == null || rows == 0){
+            this.jdbcTemplate.update("insert into " + quote(sequenceTable) + " (next_val) values (?)", nextValue);
+            raised = 1;
+        }
+        if(raised > 0){
+            log.info("Seeded id sequence above existing rows [ sequence = {}, next_val = {} ]", sequenceTable, nextValue);
+        }
+    }
+
+    private Integer columnType(String table, String column){
+        return this.jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try(ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), null, null)){
+                while(columns.next()){
+                    if(table.equalsIgnoreCase(columns.getString("TABLE_NAME"))
+                            && column.equalsIgnoreCase(columns.getString("COLUMN_NAME"))){
+                        return columns.getInt("DATA_TYPE");
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    private boolean tableExists(String table){
+        return Boolean.TRUE.equals(this.jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try(ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), null, null)){
+                while(tables.next()){
+                    if(table.equalsIgnoreCase(tables.getString("TABLE_NAME"))){
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }));
+    }
+
+    private static String quote(String identifier){
+        return "`" + identifier + "`";
+    }
+}
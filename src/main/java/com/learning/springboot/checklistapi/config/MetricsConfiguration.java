@@ -0,0 +1,51 @@
+package com.learning.springboot.checklistapi.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Metrics exposed on {@code /actuator/prometheus}, on top of what Spring Boot binds by itself ({@code http.server.requests}
+ * per controller endpoint, Hikari pool gauges and, with {@code hibernate.generate_statistics}, Hibernate statistics):
+ * <ul>
+ *     <li>{@code checklist.service} timers for every public method of the {@code @Timed} services</li>
+ *     <li>the number of SQL statements each request issued, as a tag and as a distribution per endpoint</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry){
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter(){
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter){
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public SqlStatementObservationConvention sqlStatementObservationConvention(SqlStatementCounter sqlStatementCounter){
+        return new SqlStatementObservationConvention(sqlStatementCounter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountingFilter> sqlStatementCountingFilter(SqlStatementCounter sqlStatementCounter,
+                                                                                         MeterRegistry meterRegistry){
+        FilterRegistrationBean<SqlStatementCountingFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementCountingFilter(sqlStatementCounter, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
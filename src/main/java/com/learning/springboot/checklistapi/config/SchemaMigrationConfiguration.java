@@ -0,0 +1,25 @@
+package com.learning.springboot.checklistapi.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs {@link LegacySchemaMigration} before the entity manager factory starts, so that Hibernate's schema update and
+ * every query see the migrated schema.
+ */
+@Configuration
+public class SchemaMigrationConfiguration {
+
+    @Bean(initMethod = "migrate")
+    public LegacySchemaMigration legacySchemaMigration(DataSource dataSource){
+        return new LegacySchemaMigration(dataSource);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor legacySchemaMigrationDependency(){
+        return new EntityManagerFactoryDependsOnPostProcessor("legacySchemaMigration");
+    }
+}
@@ -0,0 +1,26 @@
+package com.learning.springboot.checklistapi.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so a request can report how many it issued.
+ * Work handed to other threads (the streaming export, after-commit listeners on executors) is not attributed.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<long[]> count = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        count.get()[0]++;
+        return sql;
+    }
+
+    public void reset(){
+        count.get()[0] = 0;
+    }
+
+    public long current(){
+        return count.get()[0];
+    }
+}
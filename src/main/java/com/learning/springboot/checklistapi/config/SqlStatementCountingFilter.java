@@ -0,0 +1,46 @@
+package com.learning.springboot.checklistapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Starts every request with a zero statement count and records the final count per endpoint as
+ * {@code http.server.requests.sql.statements}. The count is left in place after the chain so the request
+ * observation, which stops later, can still tag it.
+ */
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementCountingFilter(SqlStatementCounter sqlStatementCounter, MeterRegistry meterRegistry){
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .description("SQL statements prepared while handling a request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(sqlStatementCounter.current());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.learning.springboot.checklistapi.config;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Adds a {@code sql.statements} tag to {@code http.server.requests}. The count is bucketed to keep the tag
+ * low-cardinality; the exact distribution is recorded by {@link SqlStatementCountingFilter}.
+ */
+public class SqlStatementObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String SQL_STATEMENTS_TAG = "sql.statements";
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    public SqlStatementObservationConvention(SqlStatementCounter sqlStatementCounter){
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(SQL_STATEMENTS_TAG, bucket(sqlStatementCounter.current()));
+    }
+
+    static String bucket(long statements){
+        if(statements <= 1){
+            return Long.toString(statements);
+        }
+        if(statements <= 5){
+            return "2-5";
+        }
+        return statements <= 20 ? "6-20" : "over-20";
+    }
+}
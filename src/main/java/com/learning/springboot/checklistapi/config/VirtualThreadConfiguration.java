@@ -0,0 +1,52 @@
+package com.learning.springboot.checklistapi.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in ({@code virtual-threads} profile) execution mode where Tomcat runs every request, and Spring MVC every
+ * async/streaming response, on its own virtual thread instead of a bounded platform thread pool. Blocking JPA calls
+ * then only park a virtual thread, so the number of in-flight requests is no longer capped by server threads; the
+ * database is protected instead by {@link ConcurrencyLimitingDataSource}, which lets at most
+ * {@code checklist.db.max-concurrency} callers hold a connection and queues the rest cheaply.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(){
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(){
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment){
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)){
+                    return new ConcurrencyLimitingDataSource(dataSource,
+                            environment.getProperty("checklist.db.max-concurrency", Integer.class, 10),
+                            environment.getProperty("checklist.db.acquire-timeout", Duration.class, Duration.ofSeconds(30)));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,18 +1,25 @@
 package com.learning.springboot.checklistapi.controller;
 
 import com.learning.springboot.checklistapi.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.dto.CategoryStatsDTO;
 import com.learning.springboot.checklistapi.dto.NewResourceDTO;
 import com.learning.springboot.checklistapi.entity.CategoryEntity;
 import com.learning.springboot.checklistapi.exception.ValidationException;
+import com.learning.springboot.checklistapi.service.CategoryListCache;
 import com.learning.springboot.checklistapi.service.CategoryService;
+import com.learning.springboot.checklistapi.service.CategoryStatsService;
+import com.learning.springboot.checklistapi.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,50 +28,100 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CategoryListCache categoryListCache;
+    private final CategoryStatsService categoryStatsService;
+    private final IdempotencyService idempotencyService;
 
-    public CategoryController(CategoryService categoryService){
+    public CategoryController(CategoryService categoryService, CategoryListCache categoryListCache,
+                              CategoryStatsService categoryStatsService, IdempotencyService idempotencyService){
         this.categoryService = categoryService;
+        this.categoryListCache = categoryListCache;
+        this.categoryStatsService = categoryStatsService;
+        this.idempotencyService = idempotencyService;
     }
 
     @Operation(description = "Retrieves all categories")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Found all categories")
+            @ApiResponse(responseCode = "200", description = "Found all categories"),
+            @ApiResponse(responseCode = "304", description = "Categories not modified since the given ETag")
     })
     @CrossOrigin
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<CategoryDTO>> getAllCategories(){
+    public ResponseEntity<byte[]> getAllCategories(WebRequest request){
 
-        List<CategoryDTO> response = this.categoryService.findAllCategories().stream()
-                .map(CategoryDTO::toDTO)
-                .toList();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        CategoryListCache.Snapshot snapshot = this.categoryListCache.getSnapshot();
+        if(request.checkNotModified(snapshot.etag())){
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.etag())
+                .body(snapshot.json());
+    }
+
+    @Operation(description = "Retrieves total, completed and overdue checklist item counts per category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found category statistics")
+    })
+    @CrossOrigin
+    @GetMapping(value = "stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CategoryStatsDTO>> getCategoryStats(){
+
+        return new ResponseEntity<>(this.categoryStatsService.findAllCategoryStats(), HttpStatus.OK);
     }
 
-    @Operation(description = "Create a category")
+    @Operation(description = "Create a category, only once per Idempotency-Key")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Category created")
+            @ApiResponse(responseCode = "201", description = "Category created, or created before with the same Idempotency-Key"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key used with a different request")
     })
     @CrossOrigin
     @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<NewResourceDTO> addNewCategory(@RequestBody CategoryDTO categoryDTO){
+    public ResponseEntity<NewResourceDTO> addNewCategory(@RequestBody CategoryDTO categoryDTO,
+                                                         @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey){
 
-        CategoryEntity newCategory = this.categoryService.addNewCategory(categoryDTO.name());
-        return new ResponseEntity<>(new NewResourceDTO(newCategory.getGuid()), HttpStatus.CREATED);
+        NewResourceDTO newResource = this.idempotencyService.execute("categories", idempotencyKey, categoryDTO,
+                () -> new NewResourceDTO(this.categoryService.addNewCategory(categoryDTO.name()).getGuid()));
+        return new ResponseEntity<>(newResource, HttpStatus.CREATED);
     }
 
-    @Operation(description = "Modify a category")
+    @Operation(description = "Retrieves a category by its guid, with its version as ETag")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Category modified")
+            @ApiResponse(responseCode = "200", description = "Found the category"),
+            @ApiResponse(responseCode = "304", description = "Category not modified since the given ETag"),
+            @ApiResponse(responseCode = "422", description = "Category not found")
+    })
+    @CrossOrigin
+    @GetMapping(value = "{guid}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CategoryDTO> getCategory(@PathVariable String guid, WebRequest request){
+        CategoryEntity category = this.categoryService.findCategoryByGuid(guid);
+        String etag = VersionETags.of(category.getVersion());
+        if(request.checkNotModified(etag)){
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(CategoryDTO.toDTO(category));
+    }
+
+    @Operation(description = "Modify a category, only if it still has the version given as If-Match")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Category modified"),
+            @ApiResponse(responseCode = "412", description = "Category modified concurrently or since the If-Match version")
     })
     @CrossOrigin
     @PutMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> updateCategory(@RequestBody CategoryDTO categoryDTO){
+    public ResponseEntity<Void> updateCategory(@RequestBody CategoryDTO categoryDTO,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
         if(!StringUtils.hasText(categoryDTO.guid())){
             throw new ValidationException("Category guid cannot be null or empty");
         }
-        this.categoryService.updateCategory(categoryDTO.guid(), categoryDTO.name());
+        CategoryEntity updatedCategory = this.categoryService.updateCategory(categoryDTO.guid(), categoryDTO.name(),
+                VersionETags.expectedVersion(ifMatch));
 
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        return ResponseEntity.noContent().eTag(VersionETags.of(updatedCategory.getVersion())).build();
     }
 
     @Operation(description = "Delete a category")
@@ -1,76 +1,233 @@
 package com.learning.springboot.checklistapi.controller;
 
+import com.learning.springboot.checklistapi.dto.BulkUpdateStatusDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemChangesDTO;
 import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemFilterDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemPageDTO;
 import com.learning.springboot.checklistapi.dto.NewResourceDTO;
 import com.learning.springboot.checklistapi.dto.UpdateStatusDTO;
+import com.learning.springboot.checklistapi.dto.UpdatedResourcesDTO;
 import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
 import com.learning.springboot.checklistapi.exception.ValidationException;
+import com.learning.springboot.checklistapi.repository.ChecklistItemSort;
+import com.learning.springboot.checklistapi.service.ChangeFeedService;
+import com.learning.springboot.checklistapi.service.ChangeVersionService;
+import com.learning.springboot.checklistapi.service.ChecklistItemChangeToken;
+import com.learning.springboot.checklistapi.service.ChecklistItemChangesService;
+import com.learning.springboot.checklistapi.service.ChecklistItemCursor;
 import com.learning.springboot.checklistapi.service.ChecklistItemService;
+import com.learning.springboot.checklistapi.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/checklist-items")
 public class ChecklistItemController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final ChecklistItemService checklistItemService;
+    private final ChangeVersionService changeVersionService;
+    private final ChangeFeedService changeFeedService;
+    private final ChecklistItemChangesService checklistItemChangesService;
+    private final IdempotencyService idempotencyService;
 
-    public ChecklistItemController(ChecklistItemService checklistItemService){
+    public ChecklistItemController(ChecklistItemService checklistItemService, ChangeVersionService changeVersionService,
+                                   ChangeFeedService changeFeedService,
+                                   ChecklistItemChangesService checklistItemChangesService,
+                                   IdempotencyService idempotencyService){
         this.checklistItemService = checklistItemService;
+        this.changeVersionService = changeVersionService;
+        this.changeFeedService = changeFeedService;
+        this.checklistItemChangesService = checklistItemChangesService;
+        this.idempotencyService = idempotencyService;
     }
 
-    @Operation(description = "Retrieves all chesklist items")
+    @Operation(description = "Retrieves a page of chesklist items matching the given filters, ordered by deadline " +
+            "unless another sort (deadline, -deadline, postedDate, -postedDate) is given")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Found all checklist items")
+            @ApiResponse(responseCode = "200", description = "Found a page of checklist items"),
+            @ApiResponse(responseCode = "304", description = "Checklist items not modified since the given ETag"),
+            @ApiResponse(responseCode = "422", description = "Invalid cursor, page size, sort or date range")
     })
     @CrossOrigin
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ChecklistItemDTO>> getAllChecklistItems(){
+    public ResponseEntity<ChecklistItemPageDTO> getAllChecklistItems(
+            @RequestParam(required = false) String categoryGuid,
+            @RequestParam(required = false) Boolean isCompleted,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate postedDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate postedDateTo,
+            @RequestParam(required = false, defaultValue = "deadline") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request){
 
-        List<ChecklistItemDTO> response =  this.checklistItemService.findAllChecklistItems()
-                .stream().map(ChecklistItemDTO::toDTO)
-                .toList();
+        String etag = this.currentETag();
+        if(request.checkNotModified(etag)){
+            return null;
+        }
+
+        ChecklistItemSort checklistItemSort = ChecklistItemSort.fromParameter(sort)
+                .orElseThrow(() -> new ValidationException("Invalid checklist items sort"));
+        ChecklistItemFilterDTO filter = new ChecklistItemFilterDTO(StringUtils.hasText(categoryGuid) ? categoryGuid : null,
+                isCompleted, deadlineFrom, deadlineTo, postedDateFrom, postedDateTo);
+
+        Slice<ChecklistItemDTO> page = this.checklistItemService.findChecklistItemsPage(filter, checklistItemSort,
+                StringUtils.hasText(cursor) ? ChecklistItemCursor.decode(cursor) : null, size);
+
+        String next = page.hasNext() ? ChecklistItemCursor.of(
+                page.getContent().get(page.getNumberOfElements() - 1), checklistItemSort).encode() : null;
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(new ChecklistItemPageDTO(page.getContent(), next));
+    }
+
+    @Operation(description = "Searches checklist items by description, best matches first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the matching checklist items"),
+            @ApiResponse(responseCode = "304", description = "Checklist items not modified since the given ETag"),
+            @ApiResponse(responseCode = "422", description = "Query too short or invalid limit")
+    })
+    @CrossOrigin
+    @GetMapping(value = "search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ChecklistItemDTO>> searchChecklistItems(@RequestParam String q,
+                                                                       @RequestParam(required = false) Integer limit,
+                                                                       WebRequest request){
+
+        String etag = this.currentETag();
+        if(request.checkNotModified(etag)){
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(this.checklistItemService.searchChecklistItems(q, limit));
+    }
+
+    @Operation(description = "Streams checklist item and category changes as Server-Sent Events once they are " +
+            "committed, plus deadline reminders; a RESYNC event means events were missed and the list must be reloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscribed to the change feed"),
+            @ApiResponse(responseCode = "503", description = "Too many change feed subscribers")
+    })
+    @CrossOrigin
+    @GetMapping(value = "events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(){
+        return this.changeFeedService.subscribe();
+    }
+
+    @Operation(description = "Retrieves the checklist items changed and the guids of those deleted since the given " +
+            "token, or every checklist item when no token is given; the returned token continues from there")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the changes since the token"),
+            @ApiResponse(responseCode = "410", description = "Token expired, checklist items must be synced from scratch"),
+            @ApiResponse(responseCode = "422", description = "Invalid token or limit")
+    })
+    @CrossOrigin
+    @GetMapping(value = "changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ChecklistItemChangesDTO> getChecklistItemChanges(@RequestParam(required = false) String since,
+                                                                           @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(this.checklistItemChangesService.findChanges(
+                        StringUtils.hasText(since) ? ChecklistItemChangeToken.decode(since) : null, limit));
+    }
+
+    @Operation(description = "Retrieves a chesklist item by its guid, with its version as ETag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the checklist item"),
+            @ApiResponse(responseCode = "304", description = "Checklist item not modified since the given ETag"),
+            @ApiResponse(responseCode = "422", description = "Checklist item not found")
+    })
+    @CrossOrigin
+    @GetMapping(value = "{guid}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ChecklistItemDTO> getChecklistItem(@PathVariable String guid, WebRequest request){
 
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        ChecklistItemDTO checklistItem = this.checklistItemService.findChecklistItemDTOByGuid(guid);
+        String etag = VersionETags.of(checklistItem.version());
+        if(request.checkNotModified(etag)){
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(checklistItem);
     }
 
-    @Operation(description = "Creates checklist item")
+    @Operation(description = "Creates checklist item, only once per Idempotency-Key")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Checklist item created")
+            @ApiResponse(responseCode = "201", description = "Checklist item created, or created before with the same Idempotency-Key"),
+            @ApiResponse(responseCode = "422", description = "Invalid checklist item, or Idempotency-Key used with a different request")
     })
     @CrossOrigin
     @PostMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<NewResourceDTO> createChecklistItems(@RequestBody ChecklistItemDTO checklistItemDTO){
-        ChecklistItemEntity newChecklistItem = this.checklistItemService.addNewChecklistItem(
-                 checklistItemDTO.description(), checklistItemDTO.isCompleted(),
-                 checklistItemDTO.deadline(), checklistItemDTO.categoryDTO().guid());
+    public ResponseEntity<NewResourceDTO> createChecklistItems(@RequestBody ChecklistItemDTO checklistItemDTO,
+                                                               @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey){
+        NewResourceDTO newResource = this.idempotencyService.execute("checklist-items", idempotencyKey, checklistItemDTO,
+                () -> new NewResourceDTO(this.checklistItemService.addNewChecklistItem(
+                        checklistItemDTO.description(), checklistItemDTO.isCompleted(),
+                        checklistItemDTO.deadline(), checklistItemDTO.categoryDTO().guid()).getGuid()));
 
-        return new ResponseEntity<>(new NewResourceDTO(newChecklistItem.getGuid()), HttpStatus.CREATED);
+        return new ResponseEntity<>(newResource, HttpStatus.CREATED);
     }
 
-    @Operation(description = "Modify a chesklist item")
+    @Operation(description = "Creates checklist items in a single transaction")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Checklist item modified")
+            @ApiResponse(responseCode = "201", description = "Checklist items created"),
+            @ApiResponse(responseCode = "422", description = "Empty or too large batch, or unknown category")
+    })
+    @CrossOrigin
+    @PostMapping(value = "batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<NewResourceDTO>> createChecklistItemsBatch(@RequestBody List<ChecklistItemDTO> checklistItemDTOs){
+        if(CollectionUtils.isEmpty(checklistItemDTOs) || checklistItemDTOs.size() > MAX_BATCH_SIZE){
+            throw new ValidationException("Checklist items batch must have between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+        List<NewResourceDTO> response = this.checklistItemService.addNewChecklistItems(checklistItemDTOs).stream()
+                .map(checklistItem -> new NewResourceDTO(checklistItem.getGuid()))
+                .toList();
+
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @Operation(description = "Modify a chesklist item, only if it still has the version given as If-Match")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Checklist item modified"),
+            @ApiResponse(responseCode = "412", description = "Checklist item modified concurrently or since the If-Match version")
     })
     @CrossOrigin
     @PutMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> updateChecklistItems(@RequestBody ChecklistItemDTO checklistItemDTO){
+    public ResponseEntity<Void> updateChecklistItems(@RequestBody ChecklistItemDTO checklistItemDTO,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
         if(!StringUtils.hasLength(checklistItemDTO.guid())){
             throw new ValidationException("Checklist Item guid is mandatory");
         }
-        this.checklistItemService.updateChecklistItem(checklistItemDTO.guid(), checklistItemDTO.description(),
-                checklistItemDTO.isCompleted(), checklistItemDTO.deadline(),
-                checklistItemDTO.categoryDTO() != null ? checklistItemDTO.categoryDTO().guid() : null);
+        ChecklistItemEntity updatedChecklistItem = this.checklistItemService.updateChecklistItem(checklistItemDTO.guid(),
+                checklistItemDTO.description(), checklistItemDTO.isCompleted(), checklistItemDTO.deadline(),
+                checklistItemDTO.categoryDTO() != null ? checklistItemDTO.categoryDTO().guid() : null,
+                VersionETags.expectedVersion(ifMatch));
 
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        return ResponseEntity.noContent().eTag(VersionETags.of(updatedChecklistItem.getVersion())).build();
     }
 
     @Operation(description = "Retrieves all chesklist Items")
@@ -85,10 +242,52 @@ public class ChecklistItemController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @Operation(description = "Marks a chesklist item as completed or not completed, only if it still has the version " +
+            "given as If-Match")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Checklist item status modified"),
+            @ApiResponse(responseCode = "412", description = "Checklist item modified since the If-Match version")
+    })
     @CrossOrigin
     @PatchMapping(value = "{guid}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> updateCompletedStatus(@PathVariable String guid, @RequestBody UpdateStatusDTO statusDTO){
-        this.checklistItemService.updateIsCompletedStatus(guid, statusDTO.isCompleted());
+    public ResponseEntity<Void> updateCompletedStatus(@PathVariable String guid, @RequestBody UpdateStatusDTO statusDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        this.checklistItemService.updateIsCompletedStatus(guid, statusDTO.isCompleted(),
+                VersionETags.expectedVersion(ifMatch));
         return new ResponseEntity<>(HttpStatus.ACCEPTED);
     }
+
+    @Operation(description = "Marks the given chesklist items, or all items of a category, as completed or not completed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Checklist items status modified"),
+            @ApiResponse(responseCode = "422", description = "Invalid selection or category not found")
+    })
+    @CrossOrigin
+    @PatchMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UpdatedResourcesDTO> updateCompletedStatusInBulk(@RequestBody BulkUpdateStatusDTO statusDTO){
+        boolean hasGuids = !CollectionUtils.isEmpty(statusDTO.guids());
+        boolean hasCategory = StringUtils.hasText(statusDTO.categoryGuid());
+        if(hasGuids == hasCategory){
+            throw new ValidationException("Either checklist item guids or a category guid must be provided");
+        }
+        if(hasGuids && statusDTO.guids().size() > MAX_BATCH_SIZE){
+            throw new ValidationException("Checklist items batch must have between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+
+        int updated = hasGuids ?
+                this.checklistItemService.updateIsCompletedStatus(statusDTO.guids(), statusDTO.isCompleted()) :
+                this.checklistItemService.updateIsCompletedStatusByCategory(statusDTO.categoryGuid(), statusDTO.isCompleted());
+        return new ResponseEntity<>(new UpdatedResourcesDTO(updated), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Buffered completed status changes are flushed first, so the ETag only depends on the shared change version
+     * and matches what every other instance hands out for the same data.
+     */
+    private String currentETag(){
+        if(this.checklistItemService.hasPendingCompletedStatus()){
+            this.checklistItemService.flushPendingCompletedStatus();
+        }
+        return this.changeVersionService.currentETag();
+    }
 }
@@ -0,0 +1,60 @@
+package com.learning.springboot.checklistapi.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.learning.springboot.checklistapi.dto.ChecklistItemJsonWriter;
+import com.learning.springboot.checklistapi.service.ChecklistItemExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api/v1/checklist-items/export")
+public class ChecklistItemExportController {
+
+    private final ChecklistItemExportService checklistItemExportService;
+    private final ObjectMapper objectMapper;
+
+    public ChecklistItemExportController(ChecklistItemExportService checklistItemExportService, ObjectMapper objectMapper){
+        this.checklistItemExportService = checklistItemExportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Operation(description = "Streams all checklist items as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Checklist items exported")
+    })
+    @CrossOrigin
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportChecklistItems(){
+
+        StreamingResponseBody body = outputStream -> {
+            SerializerProvider provider = this.objectMapper.getSerializerProviderInstance();
+            try(JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)){
+                generator.setRootValueSeparator(null);
+                this.checklistItemExportService.exportChecklistItems((checklistItem, isCompleted) -> {
+                    try {
+                        ChecklistItemJsonWriter.writeChecklistItem(generator, provider, checklistItem, isCompleted);
+                        generator.writeRaw('\n');
+                    } catch (IOException e){
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
@@ -0,0 +1,38 @@
+package com.learning.springboot.checklistapi.controller;
+
+import com.learning.springboot.checklistapi.exception.PreconditionFailedException;
+import org.springframework.util.StringUtils;
+
+/**
+ * Entity versions as strong ETags, and back from the If-Match header of conditional writes.
+ */
+final class VersionETags {
+
+    private static final String ANY = "*";
+
+    private VersionETags(){
+    }
+
+    static String of(Long version){
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the expected version, or null when the write is unconditional (no header or {@code *}). A header that
+     * cannot be one of our ETags never matches, so it fails the precondition.
+     */
+    static Long expectedVersion(String ifMatch){
+        if(!StringUtils.hasText(ifMatch) || ANY.equals(ifMatch.strip())){
+            return null;
+        }
+        String etag = ifMatch.strip();
+        if(etag.length() < 2 || !etag.startsWith("\"") || !etag.endsWith("\"")){
+            throw new PreconditionFailedException("If-Match must be a single strong ETag");
+        }
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e){
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+}
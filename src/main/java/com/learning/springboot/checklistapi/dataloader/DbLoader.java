@@ -1,7 +1,6 @@
 package com.learning.springboot.checklistapi.dataloader;
 
-import com.learning.springboot.checklistapi.entity.CategoryEntity;
-import com.learning.springboot.checklistapi.repository.CategoryRepository;
+import com.learning.springboot.checklistapi.service.CategoryCache;
 import com.learning.springboot.checklistapi.service.CategoryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -17,11 +16,11 @@ import java.util.Optional;
 @Component
 public class DbLoader implements CommandLineRunner {
 
-    private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
     private final CategoryService categoryService;
 
-    public DbLoader(CategoryRepository categoryRepository, CategoryService categoryService){
-        this.categoryRepository = categoryRepository;
+    public DbLoader(CategoryCache categoryCache, CategoryService categoryService){
+        this.categoryCache = categoryCache;
         this.categoryService = categoryService;
     }
 
@@ -33,7 +32,7 @@ public class DbLoader implements CommandLineRunner {
         );
 
         for(String categoryName : categoryNames){
-            Optional<CategoryEntity> catOpt = this.categoryRepository.findByName(categoryName);
+            Optional<String> catOpt = this.categoryCache.findGuidByName(categoryName);
            if(!catOpt.isPresent()){
                categoryService.addNewCategory(categoryName);
            }
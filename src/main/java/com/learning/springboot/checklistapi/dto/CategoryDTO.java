@@ -1,11 +1,13 @@
 package com.learning.springboot.checklistapi.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.learning.springboot.checklistapi.entity.CategoryEntity;
 import lombok.Builder;
 
 import javax.validation.constraints.NotBlank;
 
 @Builder
+@JsonSerialize(using = ChecklistItemJsonWriter.CategorySerializer.class)
 public record CategoryDTO(
         String guid,
         @NotBlank(message = "Category name cannot be either null or empty")
@@ -0,0 +1,3 @@
+package com.learning.springboot.checklistapi.dto;
+
+public record CategoryStatsDTO(String guid, String name, long total, long completed, long overdue) {}
@@ -0,0 +1,62 @@
+package com.learning.springboot.checklistapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Pushed to change feed subscribers after the change commits. Created and updated events carry the new state;
+ * deletions and status changes only the guid. A category STATUS_CHANGED event stands for every item of that
+ * category, and RESYNC tells a subscriber that it missed events and should reload.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeEventDTO(
+        Resource resource,
+        Type type,
+        String guid,
+        Boolean isCompleted,
+        @JsonProperty(value = "checklistItem")
+        ChecklistItemDTO checklistItemDTO,
+        @JsonProperty(value = "category")
+        CategoryDTO categoryDTO) {
+
+    public enum Resource {
+        CHECKLIST_ITEM,
+        CATEGORY
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STATUS_CHANGED,
+        RESYNC
+    }
+
+    public static ChangeEventDTO checklistItem(Type type, ChecklistItemDTO checklistItemDTO){
+        return new ChangeEventDTO(Resource.CHECKLIST_ITEM, type, checklistItemDTO.guid(), null, checklistItemDTO, null);
+    }
+
+    public static ChangeEventDTO checklistItemDeleted(String guid){
+        return new ChangeEventDTO(Resource.CHECKLIST_ITEM, Type.DELETED, guid, null, null, null);
+    }
+
+    public static ChangeEventDTO checklistItemStatusChanged(String guid, boolean isCompleted){
+        return new ChangeEventDTO(Resource.CHECKLIST_ITEM, Type.STATUS_CHANGED, guid, isCompleted, null, null);
+    }
+
+    public static ChangeEventDTO category(Type type, CategoryDTO categoryDTO){
+        return new ChangeEventDTO(Resource.CATEGORY, type, categoryDTO.guid(), null, null, categoryDTO);
+    }
+
+    public static ChangeEventDTO categoryDeleted(String guid){
+        return new ChangeEventDTO(Resource.CATEGORY, Type.DELETED, guid, null, null, null);
+    }
+
+    public static ChangeEventDTO categoryStatusChanged(String guid, boolean isCompleted){
+        return new ChangeEventDTO(Resource.CATEGORY, Type.STATUS_CHANGED, guid, isCompleted, null, null);
+    }
+
+    public static ChangeEventDTO resync(){
+        return new ChangeEventDTO(null, Type.RESYNC, null, null, null, null);
+    }
+}
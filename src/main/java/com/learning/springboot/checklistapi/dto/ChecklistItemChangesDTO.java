@@ -0,0 +1,5 @@
+package com.learning.springboot.checklistapi.dto;
+
+import java.util.List;
+
+public record ChecklistItemChangesDTO(List<ChecklistItemDTO> changed, List<String> deleted, String next, boolean hasMore) {}
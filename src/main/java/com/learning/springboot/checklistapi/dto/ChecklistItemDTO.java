@@ -1,6 +1,8 @@
 package com.learning.springboot.checklistapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
 import lombok.Builder;
 
@@ -9,7 +11,10 @@ import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
 
 @Builder
+@JsonSerialize(using = ChecklistItemJsonWriter.ChecklistItemSerializer.class)
 public record ChecklistItemDTO(
+        @JsonIgnore
+        Long id,
         String guid,
         @NotBlank(message = "Checklist item description cannot be either null or empty")
         String description,
@@ -19,10 +24,22 @@ public record ChecklistItemDTO(
         LocalDate deadline,
         LocalDate postedDate,
         @JsonProperty(value = "category")
-        CategoryDTO categoryDTO) {
+        CategoryDTO categoryDTO,
+        @JsonIgnore
+        Long version) {
+
+    /**
+     * Flat constructor used by JPQL constructor expressions, which cannot build the nested category.
+     */
+    public ChecklistItemDTO(Long id, String guid, String description, Boolean isCompleted, LocalDate deadline,
+                            LocalDate postedDate, String categoryGuid, String categoryName, Long version) {
+        this(id, guid, description, isCompleted, deadline, postedDate,
+                categoryGuid != null ? new CategoryDTO(categoryGuid, categoryName) : null, version);
+    }
 
     public static ChecklistItemDTO toDTO(ChecklistItemEntity checklistItemEntity) {
         return ChecklistItemDTO.builder()
+                .id(checklistItemEntity.getId())
                 .guid(checklistItemEntity.getGuid())
                 .description(checklistItemEntity.getDescription())
                 .isCompleted(checklistItemEntity.getIsCompleted())
@@ -33,6 +50,7 @@ public record ChecklistItemDTO(
                                 .guid(checklistItemEntity.getCategory().getGuid())
                                 .name(checklistItemEntity.getCategory().getName())
                                 .build() : null)
+                .version(checklistItemEntity.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,149 @@
+package com.learning.springboot.checklistapi.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes checklist items and categories straight to a {@link JsonGenerator}, producing the same bytes as the
+ * reflective serialization of {@link ChecklistItemDTO} and {@link CategoryDTO}: same field order, nulls written out,
+ * dates as ISO strings. Field names are encoded once, and the rendering of each date is cached in a slot per epoch
+ * day, so any span of {@value #DATE_CACHE_SIZE} days is formatted only once. Entities can be written without mapping
+ * them to DTOs first. When the mapper writes dates as timestamps, dates are left to its own serializer.
+ */
+public final class ChecklistItemJsonWriter {
+
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString GUID = new SerializedString("guid");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString IS_COMPLETED = new SerializedString("isCompleted");
+    private static final SerializedString DEADLINE = new SerializedString("deadline");
+    private static final SerializedString POSTED_DATE = new SerializedString("postedDate");
+
+    private static final int DATE_CACHE_SIZE = 4096;
+    private static final IsoDate[] DATE_CACHE = new IsoDate[DATE_CACHE_SIZE];
+
+    private ChecklistItemJsonWriter(){
+    }
+
+    public static void writeChecklistItem(JsonGenerator generator, SerializerProvider provider,
+                                          ChecklistItemDTO checklistItem) throws IOException {
+        CategoryDTO category = checklistItem.categoryDTO();
+        writeChecklistItem(generator, provider, checklistItem.guid(), checklistItem.description(),
+                checklistItem.isCompleted(), checklistItem.deadline(), checklistItem.postedDate(), category != null,
+                category != null ? category.guid() : null, category != null ? category.name() : null);
+    }
+
+    /**
+     * Writes the entity as its {@link ChecklistItemDTO} would be written, with the given completed status.
+     */
+    public static void writeChecklistItem(JsonGenerator generator, SerializerProvider provider,
+                                          ChecklistItemEntity checklistItem, Boolean isCompleted) throws IOException {
+        CategoryEntity category = checklistItem.getCategory();
+        writeChecklistItem(generator, provider, checklistItem.getGuid(), checklistItem.getDescription(), isCompleted,
+                checklistItem.getDeadline(), checklistItem.getPostedDate(), category != null,
+                category != null ? category.getGuid() : null, category != null ? category.getName() : null);
+    }
+
+    public static void writeCategory(JsonGenerator generator, String guid, String name) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, GUID, guid);
+        writeString(generator, NAME, name);
+        generator.writeEndObject();
+    }
+
+    private static void writeChecklistItem(JsonGenerator generator, SerializerProvider provider, String guid,
+                                           String description, Boolean isCompleted, LocalDate deadline,
+                                           LocalDate postedDate, boolean hasCategory, String categoryGuid,
+                                           String categoryName) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(CATEGORY);
+        if(hasCategory){
+            writeCategory(generator, categoryGuid, categoryName);
+        } else {
+            generator.writeNull();
+        }
+        writeString(generator, GUID, guid);
+        writeString(generator, DESCRIPTION, description);
+        generator.writeFieldName(IS_COMPLETED);
+        if(isCompleted != null){
+            generator.writeBoolean(isCompleted);
+        } else {
+            generator.writeNull();
+        }
+        writeDate(generator, provider, DEADLINE, deadline);
+        writeDate(generator, provider, POSTED_DATE, postedDate);
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializedString fieldName, String value) throws IOException {
+        generator.writeFieldName(fieldName);
+        if(value != null){
+            generator.writeString(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, SerializerProvider provider, SerializedString fieldName,
+                                  LocalDate date) throws IOException {
+        generator.writeFieldName(fieldName);
+        if(date == null){
+            generator.writeNull();
+        } else if(provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)){
+            provider.defaultSerializeValue(date, generator);
+        } else {
+            generator.writeString(isoDate(date));
+        }
+    }
+
+    /**
+     * Slots are read and replaced without locking; a lost update only means formatting the date again.
+     */
+    private static SerializedString isoDate(LocalDate date){
+        int slot = (int) (date.toEpochDay() & (DATE_CACHE_SIZE - 1));
+        IsoDate cached = DATE_CACHE[slot];
+        if(cached == null || !cached.date().equals(date)){
+            cached = new IsoDate(date, new SerializedString(DateTimeFormatter.ISO_LOCAL_DATE.format(date)));
+            DATE_CACHE[slot] = cached;
+        }
+        return cached.iso();
+    }
+
+    private record IsoDate(LocalDate date, SerializedString iso) {}
+
+    public static final class ChecklistItemSerializer extends StdSerializer<ChecklistItemDTO> {
+
+        public ChecklistItemSerializer(){
+            super(ChecklistItemDTO.class);
+        }
+
+        @Override
+        public void serialize(ChecklistItemDTO checklistItem, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            writeChecklistItem(generator, provider, checklistItem);
+        }
+    }
+
+    public static final class CategorySerializer extends StdSerializer<CategoryDTO> {
+
+        public CategorySerializer(){
+            super(CategoryDTO.class);
+        }
+
+        @Override
+        public void serialize(CategoryDTO category, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            writeCategory(generator, category.guid(), category.name());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.learning.springboot.checklistapi.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Emitted when an incomplete checklist item reaches its deadline day (DUE) and once that day has passed (OVERDUE).
+ * {@code catchUp} marks events that fell due while the application was down and are delivered late.
+ */
+public record DeadlineEventDTO(Type type, String guid, String description, LocalDate deadline, Instant firedAt,
+                               boolean catchUp) {
+
+    public enum Type {
+        DUE,
+        OVERDUE
+    }
+}
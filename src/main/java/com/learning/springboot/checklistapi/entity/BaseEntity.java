@@ -1,5 +1,6 @@
 package com.learning.springboot.checklistapi.entity;
 
+import jakarta.persistence.Convert;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Data;
 
@@ -7,5 +8,6 @@ import lombok.Data;
 @MappedSuperclass
 public class BaseEntity {
 
+    @Convert(converter = GuidConverter.class)
     private String guid;
 }
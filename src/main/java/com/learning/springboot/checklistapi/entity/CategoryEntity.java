@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -11,11 +13,14 @@ import java.util.List;
 @Getter
 @Setter
 @Entity(name = "Category")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Table(indexes = {@Index(name = "IDX_GUID_CAT", columnList = "guid")})
-public class CategoryEntity extends BaseEntity{
+public class CategoryEntity extends VersionedEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_id_generator")
+    @SequenceGenerator(name = "category_id_generator", sequenceName = "category_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -0,0 +1,27 @@
+package com.learning.springboot.checklistapi.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "CategoryStats")
+@Table(name = "category_stats")
+public class CategoryStatsEntity {
+
+    @Id
+    private Long categoryId;
+
+    private Long total;
+
+    private Long completed;
+
+    private Long overdue;
+}
@@ -0,0 +1,23 @@
+package com.learning.springboot.checklistapi.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "ChangeVersion")
+@Table(name = "change_version")
+public class ChangeVersionEntity {
+
+    @Id
+    private Long id;
+
+    private Long changeVersion;
+}
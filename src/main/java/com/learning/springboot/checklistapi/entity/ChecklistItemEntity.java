@@ -10,12 +10,20 @@ import java.time.LocalDate;
 @EqualsAndHashCode(callSuper = true)
 @Getter
 @Setter
-@Entity(name = "Checklist Item")
-@Table(indexes = {@Index(name = "IDX_GUID_CK_IT", columnList = "guid")})
-public class ChecklistItemEntity extends BaseEntity{
+@Entity(name = "ChecklistItem")
+@Table(name = "`checklist item`", indexes = {
+        @Index(name = "IDX_GUID_CK_IT", columnList = "guid"),
+        @Index(name = "IDX_DEADLINE_ID_CK_IT", columnList = "deadline, id"),
+        @Index(name = "IDX_CATEGORY_COMPLETED_DEADLINE_CK_IT", columnList = "category_id, isCompleted, deadline, id"),
+        @Index(name = "IDX_COMPLETED_DEADLINE_CK_IT", columnList = "isCompleted, deadline, id"),
+        @Index(name = "IDX_POSTED_DATE_ID_CK_IT", columnList = "postedDate, id"),
+        @Index(name = "IDX_CHANGE_SEQUENCE_ID_CK_IT", columnList = "changeSequence, id")
+})
+public class ChecklistItemEntity extends VersionedEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checklist_item_id_generator")
+    @SequenceGenerator(name = "checklist_item_id_generator", sequenceName = "checklist_item_seq", allocationSize = 50)
     private Long id;
 
     private Boolean isCompleted;
@@ -28,4 +36,9 @@ public class ChecklistItemEntity extends BaseEntity{
 
     @ManyToOne
     private CategoryEntity category;
+
+    /**
+     * Change version of the transaction that last modified the item, read by delta syncs.
+     */
+    private Long changeSequence;
 }
@@ -0,0 +1,48 @@
+package com.learning.springboot.checklistapi.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Trace of a deleted checklist item, so that delta syncs can report the deletion. Like
+ * {@link ChecklistItemEntity#getChangeSequence()} it carries the change version of the deleting transaction, and it is
+ * purged once older than {@code checklist.changes.tombstone-retention}.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity(name = "ChecklistItemTombstone")
+@Table(name = "checklist_item_tombstone", indexes = {
+        @Index(name = "IDX_CHANGE_SEQUENCE_ID_CK_IT_TS", columnList = "changeSequence, id"),
+        @Index(name = "IDX_DELETED_AT_CK_IT_TS", columnList = "deletedAt")
+})
+public class ChecklistItemTombstoneEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checklist_item_tombstone_id_generator")
+    @SequenceGenerator(name = "checklist_item_tombstone_id_generator", sequenceName = "checklist_item_tombstone_seq",
+            allocationSize = 50)
+    private Long id;
+
+    private Long changeSequence;
+
+    private Instant deletedAt;
+
+    public ChecklistItemTombstoneEntity(String guid, Long changeSequence, Instant deletedAt){
+        this.setGuid(guid);
+        this.changeSequence = changeSequence;
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.learning.springboot.checklistapi.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps guids as canonical strings in the domain and on the wire while storing them as 16 byte UUIDs
+ * (native {@code uuid} on H2, {@code binary(16)} on MySQL).
+ * <p>
+ * A string that is not a UUID is mapped to a name-based (version 3) UUID, which can never equal a generated
+ * version 7 guid, so lookups with malformed guids keep answering "not found" instead of failing.
+ */
+@Converter
+public class GuidConverter implements AttributeConverter<String, UUID> {
+
+    @Override
+    public UUID convertToDatabaseColumn(String guid) {
+        if(guid == null){
+            return null;
+        }
+        try {
+            return UUID.fromString(guid);
+        } catch (IllegalArgumentException e){
+            return UUID.nameUUIDFromBytes(guid.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public String convertToEntityAttribute(UUID guid) {
+        return guid != null ? guid.toString() : null;
+    }
+}
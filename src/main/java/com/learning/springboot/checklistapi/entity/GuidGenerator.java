@@ -0,0 +1,39 @@
+package com.learning.springboot.checklistapi.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates time-ordered version 7 UUIDs: a 48 bit Unix millisecond timestamp followed by 74 random bits.
+ * New rows land at the right edge of the guid indexes instead of on random B-tree pages.
+ */
+public final class GuidGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private GuidGenerator(){
+    }
+
+    public static String newGuid(){
+        return newUuid().toString();
+    }
+
+    public static UUID newUuid(){
+        return newUuid(System.currentTimeMillis());
+    }
+
+    static UUID newUuid(long epochMillis){
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+
+        long mostSignificantBits = (epochMillis & 0xFFFF_FFFF_FFFFL) << 16
+                | 0x7000L
+                | ((random[0] & 0x0FL) << 8)
+                | (random[1] & 0xFFL);
+        long leastSignificantBits = 0x8000_0000_0000_0000L | ((random[2] & 0x3FL) << 56);
+        for(int i = 3; i < 10; i++){
+            leastSignificantBits |= (random[i] & 0xFFL) << (8 * (9 - i));
+        }
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
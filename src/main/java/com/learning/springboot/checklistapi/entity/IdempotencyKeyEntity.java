@@ -0,0 +1,54 @@
+package com.learning.springboot.checklistapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Idempotency key of a create request and the guid it answered with, shared between app instances when
+ * {@code checklist.idempotency.database} is on. The unique key makes a concurrent duplicate wait for the first
+ * request's transaction.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity(name = "IdempotencyKey")
+@Table(name = "idempotency_key", uniqueConstraints = {
+        @UniqueConstraint(name = "UK_IDEMPOTENCY_KEY", columnNames = "idempotencyKey")
+}, indexes = {
+        @Index(name = "IDX_CREATED_AT_IDEMPOTENCY_KEY", columnList = "createdAt")
+})
+public class IdempotencyKeyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_key_id_generator")
+    @SequenceGenerator(name = "idempotency_key_id_generator", sequenceName = "idempotency_key_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 320)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private String resourceGuid;
+
+    private Instant createdAt;
+
+    public IdempotencyKeyEntity(String idempotencyKey, String fingerprint, Instant createdAt){
+        this.idempotencyKey = idempotencyKey;
+        this.fingerprint = fingerprint;
+        this.createdAt = createdAt;
+    }
+}
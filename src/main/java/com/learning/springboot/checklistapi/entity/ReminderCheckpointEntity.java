@@ -0,0 +1,25 @@
+package com.learning.springboot.checklistapi.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "ReminderCheckpoint")
+@Table(name = "reminder_checkpoint")
+public class ReminderCheckpointEntity {
+
+    @Id
+    private Long id;
+
+    private Instant processedUntil;
+}
@@ -0,0 +1,27 @@
+package com.learning.springboot.checklistapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Entity exposed as a resource that clients can update, and therefore optimistically locked.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@MappedSuperclass
+public class VersionedEntity extends BaseEntity {
+
+    /**
+     * Optimistic lock version, exposed as the resource ETag. The column default fills rows created before it existed.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+}
@@ -1,6 +1,7 @@
 package com.learning.springboot.checklistapi.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,7 +9,6 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import javax.validation.ValidationException;
 import java.time.LocalDateTime;
 
 @Slf4j
@@ -31,4 +31,25 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(new ExceptionalResponse(LocalDateTime.now(), validationException.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY),
                 HttpStatus.UNPROCESSABLE_ENTITY);
     }
+
+    @ExceptionHandler(ChangeTokenExpiredException.class)
+    public final ResponseEntity<ExceptionalResponse> handleChangeTokenExpiredException(ChangeTokenExpiredException changeTokenExpiredException){
+        log.warn("An expired change token was used to call API: {}", changeTokenExpiredException.getMessage());
+
+        return new ResponseEntity<>(new ExceptionalResponse(LocalDateTime.now(), changeTokenExpiredException.getMessage(), HttpStatus.GONE),
+                HttpStatus.GONE);
+    }
+
+    /**
+     * Covers stale If-Match versions and versioned writes that lost a race with a concurrent update.
+     */
+    @ExceptionHandler({PreconditionFailedException.class, OptimisticLockingFailureException.class})
+    public final ResponseEntity<ExceptionalResponse> handlePreconditionFailedException(RuntimeException conflict){
+        log.warn("A concurrent modification was detected calling API: {}", conflict.getMessage());
+
+        String message = conflict instanceof PreconditionFailedException ? conflict.getMessage() :
+                "Resource was modified concurrently";
+        return new ResponseEntity<>(new ExceptionalResponse(LocalDateTime.now(), message, HttpStatus.PRECONDITION_FAILED),
+                HttpStatus.PRECONDITION_FAILED);
+    }
 }
@@ -1,14 +1,40 @@
 package com.learning.springboot.checklistapi.repository;
 
+import com.learning.springboot.checklistapi.dto.CategoryDTO;
 import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Category lookups go through the Hibernate query cache; its results are invalidated whenever the category table is
+ * written through Hibernate, and the rows themselves come from the second-level cache.
+ */
 @Repository
 public interface CategoryRepository extends JpaRepository<CategoryEntity, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CategoryEntity> findByGuid(String guid);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CategoryEntity> findByName(String name);
+
+    List<CategoryEntity> findByGuidIn(Collection<String> guids);
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CategoryEntity> findAll();
+
+    /**
+     * Reads the table itself, bypassing both caches, which do not see writes made by other app instances.
+     */
+    @Query("select new com.learning.springboot.checklistapi.dto.CategoryDTO(c.guid, c.name) from Category c order by c.id")
+    List<CategoryDTO> findAllDTOs();
 }
@@ -0,0 +1,11 @@
+package com.learning.springboot.checklistapi.repository;
+
+/**
+ * How far the stored counters of a category are from its items: counted minus stored, per counter.
+ */
+public record CategoryStatsDrift(Long categoryId, Long total, Long completed, Long overdue) {
+
+    public boolean isZero(){
+        return total == 0 && completed == 0 && overdue == 0;
+    }
+}
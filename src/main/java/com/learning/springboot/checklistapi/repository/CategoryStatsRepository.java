@@ -0,0 +1,74 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.dto.CategoryStatsDTO;
+import com.learning.springboot.checklistapi.entity.CategoryStatsEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CategoryStatsRepository extends JpaRepository<CategoryStatsEntity, Long> {
+
+    @Query("select new com.learning.springboot.checklistapi.dto.CategoryStatsDTO(cat.guid, cat.name," +
+            " coalesce(s.total, 0), coalesce(s.completed, 0), coalesce(s.overdue, 0))" +
+            " from Category cat left join CategoryStats s on s.categoryId = cat.id order by cat.name")
+    List<CategoryStatsDTO> findAllStats();
+
+    @Modifying
+    @Query("update CategoryStats s set s.total = s.total + :total, s.completed = s.completed + :completed," +
+            " s.overdue = s.overdue + :overdue where s.categoryId = :categoryId")
+    int addToCounters(Long categoryId, long total, long completed, long overdue);
+
+    /**
+     * Applies a completion toggle of one item without reading it first: the overdue counter only moves when the
+     * item's deadline is already past.
+     */
+    @Modifying
+    @Query("update CategoryStats s set s.completed = s.completed + :completedDelta," +
+            " s.overdue = s.overdue - :completedDelta *" +
+            " (select count(c) from ChecklistItem c where c.guid = :guid and c.deadline < :today)" +
+            " where s.categoryId = (select c.category.id from ChecklistItem c where c.guid = :guid)")
+    int applyCompletedStatusChange(String guid, long completedDelta, LocalDate today);
+
+    String SELECT_COUNTS = "select new com.learning.springboot.checklistapi.entity.CategoryStatsEntity(c.category.id," +
+            " count(c), sum(case when c.isCompleted = true then 1 else 0 end)," +
+            " sum(case when (c.isCompleted is null or c.isCompleted = false) and c.deadline < :today then 1 else 0 end))" +
+            " from ChecklistItem c";
+
+    @Query(SELECT_COUNTS + " where c.category.id in :categoryIds group by c.category.id")
+    List<CategoryStatsEntity> countByCategoryIds(Collection<Long> categoryIds, LocalDate today);
+
+    /**
+     * What the given items contribute to the counters of their categories.
+     */
+    @Query(SELECT_COUNTS + " where c.guid in :guids and c.category.id is not null group by c.category.id")
+    List<CategoryStatsEntity> countByChecklistItemGuids(Collection<String> guids, LocalDate today);
+
+    /**
+     * Counts the items and reads the stored counters in one statement, so that both come from the same snapshot and
+     * the difference can be added to the counters without undoing concurrent increments.
+     */
+    @Query("select new com.learning.springboot.checklistapi.repository.CategoryStatsDrift(s.categoryId," +
+            " (select count(c) from ChecklistItem c where c.category.id = s.categoryId) - s.total," +
+            " (select count(c) from ChecklistItem c where c.category.id = s.categoryId and c.isCompleted = true)" +
+            " - s.completed," +
+            " (select count(c) from ChecklistItem c where c.category.id = s.categoryId" +
+            " and (c.isCompleted is null or c.isCompleted = false) and c.deadline < :today) - s.overdue)" +
+            " from CategoryStats s where s.categoryId in :categoryIds")
+    List<CategoryStatsDrift> findDriftByCategoryIds(Collection<Long> categoryIds, LocalDate today);
+
+    /**
+     * Serializes reconciliations across app instances; the rows are locked in key order, like {@link #addToCounters}
+     * calls, which are applied in category id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.categoryId from CategoryStats s order by s.categoryId")
+    List<Long> findAllCategoryIdsWithLock();
+}
@@ -0,0 +1,20 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.entity.ChangeVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeVersionRepository extends JpaRepository<ChangeVersionEntity, Long> {
+
+    @Query("select v.changeVersion from ChangeVersion v where v.id = :id")
+    Optional<Long> findChangeVersion(Long id);
+
+    @Modifying
+    @Query("update ChangeVersion v set v.changeVersion = v.changeVersion + 1 where v.id = :id")
+    int incrementChangeVersion(Long id);
+}
@@ -0,0 +1,21 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+
+import java.time.LocalDate;
+
+/**
+ * Checklist item read by a delta sync, along with the change sequence its position is keyed on.
+ */
+public record ChecklistItemChange(Long changeSequence, ChecklistItemDTO checklistItem) {
+
+    /**
+     * Flat constructor used by JPQL constructor expressions.
+     */
+    public ChecklistItemChange(Long changeSequence, Long id, String guid, String description, Boolean isCompleted,
+                               LocalDate deadline, LocalDate postedDate, String categoryGuid, String categoryName,
+                               Long version){
+        this(changeSequence, new ChecklistItemDTO(id, guid, description, isCompleted, deadline, postedDate,
+                categoryGuid, categoryName, version));
+    }
+}
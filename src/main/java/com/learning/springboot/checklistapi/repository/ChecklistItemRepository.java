@@ -1,18 +1,151 @@
 package com.learning.springboot.checklistapi.repository;
 
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
 import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ChecklistItemRepository extends JpaRepository<ChecklistItemEntity, Long> {
+public interface ChecklistItemRepository extends JpaRepository<ChecklistItemEntity, Long>, ChecklistItemRepositoryCustom {
 
     Optional<ChecklistItemEntity> findByGuid(String guid);
 
+    /**
+     * Locks the row up front, so that a delete takes the item row before the change version row, in the same order
+     * as the other writes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from ChecklistItem c where c.guid = :guid")
+    Optional<ChecklistItemEntity> findWithLockByGuid(String guid);
+
     List<ChecklistItemEntity> findByDescriptionAndIsCompleted(String description, Boolean isCompleted);
 
     List<ChecklistItemEntity> findByCategoryGuid(String guid);
+
+    String SELECT_DTO = "select new com.learning.springboot.checklistapi.dto.ChecklistItemDTO(" +
+            "c.id, c.guid, c.description, c.isCompleted, c.deadline, c.postedDate, cat.guid, cat.name, c.version)" +
+            " from ChecklistItem c left join c.category cat";
+
+    @Query(SELECT_DTO + " where c.guid = :guid")
+    Optional<ChecklistItemDTO> findDTOByGuid(String guid);
+
+    @Query(SELECT_DTO + " where c.isCompleted = false and c.deadline between :from and :to")
+    List<ChecklistItemDTO> findIncompleteDTOsByDeadlineBetween(LocalDate from, LocalDate to);
+
+    @Query(SELECT_DTO + " where c.id in :ids")
+    List<ChecklistItemDTO> findDTOsByIdIn(Collection<Long> ids);
+
+    @Query("select new com.learning.springboot.checklistapi.repository.ChecklistItemChange(c.changeSequence," +
+            " c.id, c.guid, c.description, c.isCompleted, c.deadline, c.postedDate, cat.guid, cat.name, c.version)" +
+            " from ChecklistItem c left join c.category cat" +
+            " where c.changeSequence > :afterChangeSequence or (c.changeSequence = :afterChangeSequence and c.id > :afterId)" +
+            " order by c.changeSequence, c.id")
+    List<ChecklistItemChange> findChangesAfter(Long afterChangeSequence, Long afterId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.id from ChecklistItem c where c.category.id = :categoryId")
+    List<Long> findIdsWithLockByCategoryId(Long categoryId);
+
+    boolean existsByGuid(String guid);
+
+    boolean existsByCategoryId(Long categoryId);
+
+    /**
+     * Only touches the row when the status actually changes, so a repeated toggle reports 0 rows and leaves the
+     * category counters alone.
+     */
+    @Modifying
+    @Query("update ChecklistItem c set c.isCompleted = :isCompleted, c.version = c.version + 1" +
+            " where c.guid = :guid and (c.isCompleted is null or c.isCompleted <> :isCompleted)")
+    int updateIsCompletedByGuid(String guid, Boolean isCompleted);
+
+    /**
+     * Same as {@link #updateIsCompletedByGuid(String, Boolean)}, but only while the item still has the given version.
+     */
+    @Modifying
+    @Query("update ChecklistItem c set c.isCompleted = :isCompleted, c.version = c.version + 1" +
+            " where c.guid = :guid and c.version = :version and (c.isCompleted is null or c.isCompleted <> :isCompleted)")
+    int updateIsCompletedByGuidAndVersion(String guid, Boolean isCompleted, Long version);
+
+    @Query("select c.version from ChecklistItem c where c.guid = :guid")
+    Optional<Long> findVersionByGuid(String guid);
+
+    /**
+     * Locks the given items whose status differs from the requested one, which are the rows a bulk status update
+     * changes, so that only those get a new change sequence and an event.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.guid from ChecklistItem c" +
+            " where c.guid in :guids and (c.isCompleted is null or c.isCompleted <> :isCompleted)")
+    List<String> findGuidsWithLockByGuidInAndIsCompletedNot(Collection<String> guids, Boolean isCompleted);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.guid from ChecklistItem c" +
+            " where c.category.id = :categoryId and (c.isCompleted is null or c.isCompleted <> :isCompleted)")
+    List<String> findGuidsWithLockByCategoryIdAndIsCompletedNot(Long categoryId, Boolean isCompleted);
+
+    /**
+     * Like {@link #updateIsCompletedByGuid(String, Boolean)}, items already in the requested status keep their version.
+     */
+    @Modifying
+    @Query("update ChecklistItem c set c.isCompleted = :isCompleted, c.version = c.version + 1" +
+            " where c.guid in :guids and (c.isCompleted is null or c.isCompleted <> :isCompleted)")
+    int updateIsCompletedByGuidIn(Collection<String> guids, Boolean isCompleted);
+
+    @Modifying
+    @Query("update ChecklistItem c set c.isCompleted = :isCompleted, c.version = c.version + 1" +
+            " where c.category.id in (select cat.id from Category cat where cat.guid = :categoryGuid)" +
+            " and (c.isCompleted is null or c.isCompleted <> :isCompleted)")
+    int updateIsCompletedByCategoryGuid(String categoryGuid, Boolean isCompleted);
+
+    @Modifying
+    @Query("update ChecklistItem c set c.changeSequence = :changeSequence where c.guid = :guid")
+    int updateChangeSequenceByGuid(String guid, Long changeSequence);
+
+    @Modifying
+    @Query("update ChecklistItem c set c.changeSequence = :changeSequence where c.guid in :guids")
+    int updateChangeSequenceByGuidIn(Collection<String> guids, Long changeSequence);
+
+    /**
+     * Items embed their category name, so a rename also gives them a new version.
+     */
+    @Modifying
+    @Query("update ChecklistItem c set c.changeSequence = :changeSequence, c.version = c.version + 1" +
+            " where c.category.id = :categoryId")
+    int updateChangeSequenceByCategoryId(Long categoryId, Long changeSequence);
+
+    /**
+     * Gives rows written before change sequences existed the lowest sequence, so a full sync still returns them.
+     */
+    @Modifying
+    @Query("update ChecklistItem c set c.changeSequence = 0 where c.changeSequence is null")
+    int initializeChangeSequence();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from ChecklistItem c left join fetch c.category order by c.id")
+    Stream<ChecklistItemEntity> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_DTO + " order by c.id")
+    Stream<ChecklistItemDTO> streamAllDTOs();
 }
@@ -0,0 +1,17 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemFilterDTO;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+
+public interface ChecklistItemRepositoryCustom {
+
+    /**
+     * Loads one page of checklist items matching the filter, in a single statement. Passing the sort key and id
+     * of the last item of the previous page continues after it; both null starts from the first item.
+     */
+    Slice<ChecklistItemDTO> findPage(ChecklistItemFilterDTO filter, ChecklistItemSort sort,
+                                     LocalDate afterSortKey, Long afterId, int size);
+}
@@ -0,0 +1,68 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemFilterDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ChecklistItemRepositoryCustomImpl implements ChecklistItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<ChecklistItemDTO> findPage(ChecklistItemFilterDTO filter, ChecklistItemSort sort,
+                                            LocalDate afterSortKey, Long afterId, int size){
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        addCondition(conditions, parameters, "cat.guid = :categoryGuid", "categoryGuid", filter.categoryGuid());
+        addCondition(conditions, parameters, "c.isCompleted = :isCompleted", "isCompleted", filter.isCompleted());
+        addCondition(conditions, parameters, "c.deadline >= :deadlineFrom", "deadlineFrom", filter.deadlineFrom());
+        addCondition(conditions, parameters, "c.deadline <= :deadlineTo", "deadlineTo", filter.deadlineTo());
+        addCondition(conditions, parameters, "c.postedDate >= :postedDateFrom", "postedDateFrom", filter.postedDateFrom());
+        addCondition(conditions, parameters, "c.postedDate <= :postedDateTo", "postedDateTo", filter.postedDateTo());
+
+        String attribute = "c." + sort.attribute();
+        String direction = sort.descending() ? " desc" : "";
+        if(afterSortKey != null && afterId != null){
+            String comparison = sort.descending() ? " < " : " > ";
+            conditions.add("(" + attribute + comparison + ":afterSortKey or (" + attribute + " = :afterSortKey and c.id"
+                    + comparison + ":afterId))");
+            parameters.put("afterSortKey", afterSortKey);
+            parameters.put("afterId", afterId);
+        }
+
+        StringBuilder jpql = new StringBuilder(ChecklistItemRepository.SELECT_DTO);
+        if(!conditions.isEmpty()){
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(" order by ").append(attribute).append(direction).append(", c.id").append(direction);
+
+        TypedQuery<ChecklistItemDTO> query = entityManager.createQuery(jpql.toString(), ChecklistItemDTO.class);
+        parameters.forEach(query::setParameter);
+
+        // One extra row tells whether another page follows without a count query
+        List<ChecklistItemDTO> checklistItems = query.setMaxResults(size + 1).getResultList();
+        boolean hasNext = checklistItems.size() > size;
+        return new SliceImpl<>(hasNext ? checklistItems.subList(0, size) : checklistItems, PageRequest.ofSize(size), hasNext);
+    }
+
+    private static void addCondition(List<String> conditions, Map<String, Object> parameters,
+                                     String condition, String name, Object value){
+        if(value != null){
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Supported orderings of checklist item pages. Each one is (attribute, id) in the same direction, so it can be
+ * paged by keyset and served by the (.., attribute, id) indexes of the checklist item table.
+ */
+public enum ChecklistItemSort {
+
+    DEADLINE("deadline", "deadline", false, ChecklistItemDTO::deadline),
+    DEADLINE_DESC("-deadline", "deadline", true, ChecklistItemDTO::deadline),
+    POSTED_DATE("postedDate", "postedDate", false, ChecklistItemDTO::postedDate),
+    POSTED_DATE_DESC("-postedDate", "postedDate", true, ChecklistItemDTO::postedDate);
+
+    private final String parameter;
+    private final String attribute;
+    private final boolean descending;
+    private final Function<ChecklistItemDTO, LocalDate> sortKey;
+
+    ChecklistItemSort(String parameter, String attribute, boolean descending,
+                      Function<ChecklistItemDTO, LocalDate> sortKey){
+        this.parameter = parameter;
+        this.attribute = attribute;
+        this.descending = descending;
+        this.sortKey = sortKey;
+    }
+
+    public static Optional<ChecklistItemSort> fromParameter(String parameter){
+        return Arrays.stream(values()).filter(sort -> sort.parameter.equals(parameter)).findFirst();
+    }
+
+    public String attribute(){
+        return attribute;
+    }
+
+    public boolean descending(){
+        return descending;
+    }
+
+    public LocalDate sortKeyOf(ChecklistItemDTO checklistItemDTO){
+        return sortKey.apply(checklistItemDTO);
+    }
+}
@@ -0,0 +1,30 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.entity.ChecklistItemTombstoneEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChecklistItemTombstoneRepository extends JpaRepository<ChecklistItemTombstoneEntity, Long> {
+
+    /**
+     * Tombstones after the given position, leaving out deletions older than {@code deletedFrom}, which the client has
+     * either seen already or never had the item of.
+     */
+    @Query("select t from ChecklistItemTombstone t" +
+            " where (t.changeSequence > :afterChangeSequence or (t.changeSequence = :afterChangeSequence and t.id > :afterId))" +
+            " and t.deletedAt >= :deletedFrom" +
+            " order by t.changeSequence, t.id")
+    List<ChecklistItemTombstoneEntity> findChangesAfter(Long afterChangeSequence, Long afterId, Instant deletedFrom,
+                                                        Pageable pageable);
+
+    @Modifying
+    @Query("delete from ChecklistItemTombstone t where t.deletedAt < :deletedBefore")
+    int deleteByDeletedAtBefore(Instant deletedBefore);
+}
@@ -0,0 +1,20 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, Long> {
+
+    Optional<IdempotencyKeyEntity> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :createdBefore")
+    int deleteByCreatedAtBefore(Instant createdBefore);
+}
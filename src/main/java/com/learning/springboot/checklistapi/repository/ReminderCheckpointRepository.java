@@ -0,0 +1,19 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.entity.ReminderCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface ReminderCheckpointRepository extends JpaRepository<ReminderCheckpointEntity, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("update ReminderCheckpoint r set r.processedUntil = :processedUntil where r.id = :id")
+    int updateProcessedUntil(Long id, Instant processedUntil);
+}
@@ -0,0 +1,107 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.repository.CategoryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of category references, keyed by guid and by name. Entries only hold the identifying
+ * columns, so callers always get a fresh detached {@link CategoryEntity} that is safe to use as an association.
+ * {@link CategoryService} invalidates entries on every change; the expiry bounds staleness between app instances.
+ */
+@Component
+public class CategoryCache {
+
+    private static final long MAXIMUM_SIZE = 1_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<String, CategoryReference> categoriesByGuid;
+    private final Cache<String, String> guidsByName;
+
+    public CategoryCache(CategoryRepository categoryRepository){
+        this.categoryRepository = categoryRepository;
+        this.categoriesByGuid = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .recordStats()
+                .build();
+        this.guidsByName = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CategoryEntity> findByGuid(String guid){
+        CategoryReference reference = this.categoriesByGuid.get(guid,
+                key -> this.categoryRepository.findByGuid(key).map(CategoryReference::of).orElse(null));
+        return Optional.ofNullable(reference).map(CategoryReference::toEntity);
+    }
+
+    public Optional<String> findGuidByName(String name){
+        return Optional.ofNullable(this.guidsByName.get(name,
+                key -> this.categoryRepository.findByName(key).map(CategoryEntity::getGuid).orElse(null)));
+    }
+
+    /**
+     * Evicts the entries right away and, when called inside a transaction, once more after commit so that a
+     * concurrent miss cannot re-cache the pre-commit row.
+     */
+    public void invalidate(String guid, String name){
+        this.evict(guid, name);
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(guid, name);
+                }
+            });
+        }
+    }
+
+    private void evict(String guid, String name){
+        if(guid != null){
+            this.categoriesByGuid.invalidate(guid);
+        }
+        if(name != null){
+            this.guidsByName.invalidate(name);
+        }
+    }
+
+    public CacheStats guidStats(){
+        return this.categoriesByGuid.stats();
+    }
+
+    public CacheStats nameStats(){
+        return this.guidsByName.stats();
+    }
+
+    /**
+     * The version is only kept so that Hibernate sees the detached entity as persistent; associations never write it.
+     */
+    private record CategoryReference(Long id, String guid, String name, Long version) {
+
+        static CategoryReference of(CategoryEntity categoryEntity){
+            return new CategoryReference(categoryEntity.getId(), categoryEntity.getGuid(), categoryEntity.getName(),
+                    categoryEntity.getVersion());
+        }
+
+        CategoryEntity toEntity(){
+            CategoryEntity categoryEntity = new CategoryEntity();
+            categoryEntity.setId(id);
+            categoryEntity.setGuid(guid);
+            categoryEntity.setName(name);
+            categoryEntity.setVersion(version);
+            return categoryEntity;
+        }
+    }
+}
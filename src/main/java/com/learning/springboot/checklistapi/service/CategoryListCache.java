@@ -0,0 +1,116 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.springboot.checklistapi.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the category list already serialized to JSON, together with a strong ETag derived from its bytes.
+ * {@link CategoryService} bumps the version on every mutation and the snapshot is rebuilt on the next read.
+ * Mutations made by other app instances only move the shared change version, so a snapshot older than
+ * {@code checklist.categories.snapshot-ttl} is checked against it (one primary key read) and rebuilt when it moved.
+ */
+@Slf4j
+@Component
+public class CategoryListCache {
+
+    private final CategoryRepository categoryRepository;
+    private final ChangeVersionService changeVersionService;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration ttl;
+    private final AtomicLong version = new AtomicLong();
+    private volatile CachedSnapshot cached;
+
+    @Autowired
+    public CategoryListCache(CategoryRepository categoryRepository, ChangeVersionService changeVersionService,
+                             ObjectMapper objectMapper,
+                             @Value("${checklist.categories.snapshot-ttl:5s}") Duration ttl){
+        this(categoryRepository, changeVersionService, objectMapper, Clock.systemUTC(), ttl);
+    }
+
+    CategoryListCache(CategoryRepository categoryRepository, ChangeVersionService changeVersionService,
+                      ObjectMapper objectMapper, Clock clock, Duration ttl){
+        this.categoryRepository = categoryRepository;
+        this.changeVersionService = changeVersionService;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.ttl = ttl;
+    }
+
+    public Snapshot getSnapshot(){
+        CachedSnapshot current = this.cached;
+        if(this.isFresh(current, this.version.get())){
+            return current.snapshot();
+        }
+        synchronized (this){
+            current = this.cached;
+            long currentVersion = this.version.get();
+            if(this.isFresh(current, currentVersion)){
+                return current.snapshot();
+            }
+            // Read before the rows, so the snapshot is never older than the change version it is checked against
+            long changeVersion = this.changeVersionService.currentChangeVersion();
+            Instant now = this.clock.instant();
+            if(current != null && current.snapshot().version() == currentVersion
+                    && current.changeVersion() == changeVersion){
+                current = new CachedSnapshot(current.snapshot(), changeVersion, now);
+            } else {
+                current = new CachedSnapshot(this.buildSnapshot(currentVersion), changeVersion, now);
+            }
+            this.cached = current;
+            return current.snapshot();
+        }
+    }
+
+    /**
+     * Bumps the version right away and, when called inside a transaction, once more after commit so that a snapshot
+     * rebuilt from pre-commit rows is not kept.
+     */
+    public void invalidate(){
+        this.version.incrementAndGet();
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private boolean isFresh(CachedSnapshot current, long currentVersion){
+        return current != null && current.snapshot().version() == currentVersion
+                && this.clock.instant().isBefore(current.checkedAt().plus(this.ttl));
+    }
+
+    private Snapshot buildSnapshot(long snapshotVersion){
+        List<CategoryDTO> categories = this.categoryRepository.findAllDTOs();
+        try {
+            byte[] json = this.objectMapper.writeValueAsBytes(categories);
+            log.debug("Rebuilt category list snapshot [ version = {}, size = {} ]", snapshotVersion, categories.size());
+            return new Snapshot(snapshotVersion, json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Snapshot(long version, byte[] json, String etag) {}
+
+    private record CachedSnapshot(Snapshot snapshot, long changeVersion, Instant checkedAt) {}
+}
@@ -1,57 +1,101 @@
 package com.learning.springboot.checklistapi.service;
 
+import com.learning.springboot.checklistapi.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.dto.ChangeEventDTO;
 import com.learning.springboot.checklistapi.entity.CategoryEntity;
-import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.entity.GuidGenerator;
+import com.learning.springboot.checklistapi.exception.PreconditionFailedException;
 import com.learning.springboot.checklistapi.exception.ResourceNotFoundException;
 import com.learning.springboot.checklistapi.exception.ValidationException;
 import com.learning.springboot.checklistapi.repository.CategoryRepository;
 import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
-import java.util.UUID;
 
 @Slf4j
 @Service
+@Timed("checklist.service")
 public class CategoryService {
 
-    private final ChecklistItemRepository checklistItemRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+    private final CategoryListCache categoryListCache;
+    private final ChangeVersionService changeVersionService;
+    private final CategoryStatsService categoryStatsService;
+    private final ChangeFeedService changeFeedService;
+    private final ChecklistItemRepository checklistItemRepository;
     private static final String CATEGORY_NOT_FOUND = "Category not found.";
 
-    public CategoryService(CategoryRepository categoryRepository, ChecklistItemRepository checklistItemRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryCache categoryCache,
+                           CategoryListCache categoryListCache, ChangeVersionService changeVersionService,
+                           CategoryStatsService categoryStatsService, ChangeFeedService changeFeedService,
+                           ChecklistItemRepository checklistItemRepository) {
         this.categoryRepository = categoryRepository;
+        this.categoryCache = categoryCache;
+        this.categoryListCache = categoryListCache;
+        this.changeVersionService = changeVersionService;
+        this.categoryStatsService = categoryStatsService;
+        this.changeFeedService = changeFeedService;
         this.checklistItemRepository = checklistItemRepository;
     }
 
+    @Transactional
     public CategoryEntity addNewCategory(String name) {
         if (!StringUtils.hasText(name)) {
             throw new IllegalArgumentException("Category name cannot be empty or null");
         }
         CategoryEntity newCategory = new CategoryEntity();
-        newCategory.setGuid(UUID.randomUUID().toString());
+        newCategory.setGuid(GuidGenerator.newGuid());
         newCategory.setName(name);
 
         log.debug("Adding new Category with name [name = {}]", name);
-        return this.categoryRepository.save(newCategory);
+        CategoryEntity savedCategory = this.categoryRepository.save(newCategory);
+        this.categoryStatsService.categoryCreated(savedCategory.getId());
+        this.categoryListCache.invalidate();
+        this.changeVersionService.bumpChangeVersion();
+        this.changeFeedService.publish(ChangeEventDTO.category(ChangeEventDTO.Type.CREATED, CategoryDTO.toDTO(savedCategory)));
+        return savedCategory;
     }
 
-    public CategoryEntity updateCategory(String guid, String name){
+    /**
+     * The rename is a versioned UPDATE, so it fails if the category changed since it was read, and with an expected
+     * version (If-Match) it fails before writing when the client's copy is stale.
+     */
+    @Transactional
+    public CategoryEntity updateCategory(String guid, String name, Long expectedVersion){
         if(!StringUtils.hasText(guid) || !StringUtils.hasText(name)){
             throw new IllegalArgumentException("Invalid parameters provided to update a category");
         }
             CategoryEntity retrievedCategory = this.categoryRepository.findByGuid(guid).orElseThrow(
                     () -> new ResourceNotFoundException(CATEGORY_NOT_FOUND)
             );
+        if(expectedVersion != null && !expectedVersion.equals(retrievedCategory.getVersion())){
+            throw new PreconditionFailedException("Category was modified, its version does not match.");
+        }
+        String previousName = retrievedCategory.getName();
         retrievedCategory.setName(name);
         log.debug("Updating category [ guid = {}, newName = {}", guid, name);
 
-        return this.categoryRepository.save(retrievedCategory);
+        CategoryEntity updatedCategory = this.categoryRepository.save(retrievedCategory);
+        this.categoryCache.invalidate(guid, previousName);
+        this.categoryListCache.invalidate();
+        // Items embed the category name, so delta syncs must return them again; they are locked before the change
+        // version, like every other checklist item write
+        boolean hasChecklistItems = !this.checklistItemRepository.findIdsWithLockByCategoryId(retrievedCategory.getId()).isEmpty();
+        long changeSequence = this.changeVersionService.bumpChangeVersion();
+        if(hasChecklistItems){
+            this.checklistItemRepository.updateChangeSequenceByCategoryId(retrievedCategory.getId(), changeSequence);
+        }
+        this.changeFeedService.publish(ChangeEventDTO.category(ChangeEventDTO.Type.UPDATED, CategoryDTO.toDTO(retrievedCategory)));
+        return updatedCategory;
     }
 
+    @Transactional
     public void deleteCategory(String guid){
         validatingGuid(guid);
 
@@ -59,12 +103,16 @@ public class CategoryService {
                 () -> new ResourceNotFoundException(CATEGORY_NOT_FOUND)
         );
 
-        List<ChecklistItemEntity> checklistItems = this.checklistItemRepository.findByCategoryGuid(guid);
-        if(!CollectionUtils.isEmpty(checklistItems)){
+        if(this.categoryStatsService.hasChecklistItems(retrievedCategory.getId())){
             throw new ValidationException("It is not possible to delete given category as it has been used by checklist items");
         }
         log.debug("Deleting category [guid = {} ]", guid);
         this.categoryRepository.delete(retrievedCategory);
+        this.categoryStatsService.categoryDeleted(retrievedCategory.getId());
+        this.categoryCache.invalidate(guid, retrievedCategory.getName());
+        this.categoryListCache.invalidate();
+        this.changeVersionService.bumpChangeVersion();
+        this.changeFeedService.publish(ChangeEventDTO.categoryDeleted(guid));
     }
 
     public List<CategoryEntity> findAllCategories(){
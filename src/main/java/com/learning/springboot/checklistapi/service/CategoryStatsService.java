@@ -0,0 +1,207 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.CategoryStatsDTO;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.entity.CategoryStatsEntity;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.repository.CategoryRepository;
+import com.learning.springboot.checklistapi.repository.CategoryStatsDrift;
+import com.learning.springboot.checklistapi.repository.CategoryStatsRepository;
+import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-category item counters (total, completed, overdue) kept in the category_stats table. Checklist item mutations
+ * adjust them incrementally inside their own transaction, so reads cost one row per category; bulk changes count
+ * the items they change before and after, and add the difference. Counters are only ever changed by increments, in
+ * category id order. The periodic reconciliation adds the drift between the counters and the checklist item table,
+ * which repairs any drift and moves items into the overdue counter once their deadline has passed.
+ */
+@Slf4j
+@Service
+@Timed("checklist.service")
+public class CategoryStatsService {
+
+    private final CategoryStatsRepository categoryStatsRepository;
+    private final CategoryRepository categoryRepository;
+    private final ChecklistItemRepository checklistItemRepository;
+
+    public CategoryStatsService(CategoryStatsRepository categoryStatsRepository, CategoryRepository categoryRepository,
+                                ChecklistItemRepository checklistItemRepository){
+        this.categoryStatsRepository = categoryStatsRepository;
+        this.categoryRepository = categoryRepository;
+        this.checklistItemRepository = checklistItemRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryStatsDTO> findAllCategoryStats(){
+        return this.categoryStatsRepository.findAllStats();
+    }
+
+    /**
+     * Answers from the counters when they report items and confirms an empty category with an index lookup, so
+     * that a drifted counter can never let a category with items (and, through the cascade, its items) be deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean hasChecklistItems(Long categoryId){
+        boolean countedItems = this.categoryStatsRepository.findById(categoryId)
+                .map(stats -> stats.getTotal() > 0)
+                .orElse(false);
+        return countedItems || this.checklistItemRepository.existsByCategoryId(categoryId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void categoryCreated(Long categoryId){
+        this.categoryStatsRepository.save(new CategoryStatsEntity(categoryId, 0L, 0L, 0L));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void categoryDeleted(Long categoryId){
+        if(this.categoryStatsRepository.existsById(categoryId)){
+            this.categoryStatsRepository.deleteById(categoryId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemsAdded(Collection<ItemState> items){
+        this.applyDeltas(items, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemRemoved(ItemState item){
+        this.applyDeltas(List.of(item), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemChanged(ItemState before, ItemState after){
+        LocalDate today = LocalDate.now();
+        Map<Long, long[]> deltas = new TreeMap<>();
+        before.addTo(deltas, -1, today);
+        after.addTo(deltas, 1, today);
+        this.applyDeltas(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void completedStatusChanged(String guid, boolean isCompleted){
+        this.categoryStatsRepository.applyCompletedStatusChange(guid, isCompleted ? 1 : -1, LocalDate.now());
+    }
+
+    /**
+     * Counts what the given items contribute to the counters, before a bulk change that is then reported with
+     * {@link #checklistItemsChanged(Collection, List)}. The caller must hold the items' locks.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CategoryStatsEntity> countChecklistItems(Collection<String> guids){
+        return this.categoryStatsRepository.countByChecklistItemGuids(guids, LocalDate.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void checklistItemsChanged(Collection<String> guids, List<CategoryStatsEntity> countedBefore){
+        Map<Long, long[]> deltas = new TreeMap<>();
+        addCounts(deltas, this.countChecklistItems(guids), 1);
+        addCounts(deltas, countedBefore, -1);
+        this.applyDeltas(deltas);
+    }
+
+    /**
+     * Adds the drift of every category to its counters. Runs at startup, to seed counters for existing data, and then
+     * every hour, which also picks up items that became overdue since the last run. The counters are locked first,
+     * so runs on several app instances take turns and each one counts after the previous one committed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${checklist.stats.reconcile-cron:0 5 * * * *}")
+    @Transactional
+    public void reconcile(){
+        this.categoryStatsRepository.findAllCategoryIdsWithLock();
+        List<Long> categoryIds = this.categoryRepository.findAll().stream().map(CategoryEntity::getId).toList();
+        log.debug("Reconciling category stats [ categories = {} ]", categoryIds.size());
+        if(categoryIds.isEmpty()){
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Set<Long> missing = new TreeSet<>(categoryIds);
+        for(CategoryStatsDrift drift : this.categoryStatsRepository.findDriftByCategoryIds(categoryIds, today)){
+            missing.remove(drift.categoryId());
+            if(!drift.isZero()){
+                log.info("Repairing category stats [ categoryId = {}, total += {}, completed += {}, overdue += {} ]",
+                        drift.categoryId(), drift.total(), drift.completed(), drift.overdue());
+                this.categoryStatsRepository.addToCounters(drift.categoryId(), drift.total(), drift.completed(),
+                        drift.overdue());
+            }
+        }
+        if(!missing.isEmpty()){
+            Map<Long, CategoryStatsEntity> counted = this.categoryStatsRepository.countByCategoryIds(missing, today)
+                    .stream()
+                    .collect(Collectors.toMap(CategoryStatsEntity::getCategoryId, Function.identity()));
+            missing.forEach(categoryId -> this.categoryStatsRepository.save(
+                    counted.getOrDefault(categoryId, new CategoryStatsEntity(categoryId, 0L, 0L, 0L))));
+        }
+    }
+
+    private void applyDeltas(Collection<ItemState> items, int sign){
+        LocalDate today = LocalDate.now();
+        Map<Long, long[]> deltas = new TreeMap<>();
+        items.forEach(item -> item.addTo(deltas, sign, today));
+        this.applyDeltas(deltas);
+    }
+
+    private static void addCounts(Map<Long, long[]> deltas, List<CategoryStatsEntity> counts, int sign){
+        for(CategoryStatsEntity count : counts){
+            long[] delta = deltas.computeIfAbsent(count.getCategoryId(), id -> new long[3]);
+            delta[0] += sign * count.getTotal();
+            delta[1] += sign * count.getCompleted();
+            delta[2] += sign * count.getOverdue();
+        }
+    }
+
+    /**
+     * Callers pass sorted maps, so that concurrent transactions lock the counters in the same order.
+     */
+    private void applyDeltas(Map<Long, long[]> deltas){
+        deltas.forEach((categoryId, delta) -> {
+            if(delta[0] != 0 || delta[1] != 0 || delta[2] != 0){
+                this.categoryStatsRepository.addToCounters(categoryId, delta[0], delta[1], delta[2]);
+            }
+        });
+    }
+
+    /**
+     * The part of a checklist item that the counters depend on.
+     */
+    public record ItemState(Long categoryId, boolean isCompleted, LocalDate deadline) {
+
+        public static ItemState of(ChecklistItemEntity checklistItemEntity){
+            return new ItemState(
+                    checklistItemEntity.getCategory() != null ? checklistItemEntity.getCategory().getId() : null,
+                    Boolean.TRUE.equals(checklistItemEntity.getIsCompleted()),
+                    checklistItemEntity.getDeadline());
+        }
+
+        private void addTo(Map<Long, long[]> deltas, int sign, LocalDate today){
+            if(categoryId == null){
+                return;
+            }
+            long[] delta = deltas.computeIfAbsent(categoryId, id -> new long[3]);
+            delta[0] += sign;
+            delta[1] += isCompleted ? sign : 0;
+            delta[2] += !isCompleted && deadline != null && deadline.isBefore(today) ? sign : 0;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.springboot.checklistapi.dto.ChangeEventDTO;
+import com.learning.springboot.checklistapi.dto.DeadlineEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events feed of committed checklist item and category changes, plus deadline reminders. Each event is
+ * serialized once and the same frame is queued to every subscriber. A subscriber's queue is bounded by
+ * {@code checklist.events.buffer-size}. When a queue overflows, the {@code checklist.events.overflow} policy
+ * decides what happens: DROP replaces the backlog with a single RESYNC event, DISCONNECT closes the stream and
+ * leaves reconnecting to the client. Queues are written out on virtual threads, so a slow client only holds up its
+ * own stream. Idle streams get a heartbeat comment every {@code checklist.events.heartbeat-interval}.
+ */
+@Slf4j
+@Service
+public class ChangeFeedService implements DeadlineEventSink {
+
+    static final String DEADLINE_EVENT = "DEADLINE";
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    /**
+     * One permit per subscriber slot, taken before subscribing and given back when the subscriber is removed.
+     */
+    private final Semaphore subscriberSlots;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+    private final Counter droppedEvents;
+
+    @Autowired
+    public ChangeFeedService(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${checklist.events.buffer-size:256}") int bufferSize,
+                             @Value("${checklist.events.overflow:DROP}") OverflowPolicy overflowPolicy,
+                             @Value("${checklist.events.max-subscribers:10000}") int maxSubscribers,
+                             @Value("${checklist.events.timeout:30m}") Duration timeout){
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.subscriberSlots = new Semaphore(maxSubscribers);
+        this.timeout = timeout;
+        meterRegistry.gaugeCollectionSize("checklist.events.subscribers", Tags.empty(), this.subscribers);
+        this.droppedEvents = Counter.builder("checklist.events.overflows")
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(){
+        return this.subscribe(new SseEmitter(this.timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter){
+        if(!this.subscriberSlots.tryAcquire()){
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many change feed subscribers");
+        }
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(this.bufferSize));
+        // Added before the callbacks are registered, so that whichever removes it first gives the slot back
+        this.subscribers.add(subscriber);
+        emitter.onCompletion(() -> this.unsubscribe(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        log.debug("Change feed subscribed [ subscribers = {} ]", this.subscribers.size());
+        subscriber.offer(this.heartbeat);
+        return emitter;
+    }
+
+    /**
+     * Queues the event for every subscriber once the surrounding transaction commits, and drops it on rollback.
+     */
+    public void publish(ChangeEventDTO event){
+        TransactionCallbacks.afterCommit(() -> this.broadcast(event.type().name(), event));
+    }
+
+    @Override
+    public void accept(DeadlineEventDTO event){
+        this.broadcast(DEADLINE_EVENT, event);
+    }
+
+    @Scheduled(fixedRateString = "${checklist.events.heartbeat-interval:PT15S}")
+    public void sendHeartbeats(){
+        this.subscribers.forEach(subscriber -> {
+            if(subscriber.queue.isEmpty()){
+                subscriber.offer(this.heartbeat);
+            }
+        });
+    }
+
+    public int subscriberCount(){
+        return this.subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        this.subscribers.forEach(Subscriber::close);
+        this.senders.shutdown();
+    }
+
+    private void unsubscribe(Subscriber subscriber){
+        if(this.subscribers.remove(subscriber)){
+            this.subscriberSlots.release();
+        }
+    }
+
+    private void broadcast(String name, Object event){
+        if(this.subscribers.isEmpty()){
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = this.frame(name, event);
+        this.subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(String name, Object event){
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(this.sequence.incrementAndGet()))
+                    .name(name)
+                    .data(this.objectMapper.writeValueAsString(event), MediaType.TEXT_PLAIN)
+                    .build();
+        } catch (JsonProcessingException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public enum OverflowPolicy {
+        DROP,
+        DISCONNECT
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue){
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame){
+            if(this.closed){
+                return;
+            }
+            if(!this.queue.offer(frame)){
+                droppedEvents.increment();
+                if(overflowPolicy == OverflowPolicy.DISCONNECT){
+                    log.debug("Change feed subscriber too slow, disconnecting");
+                    this.close();
+                    return;
+                }
+                this.queue.clear();
+                this.queue.offer(frame(ChangeEventDTO.Type.RESYNC.name(), ChangeEventDTO.resync()));
+            }
+            if(this.sending.compareAndSet(false, true)){
+                senders.execute(this::send);
+            }
+        }
+
+        /**
+         * Writes the queue out until it is empty. Only one send loop runs per subscriber, and the flag is re-checked
+         * after clearing it so that a frame queued in between is not left behind.
+         */
+        private void send(){
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while(!this.closed && (frame = this.queue.poll()) != null){
+                    try {
+                        this.emitter.send(frame);
+                    } catch (IOException | IllegalStateException e){
+                        log.debug("Change feed subscriber gone [ cause = {} ]", e.getMessage());
+                        this.close();
+                    }
+                }
+                this.sending.set(false);
+            } while(!this.closed && !this.queue.isEmpty() && this.sending.compareAndSet(false, true));
+        }
+
+        void close(){
+            this.closed = true;
+            this.queue.clear();
+            unsubscribe(this);
+            try {
+                this.emitter.complete();
+            } catch (IllegalStateException e){
+                log.trace("Change feed emitter already completed");
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.entity.ChangeVersionEntity;
+import com.learning.springboot.checklistapi.repository.ChangeVersionRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Database-wide counter of checklist and category changes, shared by every app instance. It is bumped inside each
+ * mutating transaction and read by conditional GETs, which can answer 304 after a single primary key lookup.
+ */
+@Slf4j
+@Service
+@Timed("checklist.service")
+public class ChangeVersionService {
+
+    static final Long CHANGE_VERSION_ID = 1L;
+
+    private final ChangeVersionRepository changeVersionRepository;
+
+    public ChangeVersionService(ChangeVersionRepository changeVersionRepository){
+        this.changeVersionRepository = changeVersionRepository;
+    }
+
+    /**
+     * Seeds the counter with the current time so that ETags handed out before a database reset never match again.
+     * Runs as soon as the service is created, before any runner or request can bump it.
+     */
+    @PostConstruct
+    public void initializeChangeVersion(){
+        if(this.changeVersionRepository.existsById(CHANGE_VERSION_ID)){
+            return;
+        }
+        try {
+            this.changeVersionRepository.save(new ChangeVersionEntity(CHANGE_VERSION_ID, System.currentTimeMillis()));
+        } catch (DataIntegrityViolationException e){
+            log.debug("Change version already initialized by another instance");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long currentChangeVersion(){
+        return this.changeVersionRepository.findChangeVersion(CHANGE_VERSION_ID).orElse(0L);
+    }
+
+    /**
+     * Derived from the shared counter only, so every app instance hands out the same ETag for the same data. Callers
+     * flush buffered completed status changes first (see {@link CompletedStatusBuffer}).
+     */
+    public String currentETag(){
+        return "\"" + this.currentChangeVersion() + "\"";
+    }
+
+    /**
+     * Returns the new version, which doubles as the change sequence of the transaction's writes. The counter row
+     * stays locked until the transaction ends, so versions become visible in the order they were handed out.
+     * Callers write existing checklist item rows first and stamp them afterwards, keeping a single lock order; inserts
+     * take the version first, since the rows they create cannot be locked by anyone else.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long bumpChangeVersion(){
+        if(this.changeVersionRepository.incrementChangeVersion(CHANGE_VERSION_ID) == 0){
+            throw new IllegalStateException("Change version is not initialized");
+        }
+        return this.changeVersionRepository.findChangeVersion(CHANGE_VERSION_ID).orElseThrow();
+    }
+}
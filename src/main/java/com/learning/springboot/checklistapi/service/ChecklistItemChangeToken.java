@@ -0,0 +1,46 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of a delta sync: the change sequence of the last change handed out, whether it was a deletion, and the id
+ * of its checklist item or tombstone. Within a change sequence, updated items come before deletions. The issue time
+ * tells whether the tombstones the client still needs may have been purged. Clients only see it as an opaque
+ * url-safe token.
+ */
+public record ChecklistItemChangeToken(long changeSequence, boolean deleted, long id, Instant issuedAt) {
+
+    private static final String SEPARATOR = "|";
+    private static final String UPDATED = "u";
+    private static final String DELETED = "d";
+
+    /**
+     * Before every change, so a sync starting from it returns all checklist items.
+     */
+    public static ChecklistItemChangeToken start(Instant issuedAt){
+        return new ChecklistItemChangeToken(-1, false, 0, issuedAt);
+    }
+
+    public String encode(){
+        String raw = changeSequence + SEPARATOR + (deleted ? DELETED : UPDATED) + SEPARATOR + id + SEPARATOR
+                + issuedAt.getEpochSecond();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChecklistItemChangeToken decode(String token){
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if(parts.length != 4 || !(UPDATED.equals(parts[1]) || DELETED.equals(parts[1]))){
+                throw new IllegalArgumentException("Malformed change token");
+            }
+            return new ChecklistItemChangeToken(Long.parseLong(parts[0]), DELETED.equals(parts[1]),
+                    Long.parseLong(parts[2]), Instant.ofEpochSecond(Long.parseLong(parts[3])));
+        } catch (IllegalArgumentException e){
+            throw new ValidationException("Invalid checklist items change token");
+        }
+    }
+}
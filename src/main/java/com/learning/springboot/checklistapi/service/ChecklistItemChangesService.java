@@ -0,0 +1,154 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemChangesDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.entity.ChecklistItemTombstoneEntity;
+import com.learning.springboot.checklistapi.exception.ChangeTokenExpiredException;
+import com.learning.springboot.checklistapi.exception.ValidationException;
+import com.learning.springboot.checklistapi.repository.ChecklistItemChange;
+import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import com.learning.springboot.checklistapi.repository.ChecklistItemTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync of checklist items. Every write stamps the rows it touches with the change version bumped by its
+ * transaction (see {@link ChangeVersionService#bumpChangeVersion()}), and deletions leave a tombstone with the same
+ * sequence, so a client only pulls what changed after its last token, through the change sequence indexes.
+ * A sync without a token gets no deletions, and a token only gets deletions made since the first page of the sync
+ * that issued it, less {@link #PURGE_GRACE}. Tokens are valid for {@code checklist.changes.tombstone-retention}
+ * from that first page; older tokens are answered with 410 and the client has to sync from scratch, so tombstones are
+ * purged once no accepted token can need them. Buffered completed status changes show up once they are flushed.
+ */
+@Slf4j
+@Service
+@Timed("checklist.service")
+public class ChecklistItemChangesService {
+
+    public static final int DEFAULT_CHANGES_LIMIT = 200;
+    public static final int MAX_CHANGES_LIMIT = 1000;
+    /**
+     * Covers transactions still open when a token is issued, whose tombstones carry an earlier deletion time.
+     */
+    static final Duration PURGE_GRACE = Duration.ofHours(1);
+
+    private final ChecklistItemRepository checklistItemRepository;
+    private final ChecklistItemTombstoneRepository checklistItemTombstoneRepository;
+    private final CompletedStatusBuffer completedStatusBuffer;
+    private final Clock clock;
+    private final Duration tombstoneRetention;
+
+    @Autowired
+    public ChecklistItemChangesService(ChecklistItemRepository checklistItemRepository,
+                                       ChecklistItemTombstoneRepository checklistItemTombstoneRepository,
+                                       CompletedStatusBuffer completedStatusBuffer,
+                                       @Value("${checklist.changes.tombstone-retention:30d}") Duration tombstoneRetention){
+        this(checklistItemRepository, checklistItemTombstoneRepository, completedStatusBuffer,
+                Clock.systemUTC(), tombstoneRetention);
+    }
+
+    ChecklistItemChangesService(ChecklistItemRepository checklistItemRepository,
+                                ChecklistItemTombstoneRepository checklistItemTombstoneRepository,
+                                CompletedStatusBuffer completedStatusBuffer, Clock clock, Duration tombstoneRetention){
+        this.checklistItemRepository = checklistItemRepository;
+        this.checklistItemTombstoneRepository = checklistItemTombstoneRepository;
+        this.completedStatusBuffer = completedStatusBuffer;
+        this.clock = clock;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeChangeSequence(){
+        int initialized = this.checklistItemRepository.initializeChangeSequence();
+        if(initialized > 0){
+            log.info("Initialized checklist item change sequences [ items = {} ]", initialized);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemDeleted(String guid, long changeSequence){
+        this.checklistItemTombstoneRepository.save(new ChecklistItemTombstoneEntity(guid, changeSequence, this.clock.instant()));
+    }
+
+    /**
+     * Returns up to {@code limit} changes after the given token, or every checklist item when there is none, ordered
+     * by change sequence. Items and tombstones are read through their own index and merged.
+     */
+    @Transactional(readOnly = true)
+    public ChecklistItemChangesDTO findChanges(ChecklistItemChangeToken since, Integer limit){
+        int changesLimit = limit != null ? limit : DEFAULT_CHANGES_LIMIT;
+        if(changesLimit < 1 || changesLimit > MAX_CHANGES_LIMIT){
+            throw new ValidationException("Changes limit must be between 1 and " + MAX_CHANGES_LIMIT);
+        }
+        Instant now = this.clock.instant();
+        if(since != null && since.issuedAt().isBefore(this.oldestAcceptedIssueTime(now))){
+            throw new ChangeTokenExpiredException("Change token expired, checklist items must be synced from scratch");
+        }
+
+        ChecklistItemChangeToken position = since != null ? since : ChecklistItemChangeToken.start(now);
+        Instant issuedAt = position.issuedAt();
+        PageRequest page = PageRequest.ofSize(changesLimit + 1);
+        List<ChecklistItemChange> changedItems = this.checklistItemRepository.findChangesAfter(position.changeSequence(),
+                position.deleted() ? Long.MAX_VALUE : position.id(), page);
+        // Items deleted before a sync from scratch started were never sent to the client
+        List<ChecklistItemTombstoneEntity> tombstones = since == null ? List.of()
+                : this.checklistItemTombstoneRepository.findChangesAfter(position.changeSequence(),
+                        position.deleted() ? position.id() : 0L, issuedAt.minus(PURGE_GRACE), page);
+
+        List<ChecklistItemDTO> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        int itemIndex = 0;
+        int tombstoneIndex = 0;
+        while(changed.size() + deleted.size() < changesLimit
+                && (itemIndex < changedItems.size() || tombstoneIndex < tombstones.size())){
+            if(tombstoneIndex == tombstones.size() || (itemIndex < changedItems.size()
+                    && changedItems.get(itemIndex).changeSequence() <= tombstones.get(tombstoneIndex).getChangeSequence())){
+                ChecklistItemChange change = changedItems.get(itemIndex++);
+                changed.add(this.completedStatusBuffer.withPendingStatus(change.checklistItem()));
+                position = new ChecklistItemChangeToken(change.changeSequence(), false, change.checklistItem().id(), issuedAt);
+            } else {
+                ChecklistItemTombstoneEntity tombstone = tombstones.get(tombstoneIndex++);
+                deleted.add(tombstone.getGuid());
+                position = new ChecklistItemChangeToken(tombstone.getChangeSequence(), true, tombstone.getId(), issuedAt);
+            }
+        }
+        // A client still catching up keeps the issue time of its sync; once caught up it has seen every tombstone
+        boolean hasMore = itemIndex < changedItems.size() || tombstoneIndex < tombstones.size();
+        ChecklistItemChangeToken next = new ChecklistItemChangeToken(position.changeSequence(), position.deleted(),
+                position.id(), hasMore ? issuedAt : now);
+        return new ChecklistItemChangesDTO(changed, deleted, next.encode(), hasMore);
+    }
+
+    /**
+     * Drops the tombstones that no accepted token reads anymore, which are the ones older than the oldest accepted
+     * issue time, minus the grace every read applies.
+     */
+    @Transactional
+    @Scheduled(cron = "${checklist.changes.purge-cron:0 15 3 * * *}")
+    public int purgeTombstones(){
+        int purged = this.checklistItemTombstoneRepository.deleteByDeletedAtBefore(
+                this.oldestAcceptedIssueTime(this.clock.instant()).minus(PURGE_GRACE));
+        log.info("Purged checklist item tombstones [ purged = {} ]", purged);
+        return purged;
+    }
+
+    private Instant oldestAcceptedIssueTime(Instant now){
+        return now.minus(this.tombstoneRetention);
+    }
+}
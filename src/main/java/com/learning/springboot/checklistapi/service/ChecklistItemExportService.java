@@ -0,0 +1,63 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@Timed("checklist.service")
+public class ChecklistItemExportService {
+
+    static final int CLEAR_INTERVAL = 1000;
+
+    private final ChecklistItemRepository checklistItemRepository;
+    private final EntityManager entityManager;
+    private final CompletedStatusBuffer completedStatusBuffer;
+
+    public ChecklistItemExportService(ChecklistItemRepository checklistItemRepository, EntityManager entityManager,
+                                      CompletedStatusBuffer completedStatusBuffer){
+        this.checklistItemRepository = checklistItemRepository;
+        this.entityManager = entityManager;
+        this.completedStatusBuffer = completedStatusBuffer;
+    }
+
+    /**
+     * Walks the whole checklist item table through a forward-only cursor, handing each entity to the sink as soon as
+     * it is read, together with its completed status including buffered changes. The persistence context is cleared
+     * every {@value #CLEAR_INTERVAL} rows so memory does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public long exportChecklistItems(ChecklistItemSink sink){
+        long count = 0;
+        try(Stream<ChecklistItemEntity> checklistItems = this.checklistItemRepository.streamAll()){
+            Iterator<ChecklistItemEntity> iterator = checklistItems.iterator();
+            while(iterator.hasNext()){
+                ChecklistItemEntity checklistItem = iterator.next();
+                sink.accept(checklistItem, this.completedStatusBuffer.isCompleted(checklistItem.getGuid(),
+                        checklistItem.getIsCompleted()));
+                if(++count % CLEAR_INTERVAL == 0){
+                    this.entityManager.clear();
+                }
+            }
+        }
+        log.debug("Exported checklist items [count = {}]", count);
+        return count;
+    }
+
+    /**
+     * Receives exported entities, which are only valid until the persistence context is next cleared.
+     */
+    @FunctionalInterface
+    public interface ChecklistItemSink {
+
+        void accept(ChecklistItemEntity checklistItem, Boolean isCompleted);
+    }
+}
@@ -0,0 +1,377 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.repository.ChecklistItemChange;
+import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted trigram index over checklist item descriptions. Each trigram of the normalized description
+ * (lower case, without accents, single spaced) maps to a sorted {@code long[]} of item ids, so a lookup only
+ * touches the posting lists of the query's trigrams; descriptions themselves are not kept. Built at startup and kept
+ * current by {@link ChecklistItemService}, which applies its changes after commit, passing the previous description
+ * so that only its trigrams are touched. Writes of other app instances are caught up every
+ * {@code checklist.search.catch-up-interval} through the change sequence, so they become searchable within that
+ * interval; items deleted elsewhere are dropped when a search no longer finds them in the database, which results
+ * are always loaded back from.
+ */
+@Slf4j
+@Component
+public class ChecklistItemSearchIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+    static final int CATCH_UP_BATCH_SIZE = 500;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ChecklistItemRepository checklistItemRepository;
+    private final ChangeVersionService changeVersionService;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, PostingList> postingsByTrigram = new HashMap<>();
+    /**
+     * Changes applied while a rebuild streams the table, replayed on the new postings; null when not rebuilding.
+     */
+    private List<Consumer<Map<Long, PostingList>>> pendingChanges;
+    /**
+     * Change sequence and id of the last item caught up; null until the index is built.
+     */
+    private Long caughtUpChangeSequence;
+    private Long caughtUpId;
+
+    public ChecklistItemSearchIndex(ChecklistItemRepository checklistItemRepository,
+                                    ChangeVersionService changeVersionService){
+        this.checklistItemRepository = checklistItemRepository;
+        this.changeVersionService = changeVersionService;
+    }
+
+    /**
+     * Reads the change version before the items, so that catching up from it covers every write the stream may have
+     * missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild(){
+        this.lock.writeLock().lock();
+        try {
+            this.pendingChanges = new ArrayList<>();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        long changeVersion = this.changeVersionService.currentChangeVersion();
+        Map<Long, PostingList> postings = new HashMap<>();
+        try(Stream<ChecklistItemDTO> checklistItems = this.checklistItemRepository.streamAllDTOs()){
+            checklistItems.forEach(item -> add(postings, item.id(), normalize(item.description())));
+        }
+        postings.values().forEach(PostingList::trim);
+
+        this.lock.writeLock().lock();
+        try {
+            this.pendingChanges.forEach(change -> change.accept(postings));
+            this.pendingChanges = null;
+            this.postingsByTrigram = postings;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+        this.caughtUpChangeSequence = changeVersion;
+        this.caughtUpId = Long.MAX_VALUE;
+        log.info("Built checklist item search index [ items = {}, trigrams = {} ]", this.size(), postings.size());
+    }
+
+    /**
+     * Reindexes every item written since the last run, by this or any other app instance. Items of this instance are
+     * indexed again, which leaves them unchanged.
+     */
+    @Scheduled(fixedDelayString = "${checklist.search.catch-up-interval:PT10S}")
+    @Transactional(readOnly = true)
+    public synchronized void catchUp(){
+        if(this.caughtUpChangeSequence == null){
+            return;
+        }
+        int caughtUp = 0;
+        List<ChecklistItemChange> changes;
+        do {
+            changes = this.checklistItemRepository.findChangesAfter(this.caughtUpChangeSequence, this.caughtUpId,
+                    PageRequest.ofSize(CATCH_UP_BATCH_SIZE));
+            if(changes.isEmpty()){
+                break;
+            }
+            List<ChecklistItemDTO> checklistItems = changes.stream().map(ChecklistItemChange::checklistItem).toList();
+            long[] ids = checklistItems.stream().mapToLong(ChecklistItemDTO::id).sorted().toArray();
+            this.apply(postings -> {
+                removeEverywhere(postings, ids);
+                checklistItems.forEach(item -> add(postings, item.id(), normalize(item.description())));
+            });
+            ChecklistItemChange last = changes.get(changes.size() - 1);
+            this.caughtUpChangeSequence = last.changeSequence();
+            this.caughtUpId = last.checklistItem().id();
+            caughtUp += changes.size();
+        } while(changes.size() == CATCH_UP_BATCH_SIZE);
+        if(caughtUp > 0){
+            log.debug("Caught up checklist item search index [ items = {} ]", caughtUp);
+        }
+    }
+
+    public void add(Long id, String description){
+        String normalizedDescription = normalize(description);
+        TransactionCallbacks.afterCommit(() -> this.apply(postings -> add(postings, id, normalizedDescription)));
+    }
+
+    public void update(Long id, String previousDescription, String description){
+        String previousNormalizedDescription = normalize(previousDescription);
+        String normalizedDescription = normalize(description);
+        TransactionCallbacks.afterCommit(() -> this.apply(postings -> {
+            remove(postings, id, previousNormalizedDescription);
+            add(postings, id, normalizedDescription);
+        }));
+    }
+
+    public void remove(Long id, String description){
+        String normalizedDescription = normalize(description);
+        TransactionCallbacks.afterCommit(() -> this.apply(postings -> remove(postings, id, normalizedDescription)));
+    }
+
+    /**
+     * Drops items whose description is not known, such as items deleted by another app instance. Looks the ids up in
+     * every posting list, so it is meant for the occasional stale id.
+     */
+    public void removeAll(Collection<Long> ids){
+        long[] sortedIds = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+        this.apply(postings -> removeEverywhere(postings, sortedIds));
+    }
+
+    /**
+     * Ranks items sharing at least half of the query's trigrams by number of shared trigrams, so descriptions holding
+     * every trigram of the query, which almost always contain it, come first; older items first on ties.
+     */
+    public List<Long> search(String query, int limit){
+        String normalizedQuery = normalize(query);
+        long[] queryTrigrams = trigrams(normalizedQuery);
+        if(queryTrigrams.length == 0){
+            return List.of();
+        }
+        int minimumHits = (queryTrigrams.length + 1) / 2;
+
+        List<Match> matches = new ArrayList<>();
+        this.lock.readLock().lock();
+        try {
+            List<PostingList> postings = new ArrayList<>(queryTrigrams.length);
+            for(long trigram : queryTrigrams){
+                PostingList postingList = this.postingsByTrigram.get(trigram);
+                if(postingList != null){
+                    postings.add(postingList);
+                }
+            }
+            if(postings.size() < minimumHits){
+                return List.of();
+            }
+
+            // k-way merge of the sorted posting lists, counting in how many of them each id appears
+            int[] positions = new int[postings.size()];
+            while(true){
+                long id = Long.MAX_VALUE;
+                for(int i = 0; i < positions.length; i++){
+                    PostingList postingList = postings.get(i);
+                    if(positions[i] < postingList.size && postingList.ids[positions[i]] < id){
+                        id = postingList.ids[positions[i]];
+                    }
+                }
+                if(id == Long.MAX_VALUE){
+                    break;
+                }
+                int hits = 0;
+                for(int i = 0; i < positions.length; i++){
+                    PostingList postingList = postings.get(i);
+                    if(positions[i] < postingList.size && postingList.ids[positions[i]] == id){
+                        hits++;
+                        positions[i]++;
+                    }
+                }
+                if(hits >= minimumHits){
+                    matches.add(new Match(id, hits));
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::hits).reversed()
+                        .thenComparingLong(Match::id))
+                .limit(limit)
+                .map(Match::id)
+                .toList();
+    }
+
+    /**
+     * Number of indexed items, counted across every posting list.
+     */
+    public long size(){
+        this.lock.readLock().lock();
+        try {
+            return this.postingsByTrigram.values().stream()
+                    .flatMapToLong(postingList -> Arrays.stream(postingList.ids, 0, postingList.size))
+                    .distinct()
+                    .count();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text){
+        if(text == null){
+            return "";
+        }
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Distinct trigrams of an already normalized text, each packed as three 16 bit chars into a long, sorted.
+     */
+    static long[] trigrams(String normalizedText){
+        if(normalizedText.length() < MIN_QUERY_LENGTH){
+            return new long[0];
+        }
+        long[] trigrams = new long[normalizedText.length() - 2];
+        for(int i = 0; i < trigrams.length; i++){
+            trigrams[i] = ((long) normalizedText.charAt(i) << 32)
+                    | ((long) normalizedText.charAt(i + 1) << 16)
+                    | normalizedText.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for(int i = 0; i < trigrams.length; i++){
+            if(i == 0 || trigrams[i] != trigrams[i - 1]){
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private void apply(Consumer<Map<Long, PostingList>> change){
+        this.lock.writeLock().lock();
+        try {
+            change.accept(this.postingsByTrigram);
+            if(this.pendingChanges != null){
+                this.pendingChanges.add(change);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private static void add(Map<Long, PostingList> postings, Long id, String normalizedDescription){
+        for(long trigram : trigrams(normalizedDescription)){
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private static void remove(Map<Long, PostingList> postings, Long id, String normalizedDescription){
+        for(long trigram : trigrams(normalizedDescription)){
+            PostingList postingList = postings.get(trigram);
+            if(postingList != null && postingList.remove(id) && postingList.size == 0){
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static void removeEverywhere(Map<Long, PostingList> postings, long[] sortedIds){
+        postings.values().removeIf(postingList -> postingList.removeAll(sortedIds) && postingList.size == 0);
+    }
+
+    private record Match(long id, int hits) {
+    }
+
+    /**
+     * Sorted, growable array of item ids. Ids come from a sequence, so adds are almost always appends.
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id){
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if(index >= 0){
+                return;
+            }
+            int insertionPoint = -index - 1;
+            if(size == ids.length){
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insertionPoint, ids, insertionPoint + 1, size - insertionPoint);
+            ids[insertionPoint] = id;
+            size++;
+        }
+
+        boolean remove(long id){
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if(index < 0){
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            if(size > 0 && size < ids.length / 4){
+                trim();
+            }
+            return true;
+        }
+
+        /**
+         * Removes the given ids in one pass; looks each one up instead when they are few compared to the list.
+         */
+        boolean removeAll(long[] sortedIds){
+            if(sortedIds.length * 16 < size){
+                boolean removed = false;
+                for(long id : sortedIds){
+                    removed |= remove(id);
+                }
+                return removed;
+            }
+            int kept = 0;
+            int next = 0;
+            for(int i = 0; i < size; i++){
+                while(next < sortedIds.length && sortedIds[next] < ids[i]){
+                    next++;
+                }
+                if(next == sortedIds.length || sortedIds[next] != ids[i]){
+                    ids[kept++] = ids[i];
+                }
+            }
+            boolean removed = kept < size;
+            size = kept;
+            if(size > 0 && size < ids.length / 4){
+                trim();
+            }
+            return removed;
+        }
+
+        void trim(){
+            if(size < ids.length){
+                ids = Arrays.copyOf(ids, Math.max(size, 1));
+            }
+        }
+    }
+}
@@ -1,71 +1,241 @@
 package com.learning.springboot.checklistapi.service;
 
+import com.learning.springboot.checklistapi.dto.ChangeEventDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemFilterDTO;
 import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.entity.CategoryStatsEntity;
 import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.entity.GuidGenerator;
+import com.learning.springboot.checklistapi.exception.PreconditionFailedException;
 import com.learning.springboot.checklistapi.exception.ResourceNotFoundException;
+import com.learning.springboot.checklistapi.exception.ValidationException;
 import com.learning.springboot.checklistapi.repository.CategoryRepository;
 import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import com.learning.springboot.checklistapi.repository.ChecklistItemSort;
+import com.learning.springboot.checklistapi.service.CategoryStatsService.ItemState;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("checklist.service")
 public class ChecklistItemService {
 
     private final ChecklistItemRepository checklistItemRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
+    private final ChangeVersionService changeVersionService;
+    private final CategoryStatsService categoryStatsService;
+    private final ChecklistItemSearchIndex checklistItemSearchIndex;
+    private final DeadlineReminderService deadlineReminderService;
+    private final CompletedStatusBuffer completedStatusBuffer;
+    private final ChangeFeedService changeFeedService;
+    private final ChecklistItemChangesService checklistItemChangesService;
     private static final String CHECKLIST_ITEM_NOT_FOUND = "ChecklistItem not found.";
+    private static final String CHECKLIST_ITEM_MODIFIED = "ChecklistItem was modified, its version does not match.";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    static final int FLUSH_BATCH_SIZE = 500;
 
-    public ChecklistItemService(ChecklistItemRepository checklistItemRepository, CategoryRepository categoryRepository){
+    public ChecklistItemService(ChecklistItemRepository checklistItemRepository, CategoryRepository categoryRepository,
+                                CategoryCache categoryCache, ChangeVersionService changeVersionService,
+                                CategoryStatsService categoryStatsService,
+                                ChecklistItemSearchIndex checklistItemSearchIndex,
+                                DeadlineReminderService deadlineReminderService,
+                                CompletedStatusBuffer completedStatusBuffer, ChangeFeedService changeFeedService,
+                                ChecklistItemChangesService checklistItemChangesService){
         this.checklistItemRepository = checklistItemRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryCache = categoryCache;
+        this.changeVersionService = changeVersionService;
+        this.categoryStatsService = categoryStatsService;
+        this.checklistItemSearchIndex = checklistItemSearchIndex;
+        this.deadlineReminderService = deadlineReminderService;
+        this.completedStatusBuffer = completedStatusBuffer;
+        this.changeFeedService = changeFeedService;
+        this.checklistItemChangesService = checklistItemChangesService;
     }
 
+    @Transactional
     public ChecklistItemEntity addNewChecklistItem(String description, Boolean isCompleted, LocalDate deadline, String categoryGuid){
 
         this.validateChecklistItemData(description, isCompleted, deadline,categoryGuid);
 
-        CategoryEntity retrievedCategory = this.categoryRepository.findByGuid(categoryGuid)
+        CategoryEntity retrievedCategory = this.categoryCache.findByGuid(categoryGuid)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
         ChecklistItemEntity checklistItemEntity = new ChecklistItemEntity();
-        checklistItemEntity.setGuid(UUID.randomUUID().toString());
+        checklistItemEntity.setGuid(GuidGenerator.newGuid());
         checklistItemEntity.setDescription(description);
         checklistItemEntity.setDeadline(deadline);
         checklistItemEntity.setPostedDate(LocalDate.now());
         checklistItemEntity.setCategory(retrievedCategory);
         checklistItemEntity.setIsCompleted(isCompleted);
+        // New rows lock nothing but their category, so the sequence is taken first and written by the insert itself
+        checklistItemEntity.setChangeSequence(this.changeVersionService.bumpChangeVersion());
 
         log.debug("Adding new checklist item [ checklistItem = {} ]", checklistItemEntity);
 
-        return checklistItemRepository.save(checklistItemEntity);
+        ChecklistItemEntity savedChecklistItem = checklistItemRepository.save(checklistItemEntity);
+        this.categoryStatsService.itemsAdded(List.of(ItemState.of(checklistItemEntity)));
+        this.checklistItemSearchIndex.add(checklistItemEntity.getId(), description);
+        this.deadlineReminderService.itemSaved(checklistItemEntity);
+        this.changeFeedService.publish(ChangeEventDTO.checklistItem(ChangeEventDTO.Type.CREATED,
+                ChecklistItemDTO.toDTO(checklistItemEntity)));
+        return savedChecklistItem;
 
     }
 
-    public List<ChecklistItemEntity> findAllChecklistItems(){
-        return this.checklistItemRepository.findAll();
+    @Transactional
+    public List<ChecklistItemEntity> addNewChecklistItems(List<ChecklistItemDTO> checklistItems){
+
+        checklistItems.forEach(item -> this.validateChecklistItemData(item.description(), item.isCompleted(),
+                item.deadline(), item.categoryDTO() != null ? item.categoryDTO().guid() : null));
+
+        Set<String> categoryGuids = checklistItems.stream()
+                .map(item -> item.categoryDTO().guid())
+                .collect(Collectors.toSet());
+        Map<String, CategoryEntity> categoriesByGuid = this.categoryRepository.findByGuidIn(categoryGuids).stream()
+                .collect(Collectors.toMap(CategoryEntity::getGuid, Function.identity()));
+        if(categoriesByGuid.size() != categoryGuids.size()){
+            throw new ResourceNotFoundException("Category not found");
+        }
+
+        LocalDate postedDate = LocalDate.now();
+        long changeSequence = this.changeVersionService.bumpChangeVersion();
+        List<ChecklistItemEntity> newChecklistItems = checklistItems.stream().map(item -> {
+            ChecklistItemEntity checklistItemEntity = new ChecklistItemEntity();
+            checklistItemEntity.setGuid(GuidGenerator.newGuid());
+            checklistItemEntity.setDescription(item.description());
+            checklistItemEntity.setDeadline(item.deadline());
+            checklistItemEntity.setPostedDate(postedDate);
+            checklistItemEntity.setCategory(categoriesByGuid.get(item.categoryDTO().guid()));
+            checklistItemEntity.setIsCompleted(item.isCompleted());
+            checklistItemEntity.setChangeSequence(changeSequence);
+            return checklistItemEntity;
+        }).toList();
+
+        log.debug("Adding new checklist items in batch [ size = {} ]", newChecklistItems.size());
+
+        List<ChecklistItemEntity> savedChecklistItems = this.checklistItemRepository.saveAll(newChecklistItems);
+        this.categoryStatsService.itemsAdded(newChecklistItems.stream().map(ItemState::of).toList());
+        newChecklistItems.forEach(item -> {
+            this.checklistItemSearchIndex.add(item.getId(), item.getDescription());
+            this.deadlineReminderService.itemSaved(item);
+            this.changeFeedService.publish(ChangeEventDTO.checklistItem(ChangeEventDTO.Type.CREATED,
+                    ChecklistItemDTO.toDTO(item)));
+        });
+        return savedChecklistItems;
     }
 
+    /**
+     * Filtering by completed status flushes buffered changes first, in this transaction, so the database filter
+     * already sees them and pages are never cut short by dropping overlaid items afterwards.
+     */
+    @Transactional
+    public Slice<ChecklistItemDTO> findChecklistItemsPage(ChecklistItemFilterDTO filter, ChecklistItemSort sort,
+                                                          ChecklistItemCursor cursor, Integer size){
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if(pageSize < 1 || pageSize > MAX_PAGE_SIZE){
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        validateRange(filter.deadlineFrom(), filter.deadlineTo(), "deadline");
+        validateRange(filter.postedDateFrom(), filter.postedDateTo(), "postedDate");
+
+        if(filter.isCompleted() != null){
+            this.applyPendingCompletedStatus();
+        }
+        Slice<ChecklistItemDTO> page = this.checklistItemRepository.findPage(filter, sort,
+                cursor != null ? cursor.sortKey() : null, cursor != null ? cursor.id() : null, pageSize);
+        if(!this.completedStatusBuffer.hasPendingChanges()){
+            return page;
+        }
+        List<ChecklistItemDTO> checklistItems = page.getContent().stream()
+                .map(this.completedStatusBuffer::withPendingStatus)
+                .toList();
+        return new SliceImpl<>(checklistItems, page.getPageable(), page.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ChecklistItemDTO> searchChecklistItems(String query, Integer limit){
+        if(!StringUtils.hasText(query) || query.strip().length() < ChecklistItemSearchIndex.MIN_QUERY_LENGTH){
+            throw new ValidationException("Search query must have at least " + ChecklistItemSearchIndex.MIN_QUERY_LENGTH
+                    + " characters");
+        }
+        int resultLimit = limit != null ? limit : DEFAULT_SEARCH_LIMIT;
+        if(resultLimit < 1 || resultLimit > MAX_SEARCH_LIMIT){
+            throw new ValidationException("Search limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        List<Long> rankedIds = this.checklistItemSearchIndex.search(query, resultLimit);
+        if(rankedIds.isEmpty()){
+            return List.of();
+        }
+        Map<Long, ChecklistItemDTO> checklistItemsById = this.checklistItemRepository.findDTOsByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(ChecklistItemDTO::id, Function.identity()));
+        if(checklistItemsById.size() < rankedIds.size()){
+            // Deleted by another app instance, whose deletions the index does not catch up on
+            this.checklistItemSearchIndex.removeAll(rankedIds.stream()
+                    .filter(id -> !checklistItemsById.containsKey(id))
+                    .toList());
+        }
+        return rankedIds.stream()
+                .map(checklistItemsById::get)
+                .filter(Objects::nonNull)
+                .map(this.completedStatusBuffer::withPendingStatus)
+                .toList();
+    }
+
+    @Transactional
     public void deleteChecklistItem(String guid){
         validatingGuid(guid);
-        ChecklistItemEntity retrivedItem = this.checklistItemRepository.findByGuid(guid)
+        ChecklistItemEntity retrivedItem = this.checklistItemRepository.findWithLockByGuid(guid)
                 .orElseThrow(() -> new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND));
 
         log.debug("Deleting checklist item [guid = {} ]", guid);
         this.checklistItemRepository.delete(retrivedItem);
+        this.categoryStatsService.itemRemoved(ItemState.of(retrivedItem));
+        this.checklistItemSearchIndex.remove(retrivedItem.getId(), retrivedItem.getDescription());
+        this.deadlineReminderService.itemsRemoved(List.of(guid));
+        this.checklistItemChangesService.itemDeleted(guid, this.changeVersionService.bumpChangeVersion());
+        this.changeFeedService.publish(ChangeEventDTO.checklistItemDeleted(guid));
     }
 
+    /**
+     * Written as a single versioned UPDATE, flushed before the change version is bumped, so a concurrent change
+     * made after the item was read fails the write instead of being overwritten. With an expected version (If-Match)
+     * a stale read fails before writing anything.
+     */
+    @Transactional
     public ChecklistItemEntity updateChecklistItem(String guid, String description, Boolean isCompleted,
-                                                   LocalDate deadline, String categoryGuid){
+                                                   LocalDate deadline, String categoryGuid, Long expectedVersion){
 
         this.validatingGuid(guid);
+        this.applyPendingCompletedStatus();
         ChecklistItemEntity retrivedItem = this.checklistItemRepository.findByGuid(guid)
                 .orElseThrow(() -> new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND));
+        if(expectedVersion != null && !expectedVersion.equals(retrivedItem.getVersion())){
+            throw new PreconditionFailedException(CHECKLIST_ITEM_MODIFIED);
+        }
+        ItemState previousState = ItemState.of(retrivedItem);
+        ChecklistItemDTO previousItem = ChecklistItemDTO.toDTO(retrivedItem);
 
         if(StringUtils.hasText(description)){
             retrivedItem.setDescription(description);
@@ -77,13 +247,27 @@ public class ChecklistItemService {
             retrivedItem.setDeadline(deadline);
         }
 
-        CategoryEntity retrivedCategory = this.categoryRepository.findByGuid(categoryGuid)
+        CategoryEntity retrivedCategory = this.categoryCache.findByGuid(categoryGuid)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found."));
             retrivedItem.setCategory(retrivedCategory);
 
+        if(previousItem.equals(ChecklistItemDTO.toDTO(retrivedItem))){
+            log.debug("Checklist item unchanged [ guid = {} ]", guid);
+            return retrivedItem;
+        }
         log.debug("Updating checklist item [ checklistItem = {} ]", retrivedItem.toString());
 
-        return this.checklistItemRepository.save(retrivedItem);
+        ChecklistItemEntity updatedChecklistItem = this.checklistItemRepository.save(retrivedItem);
+        this.checklistItemRepository.flush();
+        this.categoryStatsService.itemChanged(previousState, ItemState.of(retrivedItem));
+        if(StringUtils.hasText(description)){
+            this.checklistItemSearchIndex.update(retrivedItem.getId(), previousItem.description(), description);
+        }
+        this.deadlineReminderService.itemSaved(retrivedItem);
+        this.checklistItemRepository.updateChangeSequenceByGuid(guid, this.changeVersionService.bumpChangeVersion());
+        this.changeFeedService.publish(ChangeEventDTO.checklistItem(ChangeEventDTO.Type.UPDATED,
+                ChecklistItemDTO.toDTO(retrivedItem)));
+        return updatedChecklistItem;
     }
 
     public ChecklistItemEntity findChecklistItemByGuid(String guid){
@@ -92,16 +276,146 @@ public class ChecklistItemService {
                 () -> new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND));
     }
 
-    public void updateIsCompletedStatus(String guid, boolean isCompleted) {
+    @Transactional(readOnly = true)
+    public ChecklistItemDTO findChecklistItemDTOByGuid(String guid){
+        this.validatingGuid(guid);
+        return this.checklistItemRepository.findDTOByGuid(guid).map(this.completedStatusBuffer::withPendingStatus).orElseThrow(
+                () -> new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND));
+    }
+
+    /**
+     * With write-behind enabled the change is only buffered, so repeated toggles of an item cost a single write.
+     * An expected version (If-Match) bypasses the buffer: the UPDATE only applies to that version.
+     */
+    @Transactional
+    public void updateIsCompletedStatus(String guid, boolean isCompleted, Long expectedVersion) {
         validatingGuid(guid);
-        ChecklistItemEntity retrivedItem = this.checklistItemRepository.findByGuid(guid)
-                .orElseThrow(() -> new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND));
+
+        if(expectedVersion == null && this.completedStatusBuffer.isEnabled()){
+            if(this.completedStatusBuffer.pendingStatus(guid).isEmpty() && !this.checklistItemRepository.existsByGuid(guid)){
+                throw new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND);
+            }
+            log.debug("Buffering checklist item completed status [ guid = {}, isCompleted={} ]", guid, isCompleted);
+            this.completedStatusBuffer.put(guid, isCompleted);
+            return;
+        }
 
         log.debug("Updating checklist item completed status [ guid = {}, isCompleted={} ]", guid, isCompleted);
 
-        retrivedItem.setIsCompleted(isCompleted);
+        if(expectedVersion != null){
+            this.applyPendingCompletedStatus();
+            if(this.checklistItemRepository.updateIsCompletedByGuidAndVersion(guid, isCompleted, expectedVersion) == 0){
+                Long currentVersion = this.checklistItemRepository.findVersionByGuid(guid)
+                        .orElseThrow(() -> new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND));
+                if(!expectedVersion.equals(currentVersion)){
+                    throw new PreconditionFailedException(CHECKLIST_ITEM_MODIFIED);
+                }
+                return;
+            }
+        } else if(this.checklistItemRepository.updateIsCompletedByGuid(guid, isCompleted) == 0){
+            if(!this.checklistItemRepository.existsByGuid(guid)){
+                throw new ResourceNotFoundException(CHECKLIST_ITEM_NOT_FOUND);
+            }
+            return;
+        }
+        this.categoryStatsService.completedStatusChanged(guid, isCompleted);
+        this.deadlineReminderService.completedStatusChanged(guid, isCompleted);
+        this.checklistItemRepository.updateChangeSequenceByGuid(guid, this.changeVersionService.bumpChangeVersion());
+        this.changeFeedService.publish(ChangeEventDTO.checklistItemStatusChanged(guid, isCompleted));
+    }
+
+    @Transactional
+    public int updateIsCompletedStatus(List<String> guids, boolean isCompleted) {
+        if(CollectionUtils.isEmpty(guids)){
+            throw new IllegalArgumentException("ChecklistItem guids cannot be empty or null");
+        }
+
+        log.debug("Updating checklist items completed status [ size = {}, isCompleted={} ]", guids.size(), isCompleted);
 
-        this.checklistItemRepository.save(retrivedItem);
+        this.applyPendingCompletedStatus();
+        return this.applyCompletedStatus(guids, isCompleted);
+    }
+
+    /**
+     * Whether this instance holds completed status changes that reads of the database do not see yet.
+     */
+    public boolean hasPendingCompletedStatus(){
+        return this.completedStatusBuffer.hasPendingChanges();
+    }
+
+    /**
+     * Writes the buffered completed status changes in batches, one UPDATE per status and batch.
+     */
+    @Transactional
+    public int flushPendingCompletedStatus(){
+        int updated = this.applyPendingCompletedStatus();
+        log.debug("Flushed pending completed status changes [ updated = {} ]", updated);
+        return updated;
+    }
+
+    @Transactional
+    public int updateIsCompletedStatusByCategory(String categoryGuid, boolean isCompleted) {
+        CategoryEntity category = this.categoryCache.findByGuid(categoryGuid)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found."));
+
+        log.debug("Updating category checklist items completed status [ categoryGuid = {}, isCompleted={} ]",
+                categoryGuid, isCompleted);
+
+        this.applyPendingCompletedStatus();
+        List<String> changedGuids = this.checklistItemRepository.findGuidsWithLockByCategoryIdAndIsCompletedNot(
+                category.getId(), isCompleted);
+        if(changedGuids.isEmpty()){
+            return 0;
+        }
+        List<CategoryStatsEntity> countedBefore = this.categoryStatsService.countChecklistItems(changedGuids);
+        int updated = this.checklistItemRepository.updateIsCompletedByCategoryGuid(categoryGuid, isCompleted);
+        this.categoryStatsService.checklistItemsChanged(changedGuids, countedBefore);
+        this.deadlineReminderService.resync();
+        this.checklistItemRepository.updateChangeSequenceByGuidIn(changedGuids, this.changeVersionService.bumpChangeVersion());
+        this.changeFeedService.publish(ChangeEventDTO.categoryStatusChanged(categoryGuid, isCompleted));
+        return updated;
+    }
+
+    /**
+     * Writes the buffered changes inside the current transaction first, so that they cannot land on top of a
+     * newer write made by the caller.
+     */
+    private int applyPendingCompletedStatus(){
+        if(!this.completedStatusBuffer.isEnabled()){
+            return 0;
+        }
+        int updated = 0;
+        for(Map.Entry<Boolean, List<String>> pending : this.completedStatusBuffer.drain().entrySet()){
+            List<String> guids = pending.getValue();
+            for(int from = 0; from < guids.size(); from += FLUSH_BATCH_SIZE){
+                updated += this.applyCompletedStatus(guids.subList(from, Math.min(from + FLUSH_BATCH_SIZE, guids.size())),
+                        pending.getKey());
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Only the items whose status actually changes are updated, stamped and published; they are locked first so
+     * that the UPDATE changes exactly those rows.
+     */
+    private int applyCompletedStatus(List<String> guids, boolean isCompleted){
+        List<String> changedGuids = this.checklistItemRepository.findGuidsWithLockByGuidInAndIsCompletedNot(guids,
+                isCompleted);
+        if(changedGuids.isEmpty()){
+            return 0;
+        }
+        List<CategoryStatsEntity> countedBefore = this.categoryStatsService.countChecklistItems(changedGuids);
+        int updated = this.checklistItemRepository.updateIsCompletedByGuidIn(changedGuids, isCompleted);
+        this.categoryStatsService.checklistItemsChanged(changedGuids, countedBefore);
+        if(isCompleted){
+            this.deadlineReminderService.itemsRemoved(List.copyOf(changedGuids));
+        } else {
+            this.deadlineReminderService.resync();
+        }
+        this.checklistItemRepository.updateChangeSequenceByGuidIn(changedGuids, this.changeVersionService.bumpChangeVersion());
+        changedGuids.forEach(guid -> this.changeFeedService.publish(ChangeEventDTO.checklistItemStatusChanged(guid, isCompleted)));
+        return updated;
     }
 
     private void validateChecklistItemData(String description, Boolean isCompleted,
@@ -120,6 +434,12 @@ public class ChecklistItemService {
         }
     }
 
+    private void validateRange(LocalDate from, LocalDate to, String attribute){
+        if(from != null && to != null && from.isAfter(to)){
+            throw new ValidationException(attribute + "From cannot be after " + attribute + "To");
+        }
+    }
+
     private void validatingGuid(String guid){
         if(!StringUtils.hasText(guid)){
             throw new IllegalArgumentException("ChecklistItem guid cannot be empty or null");
@@ -0,0 +1,174 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for checklist item completed status, enabled with {@code checklist.write-behind.enabled}.
+ * Changes are coalesced per guid, so only the last status of an item reaches the database, and
+ * {@link CompletedStatusFlusher} writes them in batches every {@code checklist.write-behind.flush-interval} or as
+ * soon as {@code checklist.write-behind.flush-threshold} items are pending. Entries being flushed stay visible to
+ * reads until their transaction commits and go back to the buffer if it rolls back. One transaction at a time may
+ * hold drained changes, so a flush can never overwrite a status written after it was drained; writes that find
+ * nothing buffered do not take part and run concurrently.
+ */
+@Slf4j
+@Component
+public class CompletedStatusBuffer {
+
+    private final boolean enabled;
+    private final int flushThreshold;
+    private final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+    private final Semaphore flushRequests = new Semaphore(0);
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile Map<String, Boolean> inFlight = Map.of();
+
+    @Autowired
+    public CompletedStatusBuffer(@Value("${checklist.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${checklist.write-behind.flush-threshold:500}") int flushThreshold){
+        if(flushThreshold < 1){
+            throw new IllegalArgumentException("Write-behind flush threshold must be positive");
+        }
+        this.enabled = enabled;
+        this.flushThreshold = flushThreshold;
+    }
+
+    public boolean isEnabled(){
+        return this.enabled;
+    }
+
+    public void put(String guid, boolean isCompleted){
+        if(this.pending.put(guid, isCompleted) == null && this.pending.size() >= this.flushThreshold){
+            this.requestFlush();
+        }
+    }
+
+    public Optional<Boolean> pendingStatus(String guid){
+        Boolean isCompleted = this.pending.get(guid);
+        return Optional.ofNullable(isCompleted != null ? isCompleted : this.inFlight.get(guid));
+    }
+
+    /**
+     * The buffered status of the item if there is one, else the given stored status, without wrapping either.
+     */
+    public Boolean isCompleted(String guid, Boolean storedStatus){
+        if(guid == null || !this.hasPendingChanges()){
+            return storedStatus;
+        }
+        Boolean isCompleted = this.pending.get(guid);
+        if(isCompleted == null){
+            isCompleted = this.inFlight.get(guid);
+        }
+        return isCompleted != null ? isCompleted : storedStatus;
+    }
+
+    /**
+     * Overlays the buffered status, with the version the item will have once it is flushed, so that ETags and
+     * If-Match see buffered changes like written ones. A status toggled back to the stored one is not written by the
+     * flush, so it keeps the stored version.
+     */
+    public ChecklistItemDTO withPendingStatus(ChecklistItemDTO checklistItem){
+        if(checklistItem.guid() == null || !this.hasPendingChanges()){
+            return checklistItem;
+        }
+        return this.pendingStatus(checklistItem.guid())
+                .filter(isCompleted -> !isCompleted.equals(checklistItem.isCompleted()))
+                .map(isCompleted -> new ChecklistItemDTO(checklistItem.id(), checklistItem.guid(),
+                        checklistItem.description(), isCompleted, checklistItem.deadline(), checklistItem.postedDate(),
+                        checklistItem.categoryDTO(),
+                        checklistItem.version() != null ? checklistItem.version() + 1 : null))
+                .orElse(checklistItem);
+    }
+
+    /**
+     * Whether any change is still buffered or being flushed, and so not yet visible in the database.
+     */
+    public boolean hasPendingChanges(){
+        return !this.pending.isEmpty() || !this.inFlight.isEmpty();
+    }
+
+    public boolean isEmpty(){
+        return this.pending.isEmpty();
+    }
+
+    public int size(){
+        return this.pending.size();
+    }
+
+    /**
+     * Takes every pending change for the surrounding transaction, grouped by status, and blocks other drains until
+     * that transaction completes. A change accepted for the same guid while the flush runs stays pending and is
+     * written by the next flush. With nothing buffered or being flushed there is nothing to order against, so no lock
+     * is taken.
+     */
+    Map<Boolean, List<String>> drain(){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            throw new IllegalStateException("Pending completed status changes can only be drained in a transaction");
+        }
+        if(!this.hasPendingChanges()){
+            return Map.of(Boolean.TRUE, List.of(), Boolean.FALSE, List.of());
+        }
+        this.flushLock.lock();
+        Map<String, Boolean> drained = new ConcurrentHashMap<>(this.inFlight);
+        this.inFlight = drained;
+        Map<Boolean, List<String>> guidsByStatus = Map.of(Boolean.TRUE, new ArrayList<>(), Boolean.FALSE, new ArrayList<>());
+        for(String guid : this.pending.keySet()){
+            Boolean isCompleted = this.pending.get(guid);
+            if(isCompleted == null){
+                continue;
+            }
+            drained.put(guid, isCompleted);
+            this.pending.remove(guid, isCompleted);
+            guidsByStatus.get(isCompleted).add(guid);
+        }
+        this.flushRequests.drainPermits();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    flushCompleted(drained, status == STATUS_COMMITTED);
+                } finally {
+                    flushLock.unlock();
+                }
+            }
+        });
+        return guidsByStatus;
+    }
+
+    void requestFlush(){
+        this.flushRequests.release();
+    }
+
+    /**
+     * Waits until a flush is requested, at the latest when the timeout elapses.
+     */
+    boolean awaitFlushRequest(Duration timeout) throws InterruptedException {
+        return this.flushRequests.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void flushCompleted(Map<String, Boolean> drained, boolean committed){
+        if(!committed){
+            drained.forEach(this.pending::putIfAbsent);
+            log.warn("Completed status flush rolled back, changes kept pending [ size = {} ]", drained.size());
+        }
+        if(this.flushLock.getHoldCount() == 1){
+            this.inFlight = Map.of();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.learning.springboot.checklistapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Background writer of the {@link CompletedStatusBuffer}. It stops after the web server on shutdown, so requests
+ * still being served can buffer their changes, and drains whatever is left before the data source goes away.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "checklist.write-behind.enabled", havingValue = "true")
+public class CompletedStatusFlusher implements SmartLifecycle {
+
+    private final ChecklistItemService checklistItemService;
+    private final CompletedStatusBuffer completedStatusBuffer;
+    private final Duration flushInterval;
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public CompletedStatusFlusher(ChecklistItemService checklistItemService, CompletedStatusBuffer completedStatusBuffer,
+                                  @Value("${checklist.write-behind.flush-interval:200ms}") Duration flushInterval){
+        this.checklistItemService = checklistItemService;
+        this.completedStatusBuffer = completedStatusBuffer;
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void start(){
+        this.running = true;
+        this.flusherThread = Thread.ofPlatform().name("completed-status-flusher").daemon().start(this::run);
+        log.info("Started completed status write-behind [ flushInterval = {} ]", this.flushInterval);
+    }
+
+    @Override
+    public void stop(){
+        this.running = false;
+        this.completedStatusBuffer.requestFlush();
+        try {
+            this.flusherThread.join();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        int flushed = 0;
+        try {
+            while(!this.completedStatusBuffer.isEmpty()){
+                flushed += this.checklistItemService.flushPendingCompletedStatus();
+            }
+        } catch (RuntimeException e){
+            log.error("Could not drain completed status changes on shutdown [ lost = {} ]",
+                    this.completedStatusBuffer.size(), e);
+        }
+        log.info("Stopped completed status write-behind [ flushedOnShutdown = {} ]", flushed);
+    }
+
+    @Override
+    public boolean isRunning(){
+        return this.running;
+    }
+
+    /**
+     * Below the web server phases, so it is started before and stopped after requests are served.
+     */
+    @Override
+    public int getPhase(){
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run(){
+        while(this.running){
+            try {
+                this.completedStatusBuffer.awaitFlushRequest(this.flushInterval);
+                if(!this.completedStatusBuffer.isEmpty()){
+                    this.checklistItemService.flushPendingCompletedStatus();
+                }
+            } catch (InterruptedException e){
+                return;
+            } catch (RuntimeException e){
+                log.warn("Completed status flush failed, retrying on next interval [ pending = {} ]",
+                        this.completedStatusBuffer.size(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.DeadlineEventDTO;
+
+/**
+ * Receiver of deadline reminders. Every sink bean gets every event, on the reminder engine's thread, so
+ * implementations must return quickly and hand slow work off.
+ */
+public interface DeadlineEventSink {
+
+    void accept(DeadlineEventDTO event);
+}
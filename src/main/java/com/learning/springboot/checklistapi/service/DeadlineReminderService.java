@@ -0,0 +1,305 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.DeadlineEventDTO;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.entity.ReminderCheckpointEntity;
+import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import com.learning.springboot.checklistapi.repository.ReminderCheckpointRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emits DUE and OVERDUE reminders for incomplete checklist items. Items whose deadline falls within the next
+ * {@code checklist.reminders.horizon-days} days are held in a {@link HierarchicalTimingWheel} (one minute ticks),
+ * at most {@code checklist.reminders.max-pending} of them; later deadlines are picked up by the hourly refill.
+ * {@link ChecklistItemService} keeps the wheel in sync after each commit. The time processed so far is persisted in
+ * reminder_checkpoint, so reminders that fell due while the application was down are delivered on startup,
+ * flagged as catch-up.
+ */
+@Slf4j
+@Service
+@Timed("checklist.service")
+public class DeadlineReminderService {
+
+    static final Long CHECKPOINT_ID = 1L;
+    static final long TICK_MILLIS = 60_000;
+    private static final int WHEEL_SIZE = 60;
+
+    private final ChecklistItemRepository checklistItemRepository;
+    private final ReminderCheckpointRepository reminderCheckpointRepository;
+    private final List<DeadlineEventSink> deadlineEventSinks;
+    private final Clock clock;
+    private final int horizonDays;
+    private final int maxPending;
+
+    private final Object lock = new Object();
+    private final Map<String, ItemTimers> timersByGuid = new HashMap<>();
+    private HierarchicalTimingWheel<DeadlineEventDTO> timingWheel;
+
+    @Autowired
+    public DeadlineReminderService(ChecklistItemRepository checklistItemRepository,
+                                   ReminderCheckpointRepository reminderCheckpointRepository,
+                                   List<DeadlineEventSink> deadlineEventSinks,
+                                   @Value("${checklist.reminders.zone:}") String zone,
+                                   @Value("${checklist.reminders.horizon-days:7}") int horizonDays,
+                                   @Value("${checklist.reminders.max-pending:100000}") int maxPending){
+        this(checklistItemRepository, reminderCheckpointRepository, deadlineEventSinks,
+                Clock.system(StringUtils.hasText(zone) ? ZoneId.of(zone) : ZoneId.systemDefault()), horizonDays, maxPending);
+    }
+
+    DeadlineReminderService(ChecklistItemRepository checklistItemRepository,
+                            ReminderCheckpointRepository reminderCheckpointRepository,
+                            List<DeadlineEventSink> deadlineEventSinks, Clock clock, int horizonDays, int maxPending){
+        this.checklistItemRepository = checklistItemRepository;
+        this.reminderCheckpointRepository = reminderCheckpointRepository;
+        this.deadlineEventSinks = deadlineEventSinks;
+        this.clock = clock;
+        this.horizonDays = horizonDays;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Loads the wheel and delivers the reminders missed since the last checkpoint. The first start only records a
+     * checkpoint, so an existing backlog of overdue items is not replayed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(){
+        Instant now = this.clock.instant();
+        Instant processedUntil = this.reminderCheckpointRepository.findById(CHECKPOINT_ID)
+                .map(ReminderCheckpointEntity::getProcessedUntil)
+                .orElse(now);
+
+        List<DeadlineEventDTO> fired = new ArrayList<>();
+        List<ChecklistItemDTO> upcoming = this.checklistItemRepository.findIncompleteDTOsByDeadlineBetween(
+                LocalDate.ofInstant(processedUntil, this.clock.getZone()).minusDays(1), this.horizonEnd(now));
+        synchronized (this.lock){
+            this.timersByGuid.clear();
+            this.timingWheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, now.toEpochMilli());
+            for(ChecklistItemDTO item : upcoming){
+                this.catchUp(item, processedUntil, now, fired);
+                this.schedule(item.guid(), item.description(), item.deadline(), false, now, fired);
+            }
+        }
+        this.saveCheckpoint(now);
+        log.info("Started deadline reminders [ pending = {}, catchUp = {} ]", this.pendingCount(), fired.size());
+        this.emit(fired);
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick(){
+        Instant now = this.clock.instant();
+        List<DeadlineEventDTO> fired = new ArrayList<>();
+        synchronized (this.lock){
+            if(this.timingWheel == null){
+                return;
+            }
+            this.timingWheel.advance(now.toEpochMilli(), event -> {
+                if(event.type() == DeadlineEventDTO.Type.OVERDUE){
+                    this.timersByGuid.remove(event.guid());
+                }
+                fired.add(withFiredAt(event, now));
+            });
+        }
+        this.emit(fired);
+        this.reminderCheckpointRepository.updateProcessedUntil(CHECKPOINT_ID, now);
+    }
+
+    /**
+     * Schedules items whose deadline entered the horizon since they were last seen.
+     */
+    @Scheduled(cron = "${checklist.reminders.refill-cron:0 30 * * * *}")
+    public void refill(){
+        Instant now = this.clock.instant();
+        List<ChecklistItemDTO> upcoming = this.checklistItemRepository.findIncompleteDTOsByDeadlineBetween(
+                LocalDate.ofInstant(now, this.clock.getZone()), this.horizonEnd(now));
+        List<DeadlineEventDTO> fired = new ArrayList<>();
+        synchronized (this.lock){
+            if(this.timingWheel == null){
+                return;
+            }
+            for(ChecklistItemDTO item : upcoming){
+                if(!this.timersByGuid.containsKey(item.guid())){
+                    this.schedule(item.guid(), item.description(), item.deadline(), false, now, fired);
+                }
+            }
+        }
+        this.emit(fired);
+    }
+
+    public void itemSaved(ChecklistItemEntity checklistItemEntity){
+        String guid = checklistItemEntity.getGuid();
+        String description = checklistItemEntity.getDescription();
+        LocalDate deadline = checklistItemEntity.getDeadline();
+        boolean isCompleted = Boolean.TRUE.equals(checklistItemEntity.getIsCompleted());
+        TransactionCallbacks.afterCommit(() -> {
+            List<DeadlineEventDTO> fired = new ArrayList<>();
+            synchronized (this.lock){
+                if(this.timingWheel != null){
+                    this.schedule(guid, description, deadline, isCompleted, this.clock.instant(), fired);
+                }
+            }
+            this.emit(fired);
+        });
+    }
+
+    public void itemsRemoved(Collection<String> guids){
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this.lock){
+                guids.forEach(this::cancel);
+            }
+        });
+    }
+
+    public void completedStatusChanged(String guid, boolean isCompleted){
+        if(isCompleted){
+            this.itemsRemoved(List.of(guid));
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> this.checklistItemRepository.findDTOByGuid(guid).ifPresent(item -> {
+            List<DeadlineEventDTO> fired = new ArrayList<>();
+            synchronized (this.lock){
+                if(this.timingWheel != null){
+                    this.schedule(item.guid(), item.description(), item.deadline(), Boolean.TRUE.equals(item.isCompleted()),
+                            this.clock.instant(), fired);
+                }
+            }
+            this.emit(fired);
+        }));
+    }
+
+    /**
+     * Drops every pending reminder and reloads the horizon, for changes that touch items the caller cannot list.
+     */
+    public void resync(){
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this.lock){
+                if(this.timingWheel == null){
+                    return;
+                }
+                new ArrayList<>(this.timersByGuid.keySet()).forEach(this::cancel);
+            }
+            this.refill();
+        });
+    }
+
+    public int pendingCount(){
+        synchronized (this.lock){
+            return this.timersByGuid.size();
+        }
+    }
+
+    private void schedule(String guid, String description, LocalDate deadline, boolean isCompleted, Instant now,
+                          List<DeadlineEventDTO> fired){
+        this.cancel(guid);
+        if(isCompleted || deadline == null || deadline.isAfter(this.horizonEnd(now))){
+            return;
+        }
+        Instant due = this.dueAt(deadline);
+        Instant overdue = this.overdueAt(deadline);
+        if(!overdue.isAfter(now)){
+            return;
+        }
+        if(this.timersByGuid.size() >= this.maxPending){
+            log.warn("Deadline reminders at capacity, skipping until next refill [ guid = {}, maxPending = {} ]",
+                    guid, this.maxPending);
+            return;
+        }
+
+        HierarchicalTimingWheel.Timer<DeadlineEventDTO> dueTimer = null;
+        if(due.isAfter(now)){
+            DeadlineEventDTO dueEvent = new DeadlineEventDTO(DeadlineEventDTO.Type.DUE, guid, description, deadline, due, false);
+            dueTimer = this.timingWheel.schedule(due.toEpochMilli(), dueEvent);
+            if(dueTimer == null){
+                fired.add(withFiredAt(dueEvent, now));
+            }
+        }
+        DeadlineEventDTO overdueEvent = new DeadlineEventDTO(DeadlineEventDTO.Type.OVERDUE, guid, description, deadline,
+                overdue, false);
+        HierarchicalTimingWheel.Timer<DeadlineEventDTO> overdueTimer =
+                this.timingWheel.schedule(overdue.toEpochMilli(), overdueEvent);
+        if(overdueTimer == null){
+            fired.add(withFiredAt(overdueEvent, now));
+            return;
+        }
+        this.timersByGuid.put(guid, new ItemTimers(dueTimer, overdueTimer));
+    }
+
+    private void catchUp(ChecklistItemDTO item, Instant processedUntil, Instant now, List<DeadlineEventDTO> fired){
+        Instant due = this.dueAt(item.deadline());
+        Instant overdue = this.overdueAt(item.deadline());
+        if(due.isAfter(processedUntil) && !due.isAfter(now)){
+            fired.add(new DeadlineEventDTO(DeadlineEventDTO.Type.DUE, item.guid(), item.description(), item.deadline(),
+                    now, true));
+        }
+        if(overdue.isAfter(processedUntil) && !overdue.isAfter(now)){
+            fired.add(new DeadlineEventDTO(DeadlineEventDTO.Type.OVERDUE, item.guid(), item.description(),
+                    item.deadline(), now, true));
+        }
+    }
+
+    private void cancel(String guid){
+        ItemTimers timers = this.timersByGuid.remove(guid);
+        if(timers != null){
+            this.timingWheel.cancel(timers.due());
+            this.timingWheel.cancel(timers.overdue());
+        }
+    }
+
+    private void emit(List<DeadlineEventDTO> events){
+        for(DeadlineEventDTO event : events){
+            for(DeadlineEventSink sink : this.deadlineEventSinks){
+                try {
+                    sink.accept(event);
+                } catch (RuntimeException e){
+                    log.warn("Deadline event sink failed [ sink = {}, guid = {} ]", sink.getClass().getSimpleName(),
+                            event.guid(), e);
+                }
+            }
+        }
+    }
+
+    private void saveCheckpoint(Instant now){
+        if(this.reminderCheckpointRepository.updateProcessedUntil(CHECKPOINT_ID, now) == 0){
+            this.reminderCheckpointRepository.save(new ReminderCheckpointEntity(CHECKPOINT_ID, now));
+        }
+    }
+
+    private LocalDate horizonEnd(Instant now){
+        return LocalDate.ofInstant(now, this.clock.getZone()).plusDays(this.horizonDays);
+    }
+
+    private Instant dueAt(LocalDate deadline){
+        return deadline.atStartOfDay(this.clock.getZone()).toInstant();
+    }
+
+    private Instant overdueAt(LocalDate deadline){
+        return deadline.plusDays(1).atStartOfDay(this.clock.getZone()).toInstant();
+    }
+
+    private static DeadlineEventDTO withFiredAt(DeadlineEventDTO event, Instant firedAt){
+        return new DeadlineEventDTO(event.type(), event.guid(), event.description(), event.deadline(), firedAt,
+                event.catchUp());
+    }
+
+    private record ItemTimers(HierarchicalTimingWheel.Timer<DeadlineEventDTO> due,
+                              HierarchicalTimingWheel.Timer<DeadlineEventDTO> overdue) {
+    }
+}
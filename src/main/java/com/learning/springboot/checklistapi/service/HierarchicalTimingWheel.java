@@ -0,0 +1,184 @@
+package com.learning.springboot.checklistapi.service;
+
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: level 0 has {@code wheelSize} buckets of one tick each and every overflow level
+ * covers the whole range of the level below in each of its buckets, so any expiration is reachable with a
+ * handful of levels. Scheduling and cancelling are O(1) (a bucket is a doubly linked list); advancing only
+ * visits buckets whose time has come, taken from a queue that never holds more than one entry per bucket.
+ * Not thread safe; callers serialize access.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    private final Level root;
+    private final PriorityQueue<Bucket<T>> dueBuckets = new PriorityQueue<>((a, b) -> Long.compare(a.expiration, b.expiration));
+    private int size;
+
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis){
+        this.root = new Level(tickMillis, wheelSize, startMillis);
+    }
+
+    /**
+     * Returns the handle used to cancel the timer, or null when the expiration is within the current tick, in
+     * which case the caller should run the task right away.
+     */
+    Timer<T> schedule(long expirationMillis, T task){
+        Timer<T> timer = new Timer<>(expirationMillis, task);
+        if(!this.root.add(timer)){
+            return null;
+        }
+        this.size++;
+        return timer;
+    }
+
+    void cancel(Timer<T> timer){
+        if(timer != null && timer.bucket != null){
+            timer.bucket.remove(timer);
+            this.size--;
+        }
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis}, handing every expired task to {@code onExpired} in expiration order of
+     * their buckets. Timers of higher level buckets are redistributed into the lower levels on the way.
+     */
+    void advance(long nowMillis, Consumer<T> onExpired){
+        Bucket<T> bucket;
+        while((bucket = this.dueBuckets.peek()) != null && bucket.expiration <= nowMillis){
+            this.dueBuckets.poll();
+            this.root.advanceClock(bucket.expiration);
+            Timer<T> timer;
+            while((timer = bucket.poll()) != null){
+                if(!this.root.add(timer)){
+                    this.size--;
+                    onExpired.accept(timer.task);
+                }
+            }
+        }
+        this.root.advanceClock(nowMillis);
+    }
+
+    int size(){
+        return this.size;
+    }
+
+    static final class Timer<T> {
+
+        private final long expirationMillis;
+        private final T task;
+        private Bucket<T> bucket;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(long expirationMillis, T task){
+            this.expirationMillis = expirationMillis;
+            this.task = task;
+        }
+
+        T task(){
+            return task;
+        }
+    }
+
+    private final class Level {
+
+        private final long tickMillis;
+        private final int wheelSize;
+        private final long intervalMillis;
+        private final Bucket<T>[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMillis, int wheelSize, long startMillis){
+            this.tickMillis = tickMillis;
+            this.wheelSize = wheelSize;
+            this.intervalMillis = tickMillis * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            this.currentTime = startMillis - (startMillis % tickMillis);
+        }
+
+        private boolean add(Timer<T> timer){
+            long expiration = timer.expirationMillis;
+            if(expiration < this.currentTime + this.tickMillis){
+                return false;
+            }
+            if(expiration < this.currentTime + this.intervalMillis){
+                long virtualId = expiration / this.tickMillis;
+                int index = (int) (virtualId % this.wheelSize);
+                if(this.buckets[index] == null){
+                    this.buckets[index] = new Bucket<>();
+                }
+                Bucket<T> bucket = this.buckets[index];
+                bucket.add(timer);
+                if(bucket.setExpiration(virtualId * this.tickMillis)){
+                    dueBuckets.add(bucket);
+                }
+                return true;
+            }
+            if(this.overflow == null){
+                this.overflow = new Level(this.intervalMillis, this.wheelSize, this.currentTime);
+            }
+            return this.overflow.add(timer);
+        }
+
+        private void advanceClock(long timeMillis){
+            if(timeMillis >= this.currentTime + this.tickMillis){
+                this.currentTime = timeMillis - (timeMillis % this.tickMillis);
+                if(this.overflow != null){
+                    this.overflow.advanceClock(this.currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private final Timer<T> head = new Timer<>(-1, null);
+        private long expiration = -1;
+
+        private Bucket(){
+            head.previous = head;
+            head.next = head;
+        }
+
+        /**
+         * Returns true when the bucket now expires at a different time, i.e. it has to be queued again.
+         */
+        private boolean setExpiration(long expiration){
+            if(this.expiration == expiration){
+                return false;
+            }
+            this.expiration = expiration;
+            return true;
+        }
+
+        private void add(Timer<T> timer){
+            timer.bucket = this;
+            timer.previous = head.previous;
+            timer.next = head;
+            head.previous.next = timer;
+            head.previous = timer;
+        }
+
+        private void remove(Timer<T> timer){
+            timer.previous.next = timer.next;
+            timer.next.previous = timer.previous;
+            timer.previous = null;
+            timer.next = null;
+            timer.bucket = null;
+        }
+
+        private Timer<T> poll(){
+            Timer<T> first = head.next;
+            if(first == head){
+                this.expiration = -1;
+                return null;
+            }
+            remove(first);
+            return first;
+        }
+    }
+}
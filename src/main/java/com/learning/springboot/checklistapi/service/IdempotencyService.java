@@ -0,0 +1,217 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.learning.springboot.checklistapi.dto.NewResourceDTO;
+import com.learning.springboot.checklistapi.entity.IdempotencyKeyEntity;
+import com.learning.springboot.checklistapi.exception.ValidationException;
+import com.learning.springboot.checklistapi.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * {@code Idempotency-Key} handling for create requests. The first request with a key runs the creation and its
+ * {@link NewResourceDTO} is kept for {@code checklist.idempotency.ttl} in a cache bounded by
+ * {@code checklist.idempotency.max-keys}; retries get it back without running the creation again, and duplicates
+ * arriving while it runs wait for it. Keys are scoped per endpoint, and reusing one with a different request body is
+ * rejected. With {@code checklist.idempotency.database} the keys are also written to the idempotency_key table, in
+ * the transaction of the creation, so that retries landing on another app instance are answered the same way.
+ * Failed creations are not kept, so they can be retried with the same key.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration ttl;
+    private final boolean database;
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                              @Value("${checklist.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${checklist.idempotency.max-keys:100000}") long maxKeys,
+                              @Value("${checklist.idempotency.database:false}") boolean database){
+        this(idempotencyKeyRepository, new TransactionTemplate(transactionManager), objectMapper, Clock.systemUTC(),
+                ttl, maxKeys, database);
+    }
+
+    IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper, Clock clock, Duration ttl, long maxKeys, boolean database){
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.database = database;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Runs the creation, or returns the response of the request that already ran it with the same key. Without a
+     * key the creation just runs.
+     */
+    public NewResourceDTO execute(String scope, String idempotencyKey, Object request, Supplier<NewResourceDTO> creation){
+        if(idempotencyKey == null){
+            return creation.get();
+        }
+        if(idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH){
+            throw new ValidationException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = scope + ":" + idempotencyKey;
+        String fingerprint = this.fingerprint(request);
+        StoredResponse stored = this.responses.getIfPresent(key);
+        if(stored != null){
+            log.debug("Replaying idempotent request [ key = {} ]", key);
+            return stored.replay(fingerprint);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = this.inFlight.putIfAbsent(key, execution);
+        if(running != null){
+            log.debug("Waiting for in-flight idempotent request [ key = {} ]", key);
+            return await(running).replay(fingerprint);
+        }
+        try {
+            // The cache is filled before the in-flight entry goes away, so this catches an execution that just ended
+            stored = this.responses.getIfPresent(key);
+            if(stored == null){
+                stored = this.database ? this.executeWithDatabase(key, fingerprint, creation)
+                        : new StoredResponse(fingerprint, creation.get());
+                this.responses.put(key, stored);
+            }
+            execution.complete(stored);
+        } catch (RuntimeException e){
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, execution);
+        }
+        return stored.replay(fingerprint);
+    }
+
+    @Transactional
+    @Scheduled(cron = "${checklist.idempotency.purge-cron:0 45 3 * * *}")
+    public int purgeExpiredKeys(){
+        if(!this.database){
+            return 0;
+        }
+        int purged = this.idempotencyKeyRepository.deleteByCreatedAtBefore(this.clock.instant().minus(this.ttl));
+        log.info("Purged expired idempotency keys [ purged = {} ]", purged);
+        return purged;
+    }
+
+    /**
+     * Claims the key with an insert before creating anything. A duplicate running on another instance holds the
+     * unique key until it commits, so the insert waits for it and then fails, and its stored response is replayed.
+     */
+    private StoredResponse executeWithDatabase(String key, String fingerprint, Supplier<NewResourceDTO> creation){
+        try {
+            return this.transactionTemplate.execute(status -> {
+                Optional<IdempotencyKeyEntity> existing = this.idempotencyKeyRepository.findByIdempotencyKey(key);
+                if(existing.isPresent()){
+                    if(!this.isExpired(existing.get())){
+                        return StoredResponse.of(existing.get());
+                    }
+                    this.idempotencyKeyRepository.delete(existing.get());
+                    this.idempotencyKeyRepository.flush();
+                }
+                IdempotencyKeyEntity claimed;
+                try {
+                    claimed = this.idempotencyKeyRepository.saveAndFlush(
+                            new IdempotencyKeyEntity(key, fingerprint, this.clock.instant()));
+                } catch (DataIntegrityViolationException e){
+                    throw new KeyClaimedException(e);
+                }
+                NewResourceDTO response = creation.get();
+                claimed.setResourceGuid(response.guid());
+                return new StoredResponse(fingerprint, response);
+            });
+        } catch (KeyClaimedException e){
+            log.debug("Idempotent request ran on another instance [ key = {} ]", key);
+            return this.transactionTemplate.execute(status -> this.idempotencyKeyRepository.findByIdempotencyKey(key)
+                    .map(StoredResponse::of)
+                    .orElseThrow(() -> new IllegalStateException("Idempotency key vanished after a conflict: " + key)));
+        }
+    }
+
+    private boolean isExpired(IdempotencyKeyEntity idempotencyKey){
+        return idempotencyKey.getCreatedAt().isBefore(this.clock.instant().minus(this.ttl));
+    }
+
+    String fingerprint(Object request){
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(this.objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException e){
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> execution){
+        try {
+            return execution.join();
+        } catch (CompletionException e){
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record StoredResponse(String fingerprint, NewResourceDTO response) {
+
+        static StoredResponse of(IdempotencyKeyEntity idempotencyKey){
+            return new StoredResponse(idempotencyKey.getFingerprint(), new NewResourceDTO(idempotencyKey.getResourceGuid()));
+        }
+
+        NewResourceDTO replay(String requestFingerprint){
+            if(!this.fingerprint.equals(requestFingerprint)){
+                throw new ValidationException("Idempotency-Key was already used with a different request");
+            }
+            return this.response;
+        }
+    }
+
+    private static final class KeyClaimedException extends RuntimeException {
+
+        private KeyClaimedException(DataIntegrityViolationException cause){
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.DeadlineEventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LoggingDeadlineEventSink implements DeadlineEventSink {
+
+    @Override
+    public void accept(DeadlineEventDTO event){
+        log.info("Checklist item deadline reminder [ type = {}, guid = {}, deadline = {}, catchUp = {} ]",
+                event.type(), event.guid(), event.deadline(), event.catchUp());
+    }
+}
@@ -0,0 +1,27 @@
+package com.learning.springboot.checklistapi.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class TransactionCallbacks {
+
+    private TransactionCallbacks(){
+    }
+
+    /**
+     * Runs the callback once the surrounding transaction commits (never on rollback), or right away when there is
+     * no transaction.
+     */
+    static void afterCommit(Runnable callback){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    callback.run();
+                }
+            });
+        } else {
+            callback.run();
+        }
+    }
+}
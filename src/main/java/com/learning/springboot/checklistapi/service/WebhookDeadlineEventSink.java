@@ -0,0 +1,59 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.springboot.checklistapi.dto.DeadlineEventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Posts each reminder as JSON to {@code checklist.reminders.webhook-url}, asynchronously and without retries.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("checklist.reminders.webhook-url")
+public class WebhookDeadlineEventSink implements DeadlineEventSink {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI webhookUri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+    public WebhookDeadlineEventSink(@Value("${checklist.reminders.webhook-url}") String webhookUrl,
+                                    ObjectMapper objectMapper){
+        this.webhookUri = URI.create(webhookUrl);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void accept(DeadlineEventDTO event){
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(this.webhookUri)
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(event)))
+                    .build();
+        } catch (JsonProcessingException e){
+            log.warn("Could not serialize deadline reminder [ guid = {} ]", event.guid(), e);
+            return;
+        }
+        this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if(error != null){
+                        log.warn("Deadline reminder webhook failed [ guid = {}, error = {} ]", event.guid(), error.toString());
+                    } else if(response.statusCode() >= 300){
+                        log.warn("Deadline reminder webhook rejected [ guid = {}, status = {} ]", event.guid(), response.statusCode());
+                    }
+                });
+    }
+}
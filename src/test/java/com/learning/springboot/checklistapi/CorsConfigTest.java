@@ -0,0 +1,66 @@
+package com.learning.springboot.checklistapi;
+
+import com.learning.springboot.checklistapi.controller.ChecklistItemController;
+import com.learning.springboot.checklistapi.service.ChangeFeedService;
+import com.learning.springboot.checklistapi.service.ChangeVersionService;
+import com.learning.springboot.checklistapi.service.ChecklistItemChangesService;
+import com.learning.springboot.checklistapi.service.ChecklistItemService;
+import com.learning.springboot.checklistapi.service.IdempotencyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ChecklistItemController.class)
+@ActiveProfiles("local")
+class CorsConfigTest {
+
+    private static final String ORIGIN = "http://localhost:4200";
+
+    @MockBean
+    private ChecklistItemService checklistItemService;
+    @MockBean
+    private ChangeVersionService changeVersionService;
+    @MockBean
+    private ChangeFeedService changeFeedService;
+    @MockBean
+    private ChecklistItemChangesService checklistItemChangesService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldAllowIfMatchOnConditionalUpdatePreflight() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.options("/api/v1/checklist-items/{guid}", UUID.randomUUID().toString())
+                        .header(HttpHeaders.ORIGIN, ORIGIN)
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "If-Match"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, ORIGIN))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, containsStringIgnoringCase("If-Match")));
+    }
+
+    @Test
+    void shouldAllowIdempotencyKeyOnCreatePreflight() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.options("/api/v1/checklist-items")
+                        .header(HttpHeaders.ORIGIN, ORIGIN)
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "Content-Type, Idempotency-Key"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, ORIGIN))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS,
+                        containsStringIgnoringCase("Idempotency-Key")));
+    }
+}
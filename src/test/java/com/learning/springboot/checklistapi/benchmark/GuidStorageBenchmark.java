@@ -0,0 +1,158 @@
+package com.learning.springboot.checklistapi.benchmark;
+
+import com.learning.springboot.checklistapi.entity.GuidGenerator;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Compares the guid column layouts before and after the switch to time-ordered binary guids: random version 4
+ * UUIDs stored as {@code varchar(255)} against version 7 UUIDs stored as native {@code uuid} (H2) or
+ * {@code binary(16)} (MySQL). For each layout it measures batched insert throughput into a table with a guid
+ * index, and the size of that index.
+ * <p>
+ * H2 does not report per-index sizes, so each H2 table lives in its own file database and the index size is the
+ * compacted file size minus that of the same table without the index. On MySQL the size of the secondary index is
+ * read from {@code mysql.innodb_index_stats}, which also reflects page splits caused by random inserts.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.learning.springboot.checklistapi.benchmark.GuidStorageBenchmark \
+ *     -Dbenchmark.rows=200000 [-Paws -Dbenchmark.mysql.url=jdbc:mysql://... -Dbenchmark.mysql.user=... -Dbenchmark.mysql.password=...]
+ * </pre>
+ */
+public class GuidStorageBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 200_000);
+        List<String> report = new ArrayList<>();
+        report.add("| database | guid layout | rows | inserts/s | guid index size (KiB) | index bytes/row |");
+        report.add("|---|---|---|---|---|---|");
+
+        Path h2Directory = Files.createTempDirectory("guid-benchmark");
+        for(Layout layout : Layout.values()){
+            report.add(runH2(h2Directory, layout, rows));
+        }
+
+        String mysqlUrl = System.getProperty("benchmark.mysql.url");
+        if(mysqlUrl != null){
+            try(Connection connection = DriverManager.getConnection(mysqlUrl,
+                    System.getProperty("benchmark.mysql.user"), System.getProperty("benchmark.mysql.password"))){
+                for(Layout layout : Layout.values()){
+                    report.add(runMySql(connection, layout, rows));
+                }
+            }
+        }
+
+        report.forEach(System.out::println);
+    }
+
+    private static String runH2(Path directory, Layout layout, int rows) throws SQLException {
+        long elapsedNanos = 0;
+        long[] fileSizes = new long[2];
+        for(int indexed = 0; indexed < 2; indexed++){
+            Path database = directory.resolve(layout.name().toLowerCase(Locale.ROOT) + "_" + indexed);
+            try(Connection connection = DriverManager.getConnection("jdbc:h2:file:" + database, "sa", "")){
+                createTable(connection, layout.h2ColumnType, indexed == 1);
+                long nanos = insert(connection, layout, rows, false);
+                if(indexed == 1){
+                    elapsedNanos = nanos;
+                }
+                try(Statement statement = connection.createStatement()){
+                    statement.execute("shutdown compact");
+                }
+            }
+            fileSizes[indexed] = Path.of(database + ".mv.db").toFile().length();
+        }
+        return row("H2", layout, rows, elapsedNanos, fileSizes[1] - fileSizes[0]);
+    }
+
+    private static String runMySql(Connection connection, Layout layout, int rows) throws SQLException {
+        createTable(connection, layout.mysqlColumnType, true);
+        long elapsedNanos = insert(connection, layout, rows, true);
+
+        try(Statement statement = connection.createStatement()){
+            statement.execute("analyze table guid_benchmark");
+            try(ResultSet resultSet = statement.executeQuery("select stat_value * @@innodb_page_size" +
+                    " from mysql.innodb_index_stats where table_name = 'guid_benchmark'" +
+                    " and index_name = 'idx_guid_benchmark' and stat_name = 'size'")){
+                resultSet.next();
+                return row("MySQL", layout, rows, elapsedNanos, resultSet.getLong(1));
+            }
+        }
+    }
+
+    private static void createTable(Connection connection, String columnType, boolean indexed) throws SQLException {
+        try(Statement statement = connection.createStatement()){
+            statement.execute("drop table if exists guid_benchmark");
+            statement.execute("create table guid_benchmark (id bigint primary key, guid " + columnType + ")");
+            if(indexed){
+                statement.execute("create index idx_guid_benchmark on guid_benchmark (guid)");
+            }
+        }
+    }
+
+    private static long insert(Connection connection, Layout layout, int rows, boolean guidAsBytes) throws SQLException {
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try(PreparedStatement insert = connection.prepareStatement("insert into guid_benchmark (id, guid) values (?, ?)")){
+            for(int i = 1; i <= rows; i++){
+                insert.setLong(1, i);
+                if(layout == Layout.RANDOM_VARCHAR){
+                    insert.setString(2, UUID.randomUUID().toString());
+                } else if(guidAsBytes){
+                    insert.setBytes(2, toBytes(GuidGenerator.newUuid()));
+                } else {
+                    insert.setObject(2, GuidGenerator.newUuid());
+                }
+                insert.addBatch();
+                if(i % BATCH_SIZE == 0 || i == rows){
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static byte[] toBytes(UUID guid){
+        return ByteBuffer.allocate(16)
+                .putLong(guid.getMostSignificantBits())
+                .putLong(guid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static String row(String database, Layout layout, int rows, long elapsedNanos, long indexBytes){
+        return String.format(Locale.ROOT, "| %s | %s | %d | %.0f | %d | %.1f |", database, layout.description,
+                rows, rows / (elapsedNanos / 1e9), indexBytes / 1024, (double) indexBytes / rows);
+    }
+
+    private enum Layout {
+        RANDOM_VARCHAR("UUIDv4 varchar(255) (before)", "varchar(255)", "varchar(255)"),
+        TIME_ORDERED_BINARY("UUIDv7 16 bytes (after)", "uuid", "binary(16)");
+
+        private final String description;
+        private final String h2ColumnType;
+        private final String mysqlColumnType;
+
+        Layout(String description, String h2ColumnType, String mysqlColumnType){
+            this.description = description;
+            this.h2ColumnType = h2ColumnType;
+            this.mysqlColumnType = mysqlColumnType;
+        }
+    }
+}
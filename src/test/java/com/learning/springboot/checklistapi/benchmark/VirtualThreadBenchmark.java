@@ -0,0 +1,174 @@
+package com.learning.springboot.checklistapi.benchmark;
+
+import com.learning.springboot.checklistapi.ChecklistApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares request execution on Tomcat's platform thread pool with the {@code virtual-threads} profile. For each
+ * mode it boots the application on the local (H2) profile with a random port, seeds checklist items and runs a
+ * closed loop of {@code C} concurrent clients issuing {@code GET /api/v1/checklist-items?size=50}, reporting
+ * throughput and latency percentiles for every concurrency level. Client and server share the JVM and CPUs, so
+ * compare modes against each other rather than reading absolute numbers.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.learning.springboot.checklistapi.benchmark.VirtualThreadBenchmark \
+ *     -Dbenchmark.concurrency=50,500,2000 -Dbenchmark.seconds=15
+ * </pre>
+ */
+public class VirtualThreadBenchmark {
+
+    private static final int SEED_ITEMS = 5_000;
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("benchmark.concurrency", "50,500,2000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        Duration measurement = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 15));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 5));
+
+        List<String> report = new ArrayList<>();
+        report.add("| mode | concurrency | requests/s | p50 (ms) | p99 (ms) | max (ms) | errors |");
+        report.add("|---|---|---|---|---|---|---|");
+        for(Mode mode : Mode.values()){
+            try(ConfigurableApplicationContext context = start(mode)){
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+                seed(httpClient, baseUrl);
+                for(int concurrency : concurrencyLevels){
+                    run(httpClient, baseUrl, concurrency, warmup);
+                    report.add(row(mode, concurrency, run(httpClient, baseUrl, concurrency, measurement)));
+                }
+            }
+        }
+        report.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(Mode mode){
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(ChecklistApiApplication.class)
+                .profiles(mode.profiles)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + mode.name().toLowerCase(Locale.ROOT),
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static void seed(HttpClient httpClient, String baseUrl) throws Exception {
+        String categoryJson = send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/categories"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Benchmark\"}")).build());
+        String categoryGuid = categoryJson.replaceAll(".*\"guid\":\"([^\"]+)\".*", "$1");
+
+        for(int batch = 0; batch < SEED_ITEMS / SEED_BATCH_SIZE; batch++){
+            StringBuilder items = new StringBuilder("[");
+            for(int i = 0; i < SEED_BATCH_SIZE; i++){
+                items.append(i == 0 ? "" : ",")
+                        .append("{\"description\":\"Item ").append(batch).append('-').append(i)
+                        .append("\",\"isCompleted\":false,\"deadline\":\"2024-0").append(1 + i % 9)
+                        .append("-1").append(i % 10).append("\",\"category\":{\"guid\":\"").append(categoryGuid).append("\"}}");
+            }
+            send(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/checklist-items/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(items.append(']').toString())).build());
+        }
+    }
+
+    private static Result run(HttpClient httpClient, String baseUrl, int concurrency, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/checklist-items?size=50"))
+                .timeout(Duration.ofSeconds(60)).GET().build();
+        AtomicLong errors = new AtomicLong();
+        long endNanos = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()){
+            for(int c = 0; c < concurrency; c++){
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1_024];
+                    int count = 0;
+                    while(System.nanoTime() < endNanos){
+                        long start = System.nanoTime();
+                        try {
+                            if(httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200){
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e){
+                            errors.incrementAndGet();
+                        }
+                        if(count == latencies.length){
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] latencies = clients.stream().map(VirtualThreadBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(latencies, errors.get(), duration);
+    }
+
+    private static long[] join(Future<long[]> client){
+        try {
+            return client.get();
+        } catch (Exception e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String send(HttpClient httpClient, HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if(response.statusCode() >= 300){
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static String row(Mode mode, int concurrency, Result result){
+        return String.format(Locale.ROOT, "| %s | %d | %.0f | %.1f | %.1f | %.1f | %d |", mode.label, concurrency,
+                result.latencies.length / (double) result.duration.toSeconds(),
+                result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0), result.errors);
+    }
+
+    private record Result(long[] latencies, long errors, Duration duration) {
+
+        double percentileMillis(double percentile){
+            if(latencies.length == 0){
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile * latencies.length) - 1);
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    private enum Mode {
+        PLATFORM_THREADS("platform threads (Tomcat pool of 200)", "local"),
+        VIRTUAL_THREADS("virtual threads + 10 DB permits", "local", "virtual-threads");
+
+        private final String label;
+        private final String[] profiles;
+
+        Mode(String label, String... profiles){
+            this.label = label;
+            this.profiles = profiles;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.learning.springboot.checklistapi.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    public void initTest(){
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:limiting;DB_CLOSE_DELAY=-1");
+        this.dataSource = new ConcurrencyLimitingDataSource(h2DataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void shouldHoldAPermitUntilTheConnectionIsClosed() throws Exception {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.availablePermits(), is(0));
+
+        first.close();
+        first.close();
+        assertThat(dataSource.availablePermits(), is(1));
+        assertThat(first.isClosed(), is(true));
+
+        second.close();
+        assertThat(dataSource.availablePermits(), is(2));
+    }
+
+    @Test
+    void shouldTimeOutWhenNoPermitIsReleased() throws Exception {
+        try(Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()){
+
+            Exception exception = assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+            assertThat(exception.getMessage(), is("Timed out after 50ms waiting for one of 2 database permits"));
+        }
+        assertThat(dataSource.availablePermits(), is(2));
+    }
+}
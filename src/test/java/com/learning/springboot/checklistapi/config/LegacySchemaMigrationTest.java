@@ -0,0 +1,118 @@
+package com.learning.springboot.checklistapi.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the migration on H2 in MySQL mode against schemas laid out as earlier versions left them.
+ */
+class LegacySchemaMigrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LegacySchemaMigration legacySchemaMigration;
+
+    @BeforeEach
+    public void initTest(){
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        this.jdbcTemplate = new JdbcTemplate(h2DataSource);
+        // Stands in for MySQL's UNHEX, which H2 does not have
+        this.jdbcTemplate.execute("create alias if not exists unhex as $$ byte[] unhex(String hex) {"
+                + " try { return hex != null ? java.util.HexFormat.of().parseHex(hex) : null; }"
+                + " catch (IllegalArgumentException e) { return null; } } $$");
+        this.legacySchemaMigration = new LegacySchemaMigration(this.jdbcTemplate, true);
+    }
+
+    @AfterEach
+    public void tearDown(){
+        this.jdbcTemplate.execute("drop all objects");
+    }
+
+    @Test
+    void shouldConvertTextGuidsToBinaryUuids(){
+        //having
+        String guid = "0b6a7e2c-1f4e-4c55-9d1e-0a7b3c2d1e0f";
+        this.jdbcTemplate.execute("create table `checklist item` (id bigint primary key, guid varchar(255))");
+        this.jdbcTemplate.execute("create index IDX_GUID_CK_IT on `checklist item` (guid)");
+        this.jdbcTemplate.update("insert into `checklist item` values (1, ?), (2, null)", guid);
+        // Left by a run interrupted between dropping the text column and renaming the binary one
+        this.jdbcTemplate.execute("create table category (id bigint primary key, guid_bin binary(16))");
+        this.jdbcTemplate.update("insert into category values (1, ?)",
+                (Object) HexFormat.of().parseHex("c47c032bc1fe75479270f7bc805bc0b5"));
+
+        //when
+        this.legacySchemaMigration.migrate();
+        this.legacySchemaMigration.migrate();
+
+        //then
+        assertThat(this.jdbcTemplate.queryForObject("select guid from `checklist item` where id = 1", UUID.class),
+                is(UUID.fromString(guid)));
+        assertThat(this.jdbcTemplate.queryForObject("select guid from `checklist item` where id = 2", UUID.class),
+                is((UUID) null));
+        assertThat(this.jdbcTemplate.queryForObject("select guid from category", UUID.class),
+                is(UUID.fromString("c47c032b-c1fe-7547-9270-f7bc805bc0b5")));
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from information_schema.indexes"
+                + " where index_name in ('idx_guid_ck_it', 'idx_guid_cat')", Integer.class), is(2));
+    }
+
+    @Test
+    void shouldKeepTextGuidsThatAreNotUuids(){
+        //having
+        this.jdbcTemplate.execute("create table category (id bigint primary key, guid varchar(255))");
+        this.jdbcTemplate.execute("insert into category values (1, 'not-a-uuid')");
+
+        //when
+        Exception exception = assertThrows(IllegalStateException.class, () -> this.legacySchemaMigration.migrate());
+
+        //then
+        assertThat(exception.getMessage(), is("1 guids of table category are not UUIDs"));
+        assertThat(this.jdbcTemplate.queryForObject("select guid from category", String.class), is("not-a-uuid"));
+    }
+
+    @Test
+    void shouldSeedSequenceTablesAboveRowsInsertedWithIdentityIds(){
+        //having
+        this.jdbcTemplate.execute("create table `checklist item` (id bigint auto_increment primary key)");
+        this.jdbcTemplate.execute("insert into `checklist item` values (1), (2), (7)");
+        this.jdbcTemplate.execute("create table category (id bigint auto_increment primary key)");
+        this.jdbcTemplate.execute("insert into category values (1), (2)");
+        this.jdbcTemplate.execute("create table category_seq (next_val bigint)");
+        this.jdbcTemplate.execute("insert into category_seq values (1)");
+
+        //when
+        this.legacySchemaMigration.migrate();
+        this.legacySchemaMigration.migrate();
+
+        //then
+        assertThat(this.jdbcTemplate.queryForList("select next_val from checklist_item_seq", Long.class), is(List.of(57L)));
+        assertThat(this.jdbcTemplate.queryForList("select next_val from category_seq", Long.class), is(List.of(52L)));
+    }
+
+    @Test
+    void shouldLeaveSequencesThatAreAlreadyAhead(){
+        //having
+        this.jdbcTemplate.execute("create table category (id bigint primary key)");
+        this.jdbcTemplate.execute("insert into category values (1), (60)");
+        this.jdbcTemplate.execute("create table category_seq (next_val bigint)");
+        this.jdbcTemplate.execute("insert into category_seq values (151)");
+
+        //when
+        this.legacySchemaMigration.migrate();
+
+        //then
+        assertThat(this.jdbcTemplate.queryForObject("select next_val from category_seq", Long.class), is(151L));
+        assertThat(this.jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.tables where table_name = 'checklist_item_seq'", Integer.class), is(0));
+    }
+}
@@ -0,0 +1,61 @@
+package com.learning.springboot.checklistapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class SqlStatementCountingFilterTest {
+
+    private SqlStatementCounter sqlStatementCounter;
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementCountingFilter filter;
+
+    @BeforeEach
+    public void initTest(){
+        this.sqlStatementCounter = new SqlStatementCounter();
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.filter = new SqlStatementCountingFilter(sqlStatementCounter, meterRegistry);
+    }
+
+    @Test
+    void shouldRecordStatementsOfEachRequestAndKeepTheCountForTheObservation() throws Exception {
+        //having
+        sqlStatementCounter.inspect("select leftover from a previous request");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/checklist-items/abc");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/checklist-items/{guid}");
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            sqlStatementCounter.inspect("select 1");
+            sqlStatementCounter.inspect("select 2");
+            sqlStatementCounter.inspect("select 3");
+        });
+
+        //then
+        DistributionSummary summary = meterRegistry.get("http.server.requests.sql.statements")
+                .tag("method", "GET").tag("uri", "/api/v1/checklist-items/{guid}").summary();
+        assertThat(summary.count(), is(1L));
+        assertThat(summary.totalAmount(), is(3.0));
+        assertThat(new SqlStatementObservationConvention(sqlStatementCounter)
+                .getLowCardinalityKeyValues(new ServerRequestObservationContext(request, new MockHttpServletResponse()))
+                .stream().anyMatch(keyValue -> keyValue.getKey().equals("sql.statements")
+                        && keyValue.getValue().equals("2-5")), is(true));
+    }
+
+    @Test
+    void shouldBucketStatementCounts(){
+        assertThat(SqlStatementObservationConvention.bucket(0), is("0"));
+        assertThat(SqlStatementObservationConvention.bucket(1), is("1"));
+        assertThat(SqlStatementObservationConvention.bucket(5), is("2-5"));
+        assertThat(SqlStatementObservationConvention.bucket(20), is("6-20"));
+        assertThat(SqlStatementObservationConvention.bucket(21), is("over-20"));
+    }
+}
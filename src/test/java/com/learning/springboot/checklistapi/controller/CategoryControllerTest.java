@@ -0,0 +1,104 @@
+package com.learning.springboot.checklistapi.controller;
+
+import com.learning.springboot.checklistapi.dto.CategoryStatsDTO;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.service.CategoryListCache;
+import com.learning.springboot.checklistapi.service.CategoryService;
+import com.learning.springboot.checklistapi.service.CategoryStatsService;
+import com.learning.springboot.checklistapi.service.IdempotencyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CategoryController.class)
+class CategoryControllerTest {
+
+    private static final String CATEGORIES_JSON = "[{\"guid\":\"c47c032b\",\"name\":\"Trabalho\"}]";
+    private static final String ETAG = "\"0123456789abcdef\"";
+
+    @MockBean
+    private CategoryService categoryService;
+    @MockBean
+    private CategoryListCache categoryListCache;
+    @MockBean
+    private CategoryStatsService categoryStatsService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldCallGetAllCategoriesAndReturn200WithETag() throws Exception {
+
+        when(categoryListCache.getSnapshot()).thenReturn(
+                new CategoryListCache.Snapshot(1L, CATEGORIES_JSON.getBytes(StandardCharsets.UTF_8), ETAG));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/categories"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().json(CATEGORIES_JSON))
+                .andExpect(jsonPath("$[0].name").value("Trabalho"));
+    }
+
+    @Test
+    void shouldCallGetAllCategoriesWithMatchingETagAndReturn304() throws Exception {
+
+        when(categoryListCache.getSnapshot()).thenReturn(
+                new CategoryListCache.Snapshot(1L, CATEGORIES_JSON.getBytes(StandardCharsets.UTF_8), ETAG));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/categories")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(categoryService);
+    }
+
+    @Test
+    void shouldCallGetCategoryByGuidAndReturn200WithVersionETag() throws Exception {
+
+        CategoryEntity category = new CategoryEntity();
+        category.setGuid("c47c032b");
+        category.setName("Trabalho");
+        category.setVersion(2L);
+        when(categoryService.findCategoryByGuid("c47c032b")).thenReturn(category);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/categories/{guid}", "c47c032b"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.name").value("Trabalho"));
+    }
+
+    @Test
+    void shouldCallGetCategoryStatsAndReturn200() throws Exception {
+
+        when(categoryStatsService.findAllCategoryStats()).thenReturn(
+                List.of(new CategoryStatsDTO("c47c032b", "Trabalho", 3L, 1L, 1L)));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/categories/stats"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Trabalho"))
+                .andExpect(jsonPath("$[0].total").value(3))
+                .andExpect(jsonPath("$[0].completed").value(1))
+                .andExpect(jsonPath("$[0].overdue").value(1));
+
+        verifyNoInteractions(categoryService);
+    }
+}
@@ -1,70 +1,325 @@
 package com.learning.springboot.checklistapi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.springboot.checklistapi.dto.BulkUpdateStatusDTO;
 import com.learning.springboot.checklistapi.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemChangesDTO;
 import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.NewResourceDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemFilterDTO;
 import com.learning.springboot.checklistapi.entity.CategoryEntity;
 import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.service.ChangeFeedService;
+import com.learning.springboot.checklistapi.service.ChangeVersionService;
+import com.learning.springboot.checklistapi.repository.ChecklistItemSort;
+import com.learning.springboot.checklistapi.exception.ChangeTokenExpiredException;
+import com.learning.springboot.checklistapi.exception.PreconditionFailedException;
+import com.learning.springboot.checklistapi.service.ChecklistItemChangeToken;
+import com.learning.springboot.checklistapi.service.ChecklistItemCursor;
+import com.learning.springboot.checklistapi.service.ChecklistItemChangesService;
 import com.learning.springboot.checklistapi.service.ChecklistItemService;
+import com.learning.springboot.checklistapi.service.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ChecklistItemController.class)
 class ChecklistItemControllerTest {
 
+    private static final String ETAG = "\"1700000000042\"";
+
     @MockBean
     private ChecklistItemService checklistItemService;
+    @MockBean
+    private ChangeVersionService changeVersionService;
+    @MockBean
+    private ChangeFeedService changeFeedService;
+    @MockBean
+    private ChecklistItemChangesService checklistItemChangesService;
+    @MockBean
+    private IdempotencyService idempotencyService;
 
     @Autowired
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    public void initTest(){
+        when(changeVersionService.currentETag()).thenReturn(ETAG);
+        when(idempotencyService.execute(anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<NewResourceDTO>>getArgument(3).get());
+    }
+
+    @Test
+    void shouldSubscribeToTheChangeFeed() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(changeFeedService.subscribe()).thenReturn(emitter);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk());
+        verify(changeFeedService, times(1)).subscribe();
+    }
 
     @Test
     void shouldCallGetAllChecklistItemsAndReturn200() throws Exception {
 
-        List<ChecklistItemEntity> findAllData = (Arrays.asList(
-                getChecklistItem(1L, "Item 1", false, LocalDate.now(), 1L, "Cat 1"),
-                getChecklistItem(2L, "Item 2", true, LocalDate.now(), 2L, "Cat 2")
+        LocalDate deadline = LocalDate.of(2023, 11, 17);
+        List<ChecklistItemDTO> findAllData = (Arrays.asList(
+                ChecklistItemDTO.toDTO(getChecklistItem(1L, "Item 1", false, deadline, 1L, "Cat 1")),
+                ChecklistItemDTO.toDTO(getChecklistItem(2L, "Item 2", true, deadline, 2L, "Cat 2"))
         ));
-        when(checklistItemService.findAllChecklistItems()).thenReturn(findAllData);
+        when(checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, null, null))
+                .thenReturn(new SliceImpl<>(findAllData));
 
         this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items"))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[*]", hasSize(2)))
-                .andExpect(jsonPath("$[0].guid").isNotEmpty())
-                .andExpect(jsonPath("$[0].isCompleted").value(false))
-                .andExpect(jsonPath("$[0].description").value("Item 1"))
-                .andExpect(jsonPath("$[0].deadline").value("2023-11-17"))
-                .andExpect(jsonPath("$[0].postedDate").isNotEmpty())
-                .andExpect(jsonPath("$[0].category.guid").isNotEmpty())
-                .andExpect(jsonPath("$[0].category.name").value("Cat 1"))
-                .andExpect(jsonPath("$[1].guid").isNotEmpty())
-                .andExpect(jsonPath("$[1].isCompleted").value(true))
-                .andExpect(jsonPath("$[1].description").value("Item 2"))
-                .andExpect(jsonPath("$[1].deadline").value("2023-11-17"))
-                .andExpect(jsonPath("$[1].postedDate").isNotEmpty())
-                .andExpect(jsonPath("$[1].category.guid").isNotEmpty())
-                .andExpect(jsonPath("$[1].category.name").value("Cat 2"));
+                .andExpect(jsonPath("$.items[*]", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").doesNotExist())
+                .andExpect(jsonPath("$.items[0].guid").isNotEmpty())
+                .andExpect(jsonPath("$.items[0].isCompleted").value(false))
+                .andExpect(jsonPath("$.items[0].description").value("Item 1"))
+                .andExpect(jsonPath("$.items[0].deadline").value("2023-11-17"))
+                .andExpect(jsonPath("$.items[0].postedDate").isNotEmpty())
+                .andExpect(jsonPath("$.items[0].category.guid").isNotEmpty())
+                .andExpect(jsonPath("$.items[0].category.name").value("Cat 1"))
+                .andExpect(jsonPath("$.items[1].guid").isNotEmpty())
+                .andExpect(jsonPath("$.items[1].isCompleted").value(true))
+                .andExpect(jsonPath("$.items[1].description").value("Item 2"))
+                .andExpect(jsonPath("$.items[1].deadline").value("2023-11-17"))
+                .andExpect(jsonPath("$.items[1].postedDate").isNotEmpty())
+                .andExpect(jsonPath("$.items[1].category.guid").isNotEmpty())
+                .andExpect(jsonPath("$.items[1].category.name").value("Cat 2"))
+                .andExpect(jsonPath("$.next").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void shouldCallGetAllChecklistItemsWithMatchingETagAndReturn304() throws Exception {
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+
+        verify(checklistItemService, never()).findChecklistItemsPage(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldFlushPendingCompletedStatusBeforeComputingTheETag() throws Exception {
+        when(checklistItemService.hasPendingCompletedStatus()).thenReturn(true);
+        when(checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, null, null))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+
+        InOrder inOrder = inOrder(checklistItemService, changeVersionService);
+        inOrder.verify(checklistItemService).flushPendingCompletedStatus();
+        inOrder.verify(changeVersionService).currentETag();
+    }
+
+    @Test
+    void shouldCallGetAllChecklistItemsWithCursorAndReturnNextCursor() throws Exception {
+
+        LocalDate deadline = LocalDate.of(2023, 11, 17);
+        ChecklistItemCursor cursor = new ChecklistItemCursor(deadline, 10L);
+        List<ChecklistItemDTO> pageData = List.of(
+                ChecklistItemDTO.toDTO(getChecklistItem(11L, "Item 11", false, deadline, 1L, "Cat 1")));
+        when(checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, cursor, 1))
+                .thenReturn(new SliceImpl<>(pageData, PageRequest.ofSize(1), true));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items")
+                        .param("cursor", cursor.encode())
+                        .param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*]", hasSize(1)))
+                .andExpect(jsonPath("$.next").value(new ChecklistItemCursor(deadline, 11L).encode()));
+    }
+
+    @Test
+    void shouldCallGetAllChecklistItemsWithFiltersAndSortAndReturn200() throws Exception {
+
+        LocalDate deadline = LocalDate.of(2023, 11, 17);
+        ChecklistItemFilterDTO filter = new ChecklistItemFilterDTO("c47c032b", false, deadline, deadline.plusDays(7),
+                null, null);
+        List<ChecklistItemDTO> pageData = List.of(
+                ChecklistItemDTO.toDTO(getChecklistItem(11L, "Item 11", false, deadline, 1L, "Cat 1")));
+        when(checklistItemService.findChecklistItemsPage(filter, ChecklistItemSort.POSTED_DATE_DESC, null, null))
+                .thenReturn(new SliceImpl<>(pageData));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items")
+                        .param("categoryGuid", "c47c032b")
+                        .param("isCompleted", "false")
+                        .param("deadlineFrom", "2023-11-17")
+                        .param("deadlineTo", "2023-11-24")
+                        .param("sort", "-postedDate"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*]", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].description").value("Item 11"));
+    }
+
+    @Test
+    void shouldCallSearchChecklistItemsAndReturn200() throws Exception {
+
+        LocalDate deadline = LocalDate.of(2023, 11, 17);
+        when(checklistItemService.searchChecklistItems("mercado", 5)).thenReturn(List.of(
+                ChecklistItemDTO.toDTO(getChecklistItem(3L, "Ir ao mercado", false, deadline, 1L, "Cat 1"))));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items/search")
+                        .param("q", "mercado")
+                        .param("limit", "5"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*]", hasSize(1)))
+                .andExpect(jsonPath("$[0].description").value("Ir ao mercado"))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void shouldCallGetChecklistItemChangesAndReturn200() throws Exception {
+
+        ChecklistItemChangeToken since = new ChecklistItemChangeToken(10L, false, 3L, Instant.ofEpochSecond(1700000000L));
+        String next = new ChecklistItemChangeToken(12L, true, 8L, Instant.ofEpochSecond(1700000060L)).encode();
+        when(checklistItemChangesService.findChanges(since, 100)).thenReturn(new ChecklistItemChangesDTO(
+                List.of(ChecklistItemDTO.toDTO(getChecklistItem(3L, "Ir ao mercado", false, LocalDate.of(2023, 11, 17), 1L, "Cat 1"))),
+                List.of("deleted-guid"), next, false));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items/changes")
+                        .param("since", since.encode())
+                        .param("limit", "100"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].description").value("Ir ao mercado"))
+                .andExpect(jsonPath("$.deleted[0]").value("deleted-guid"))
+                .andExpect(jsonPath("$.next").value(next))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void shouldCallGetChecklistItemChangesWithExpiredTokenAndReturn410() throws Exception {
+
+        when(checklistItemChangesService.findChanges(any(), any())).thenThrow(
+                new ChangeTokenExpiredException("Change token expired, checklist items must be synced from scratch"));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items/changes")
+                        .param("since", new ChecklistItemChangeToken(10L, false, 3L, Instant.EPOCH).encode()))
+                .andDo(print())
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void shouldCallGetAllChecklistItemsWithUnknownSortAndReturn422() throws Exception {
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items")
+                        .param("sort", "description"))
+                .andDo(print())
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(checklistItemService, never()).findChecklistItemsPage(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldCallGetAllChecklistItemsWithInvalidCursorAndReturn422() throws Exception {
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items")
+                        .param("cursor", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(checklistItemService, never()).findChecklistItemsPage(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldCallGetChecklistItemByGuidAndReturn200() throws Exception {
+
+        ChecklistItemDTO checklistItem = ChecklistItemDTO.toDTO(
+                getChecklistItem(1L, "Item 1", false, LocalDate.of(2023, 11, 17), 1L, "Cat 1"));
+        when(checklistItemService.findChecklistItemDTOByGuid(checklistItem.guid())).thenReturn(checklistItem);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items/{guid}", checklistItem.guid()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.guid").value(checklistItem.guid()))
+                .andExpect(jsonPath("$.description").value("Item 1"))
+                .andExpect(jsonPath("$.category.name").value("Cat 1"))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void shouldCallGetChecklistItemByGuidWithMatchingVersionAndReturn304() throws Exception {
+
+        ChecklistItemDTO checklistItem = ChecklistItemDTO.toDTO(
+                getChecklistItem(1L, "Item 1", false, LocalDate.of(2023, 11, 17), 1L, "Cat 1"));
+        when(checklistItemService.findChecklistItemDTOByGuid(checklistItem.guid())).thenReturn(checklistItem);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/checklist-items/{guid}", checklistItem.guid())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldCallEndpointAndUpdateChecklistItemWithStaleIfMatchAndReturn412() throws Exception {
+
+        when(this.checklistItemService.updateChecklistItem(anyString(), anyString(), anyBoolean(), any(LocalDate.class),
+                any(), eq(3L))).thenThrow(new PreconditionFailedException("ChecklistItem was modified, its version does not match."));
+
+        ChecklistItemDTO checklistItemDTO = getChecklistItemDTO("Teste", true, LocalDate.now(), "Teste Category");
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/checklist-items")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .content(objectMapper.writeValueAsString(checklistItemDTO))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldCallEndpointAndPatchChecklistItemWithMalformedIfMatchAndReturn412() throws Exception {
+
+        this.mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/checklist-items/{guid}", UUID.randomUUID().toString())
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .content("{\"isCompleted\": true}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(checklistItemService);
     }
 
     @Test
@@ -83,11 +338,48 @@ class ChecklistItemControllerTest {
                 .andExpect(jsonPath("$.guid").isNotEmpty());
     }
 
+    @Test
+    void shouldCallEndpointWithReplayedIdempotencyKeyAndReturn201WithoutCreating() throws Exception {
+
+        ChecklistItemDTO checklistItemDTO = getChecklistItemDTO("Teste", true, LocalDate.now(), "Teste Category");
+        when(this.idempotencyService.execute(eq("checklist-items"), eq("retry-1"), eq(checklistItemDTO), any()))
+                .thenReturn(new NewResourceDTO("c47c032b"));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/checklist-items")
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                        .content(objectMapper.writeValueAsString(checklistItemDTO))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.guid").value("c47c032b"));
+
+        verifyNoInteractions(checklistItemService);
+    }
+
+    @Test
+    void shouldCallEndpointAndAddNewChecklistItemsInBatchAndReturn201() throws Exception {
+
+        when(this.checklistItemService.addNewChecklistItems(anyList())).thenReturn(List.of(
+                getChecklistItem(1L, "Item 1", false, LocalDate.now(), 1L, "Cat 1"),
+                getChecklistItem(2L, "Item 2", false, LocalDate.now(), 1L, "Cat 1")));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/checklist-items/batch")
+                        .content(objectMapper.writeValueAsString(List.of(
+                                getChecklistItemDTO("Teste 1", true, LocalDate.now(), "Teste Category"),
+                                getChecklistItemDTO("Teste 2", false, LocalDate.now(), "Teste Category")
+                        )))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[*]", hasSize(2)))
+                .andExpect(jsonPath("$[0].guid").isNotEmpty());
+    }
+
     @Test
     void shouldCallEndpointAndUpdateChecklistItemAndReturn204() throws Exception {
 
-        when(this.checklistItemService.addNewChecklistItem(anyString(), anyBoolean(), any(LocalDate.class),
-                anyString())).thenReturn(getChecklistItem(1L, "Item 1", false, LocalDate.now(), 1L, "Cat 1"));
+        when(this.checklistItemService.updateChecklistItem(any(), any(), any(), any(), any(), isNull()))
+                .thenReturn(getChecklistItem(1L, "Item 1", false, LocalDate.now(), 1L, "Cat 1"));
 
         this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/checklist-items")
                         .content(objectMapper.writeValueAsString(
@@ -115,6 +407,8 @@ class ChecklistItemControllerTest {
     void shouldCallEndpointAndPatchChecklistItemAndReturn202() throws Exception {
 
         //when(this.checklistItemService.updateIsCompletedStatus(anyString(), anyBoolean())).thenReturn());
+        when(this.checklistItemService.updateChecklistItem(any(), any(), any(), any(), any(), isNull()))
+                .thenReturn(getChecklistItem(1L, "Item 1", false, LocalDate.now(), 1L, "Cat 1"));
 
         this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/checklist-items")
                         .content(objectMapper.writeValueAsString(
@@ -125,6 +419,33 @@ class ChecklistItemControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void shouldCallEndpointAndPatchChecklistItemsInBulkAndReturn202() throws Exception {
+
+        List<String> guids = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        when(this.checklistItemService.updateIsCompletedStatus(guids, true)).thenReturn(2);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/checklist-items")
+                        .content(objectMapper.writeValueAsString(new BulkUpdateStatusDTO(guids, null, true)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.updated").value(2));
+    }
+
+    @Test
+    void shouldCallEndpointAndPatchChecklistItemsWithGuidsAndCategoryAndReturn422() throws Exception {
+
+        this.mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/checklist-items")
+                        .content(objectMapper.writeValueAsString(
+                                new BulkUpdateStatusDTO(List.of("AnyValue"), "AnyCategory", true)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isUnprocessableEntity());
+
+        verifyNoInteractions(checklistItemService);
+    }
+
     private ChecklistItemDTO getChecklistItemDTO(String description, Boolean isCompleted, LocalDate deadline, String categoryName){
         return ChecklistItemDTO.builder()
                 .guid(UUID.randomUUID().toString())
@@ -154,6 +475,7 @@ class ChecklistItemControllerTest {
         checklistItem.setDescription(description);
         checklistItem.setDeadline(deadline);
         checklistItem.setPostedDate(LocalDate.now());
+        checklistItem.setVersion(4L);
 
         return checklistItem;
     }
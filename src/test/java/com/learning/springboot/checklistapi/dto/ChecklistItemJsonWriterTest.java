@@ -0,0 +1,113 @@
+package com.learning.springboot.checklistapi.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ChecklistItemJsonWriterTest {
+
+    private static final LocalDate DEADLINE = LocalDate.of(2023, 11, 17);
+
+    private final ObjectMapper objectMapper = objectMapper(false);
+    private final ObjectMapper reflectiveObjectMapper = objectMapper(true);
+
+    @Test
+    void shouldWriteTheSameBytesAsTheReflectiveSerialization() throws Exception {
+        //having
+        ChecklistItemDTO complete = new ChecklistItemDTO(1L, "01a14c03-c1fe-7547-9270-f7bc805bc0b5",
+                "Buy \"milk\" & café ☕\n\t\\", true, DEADLINE, DEADLINE.minusDays(3), "c47c032b", "Trabalho</>", 4L);
+        ChecklistItemDTO empty = new ChecklistItemDTO(null, null, null, null, null, null, null, null, null);
+        ChecklistItemDTO uncategorized = new ChecklistItemDTO(2L, "guid", "", false,
+                DEADLINE.plusDays(4096), LocalDate.of(-1, 1, 1), "category-guid", null, null);
+        List<Object> payloads = List.of(complete, empty, uncategorized,
+                new ChecklistItemPageDTO(List.of(complete, empty, uncategorized, complete), "next"),
+                new ChecklistItemChangesDTO(List.of(uncategorized), List.of("deleted"), "token", false),
+                ChangeEventDTO.checklistItem(ChangeEventDTO.Type.UPDATED, complete),
+                ChangeEventDTO.category(ChangeEventDTO.Type.CREATED, new CategoryDTO("c47c032b", null)),
+                List.of(new CategoryDTO("c47c032b", "Trabalho"), new CategoryDTO(null, "Casa")));
+
+        //then
+        for(Object payload : payloads){
+            assertThat(this.objectMapper.writeValueAsString(payload),
+                    is(this.reflectiveObjectMapper.writeValueAsString(payload)));
+        }
+    }
+
+    @Test
+    void shouldWriteEntitiesLikeTheirDTOs() throws Exception {
+        //having
+        CategoryEntity category = new CategoryEntity();
+        category.setGuid("c47c032b");
+        category.setName("Trabalho");
+        ChecklistItemEntity checklistItem = new ChecklistItemEntity();
+        checklistItem.setGuid("01a14c03-c1fe-7547-9270-f7bc805bc0b5");
+        checklistItem.setDescription("Item \"1\"");
+        checklistItem.setIsCompleted(false);
+        checklistItem.setDeadline(DEADLINE);
+        checklistItem.setPostedDate(DEADLINE);
+        checklistItem.setCategory(category);
+        ChecklistItemEntity uncategorized = new ChecklistItemEntity();
+        uncategorized.setGuid("guid");
+
+        //then
+        for(ChecklistItemEntity entity : List.of(checklistItem, uncategorized)){
+            assertThat(this.writeEntity(this.objectMapper, entity),
+                    is(this.reflectiveObjectMapper.writeValueAsString(ChecklistItemDTO.toDTO(entity))));
+        }
+    }
+
+    @Test
+    void shouldLeaveDatesToTheMapperWhenItWritesTimestamps() throws Exception {
+        //having
+        ObjectMapper timestampsObjectMapper = objectMapper(false).enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper reflectiveTimestampsObjectMapper = objectMapper(true).enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ChecklistItemDTO checklistItem = new ChecklistItemDTO(1L, "guid", "Item", true, DEADLINE, null,
+                "c47c032b", "Trabalho", 0L);
+
+        //when
+        String json = timestampsObjectMapper.writeValueAsString(checklistItem);
+
+        //then
+        assertThat(json, is(reflectiveTimestampsObjectMapper.writeValueAsString(checklistItem)));
+        assertThat(json.contains("\"deadline\":[2023,11,17]"), is(true));
+    }
+
+    private String writeEntity(ObjectMapper mapper, ChecklistItemEntity checklistItem) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try(JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)){
+            ChecklistItemJsonWriter.writeChecklistItem(generator, mapper.getSerializerProviderInstance(), checklistItem,
+                    checklistItem.getIsCompleted());
+        }
+        return outputStream.toString();
+    }
+
+    /**
+     * Configured like the application's mapper; the reflective one ignores the DTO serializers through a mix-in.
+     */
+    private static ObjectMapper objectMapper(boolean reflective){
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if(reflective){
+            builder.mixIn(ChecklistItemDTO.class, ReflectiveSerialization.class)
+                    .mixIn(CategoryDTO.class, ReflectiveSerialization.class);
+        }
+        return builder.build();
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class ReflectiveSerialization {
+    }
+}
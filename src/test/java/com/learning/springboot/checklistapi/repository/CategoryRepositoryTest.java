@@ -0,0 +1,94 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Runs without the usual test transaction so that every repository call commits and the second-level and query
+ * caches are populated and invalidated the same way they are in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryRepositoryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private CategoryEntity category;
+
+    @BeforeEach
+    public void initTest(){
+        category = new CategoryEntity();
+        category.setGuid(UUID.randomUUID().toString());
+        category.setName("Trabalho");
+        category = categoryRepository.save(category);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanUp(){
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromTheQueryAndSecondLevelCaches(){
+
+        categoryRepository.findByGuid(category.getGuid());
+        categoryRepository.findByName("Trabalho");
+        CategoryEntity cached = categoryRepository.findByGuid(category.getGuid()).orElseThrow();
+        categoryRepository.findByName("Trabalho");
+        categoryRepository.findById(category.getId());
+
+        assertThat(cached.getName(), is("Trabalho"));
+        assertThat(statistics.getPrepareStatementCount(), is(2L));
+        assertThat(statistics.getQueryCacheHitCount(), is(2L));
+        assertThat(statistics.getDomainDataRegionStatistics("category").getHitCount(), is(1L));
+    }
+
+    @Test
+    void shouldInvalidateCachedLookupsWhenACategoryIsRenamed(){
+        categoryRepository.findByGuid(category.getGuid());
+        categoryRepository.findByName("Trabalho");
+
+        category.setName("Casa");
+        categoryRepository.save(category);
+
+        assertThat(categoryRepository.findByName("Trabalho").isPresent(), is(false));
+        assertThat(categoryRepository.findByName("Casa").map(CategoryEntity::getGuid).orElseThrow(), is(category.getGuid()));
+        assertThat(categoryRepository.findByGuid(category.getGuid()).map(CategoryEntity::getName).orElseThrow(), is("Casa"));
+    }
+
+    @Test
+    void shouldReadTheCategoryListFromTheTableOnEveryCall(){
+
+        categoryRepository.findAll();
+        List<CategoryDTO> first = categoryRepository.findAllDTOs();
+        List<CategoryDTO> second = categoryRepository.findAllDTOs();
+
+        assertThat(second, is(first));
+        assertThat(first, is(List.of(new CategoryDTO(category.getGuid(), "Trabalho"))));
+        assertThat(statistics.getPrepareStatementCount(), is(3L));
+        assertThat(statistics.getQueryCacheHitCount(), is(0L));
+    }
+}
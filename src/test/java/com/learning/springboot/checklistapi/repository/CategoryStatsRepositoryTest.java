@@ -0,0 +1,124 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.dto.CategoryStatsDTO;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.entity.CategoryStatsEntity;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@DataJpaTest
+class CategoryStatsRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2023, 11, 17);
+
+    @Autowired
+    private CategoryStatsRepository categoryStatsRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private CategoryEntity category;
+    private String overdueItemGuid;
+    private String upcomingItemGuid;
+
+    @BeforeEach
+    public void initTest(){
+        category = new CategoryEntity();
+        category.setGuid(UUID.randomUUID().toString());
+        category.setName("Trabalho");
+        testEntityManager.persist(category);
+
+        overdueItemGuid = persistChecklistItem(false, TODAY.minusDays(1));
+        upcomingItemGuid = persistChecklistItem(false, TODAY.plusDays(1));
+        persistChecklistItem(true, TODAY.minusDays(1));
+
+        CategoryEntity emptyCategory = new CategoryEntity();
+        emptyCategory.setGuid(UUID.randomUUID().toString());
+        emptyCategory.setName("Casa");
+        testEntityManager.persist(emptyCategory);
+
+        testEntityManager.persist(new CategoryStatsEntity(category.getId(), 3L, 1L, 1L));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void shouldCountChecklistItemsPerCategory(){
+        List<CategoryStatsEntity> counted = categoryStatsRepository.countByCategoryIds(List.of(category.getId()), TODAY);
+
+        assertThat(counted, hasSize(1));
+        assertThat(counted.get(0).getTotal(), is(3L));
+        assertThat(counted.get(0).getCompleted(), is(1L));
+        assertThat(counted.get(0).getOverdue(), is(1L));
+    }
+
+    @Test
+    void shouldListStatsOfEveryCategoryIncludingThoseWithoutCounters(){
+        List<CategoryStatsDTO> stats = categoryStatsRepository.findAllStats();
+
+        assertThat(stats, hasSize(2));
+        assertThat(stats.get(0), is(new CategoryStatsDTO(stats.get(0).guid(), "Casa", 0, 0, 0)));
+        assertThat(stats.get(1), is(new CategoryStatsDTO(category.getGuid(), "Trabalho", 3, 1, 1)));
+    }
+
+    @Test
+    void shouldMoveOverdueCounterOnlyWhenCompletingAnOverdueItem(){
+        categoryStatsRepository.applyCompletedStatusChange(overdueItemGuid, 1, TODAY);
+        categoryStatsRepository.applyCompletedStatusChange(upcomingItemGuid, 1, TODAY);
+        testEntityManager.clear();
+
+        CategoryStatsEntity stats = categoryStatsRepository.findById(category.getId()).orElseThrow();
+        assertThat(stats.getTotal(), is(3L));
+        assertThat(stats.getCompleted(), is(3L));
+        assertThat(stats.getOverdue(), is(0L));
+    }
+
+    @Test
+    void shouldCountWhatTheGivenItemsContributeToTheirCategory(){
+        List<CategoryStatsEntity> counted = categoryStatsRepository.countByChecklistItemGuids(
+                List.of(overdueItemGuid, upcomingItemGuid), TODAY);
+
+        assertThat(counted, hasSize(1));
+        assertThat(counted.get(0).getCategoryId(), is(category.getId()));
+        assertThat(counted.get(0).getTotal(), is(2L));
+        assertThat(counted.get(0).getCompleted(), is(0L));
+        assertThat(counted.get(0).getOverdue(), is(1L));
+    }
+
+    @Test
+    void shouldReportTheDriftBetweenCountedAndStoredCounters(){
+        categoryStatsRepository.addToCounters(category.getId(), 2, -1, 3);
+
+        List<CategoryStatsDrift> drift = categoryStatsRepository.findDriftByCategoryIds(List.of(category.getId()), TODAY);
+
+        assertThat(drift, is(List.of(new CategoryStatsDrift(category.getId(), -2L, 1L, -3L))));
+    }
+
+    @Test
+    void shouldLockEveryStatsRow(){
+        assertThat(categoryStatsRepository.findAllCategoryIdsWithLock(), is(List.of(category.getId())));
+    }
+
+    private String persistChecklistItem(boolean isCompleted, LocalDate deadline){
+        ChecklistItemEntity checklistItem = new ChecklistItemEntity();
+        checklistItem.setGuid(UUID.randomUUID().toString());
+        checklistItem.setDescription("Item");
+        checklistItem.setIsCompleted(isCompleted);
+        checklistItem.setDeadline(deadline);
+        checklistItem.setPostedDate(TODAY);
+        checklistItem.setCategory(category);
+        testEntityManager.persist(checklistItem);
+        return checklistItem.getGuid();
+    }
+}
@@ -0,0 +1,231 @@
+package com.learning.springboot.checklistapi.repository;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemFilterDTO;
+import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.entity.GuidGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ChecklistItemRepositoryTest {
+
+    @Autowired
+    private ChecklistItemRepository checklistItemRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String firstItemGuid;
+
+    @BeforeEach
+    public void initTest(){
+        for(int c = 0; c < 3; c++){
+            CategoryEntity category = new CategoryEntity();
+            category.setGuid(UUID.randomUUID().toString());
+            category.setName("Category " + c);
+            testEntityManager.persist(category);
+
+            for(int i = 0; i < 4; i++){
+                ChecklistItemEntity checklistItem = new ChecklistItemEntity();
+                checklistItem.setGuid(UUID.randomUUID().toString());
+                checklistItem.setDescription("Item " + c + "-" + i);
+                checklistItem.setIsCompleted(false);
+                checklistItem.setDeadline(LocalDate.of(2023, 11, 17).plusDays(i));
+                checklistItem.setPostedDate(LocalDate.now());
+                checklistItem.setCategory(category);
+                testEntityManager.persist(checklistItem);
+                if(firstItemGuid == null){
+                    firstItemGuid = checklistItem.getGuid();
+                }
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadAPageOfDTOsWithASingleStatement(){
+
+        Slice<ChecklistItemDTO> page = checklistItemRepository.findPage(
+                ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, null, null, 5);
+
+        assertThat(page.getContent(), hasSize(5));
+        assertThat(page.hasNext(), is(true));
+        assertThat(page.getContent().get(0).categoryDTO().name(), is("Category 0"));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+        assertThat(statistics.getEntityLoadCount(), is(0L));
+    }
+
+    @Test
+    void shouldLoadNextPageOfDTOsWithASingleStatement(){
+
+        Slice<ChecklistItemDTO> firstPage = checklistItemRepository.findPage(
+                ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, null, null, 5);
+        ChecklistItemDTO last = firstPage.getContent().get(4);
+        statistics.clear();
+
+        Slice<ChecklistItemDTO> nextPage = checklistItemRepository.findPage(
+                ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, last.deadline(), last.id(), 10);
+
+        assertThat(nextPage.getContent(), hasSize(7));
+        assertThat(nextPage.hasNext(), is(false));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+    }
+
+    @Test
+    void shouldCombineFiltersAndPageInDescendingOrderWithASingleStatementPerPage(){
+
+        ChecklistItemDTO anyItem = checklistItemRepository.findDTOByGuid(firstItemGuid).orElseThrow();
+        ChecklistItemFilterDTO filter = new ChecklistItemFilterDTO(anyItem.categoryDTO().guid(), false,
+                LocalDate.of(2023, 11, 18), LocalDate.of(2023, 11, 20), null, LocalDate.now());
+        statistics.clear();
+
+        Slice<ChecklistItemDTO> firstPage = checklistItemRepository.findPage(
+                filter, ChecklistItemSort.DEADLINE_DESC, null, null, 2);
+        ChecklistItemDTO last = firstPage.getContent().get(1);
+        Slice<ChecklistItemDTO> nextPage = checklistItemRepository.findPage(
+                filter, ChecklistItemSort.DEADLINE_DESC, last.deadline(), last.id(), 2);
+
+        assertThat(firstPage.getContent().stream().map(ChecklistItemDTO::description).toList(),
+                is(List.of("Item 0-3", "Item 0-2")));
+        assertThat(firstPage.hasNext(), is(true));
+        assertThat(nextPage.getContent().stream().map(ChecklistItemDTO::description).toList(),
+                is(List.of("Item 0-1")));
+        assertThat(nextPage.hasNext(), is(false));
+        assertThat(statistics.getPrepareStatementCount(), is(2L));
+    }
+
+    @Test
+    void shouldLoadDTOByGuidWithASingleStatement(){
+
+        ChecklistItemDTO checklistItem = checklistItemRepository.findDTOByGuid(firstItemGuid).orElseThrow();
+
+        assertThat(checklistItem.guid(), is(firstItemGuid));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+        assertThat(statistics.getEntityLoadCount(), is(0L));
+    }
+
+    @Test
+    void shouldUpdateCompletedStatusOfACategoryWithASingleStatement(){
+
+        String categoryGuid = checklistItemRepository.findDTOByGuid(firstItemGuid).orElseThrow().categoryDTO().guid();
+        statistics.clear();
+
+        int updated = checklistItemRepository.updateIsCompletedByCategoryGuid(categoryGuid, true);
+
+        assertThat(updated, is(4));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+        assertThat(checklistItemRepository.updateIsCompletedByCategoryGuid(categoryGuid, true), is(0));
+        assertThat(checklistItemRepository.updateIsCompletedByGuidIn(List.of(firstItemGuid), true), is(0));
+        assertThat(checklistItemRepository.findGuidsWithLockByGuidInAndIsCompletedNot(List.of(firstItemGuid), false),
+                is(List.of(firstItemGuid)));
+        assertThat(checklistItemRepository.findGuidsWithLockByGuidInAndIsCompletedNot(List.of(firstItemGuid), true),
+                is(List.of()));
+        assertThat(checklistItemRepository.updateIsCompletedByGuid("unknown", true), is(0));
+    }
+
+    @Test
+    void shouldStoreTimeOrderedGuidsAndTreatMalformedGuidsAsNotFound(){
+
+        long before = System.currentTimeMillis();
+        String first = GuidGenerator.newGuid();
+        ChecklistItemEntity checklistItem = new ChecklistItemEntity();
+        checklistItem.setGuid(first);
+        checklistItem.setDescription("Time ordered");
+        checklistItem.setDeadline(LocalDate.now());
+        testEntityManager.persistAndFlush(checklistItem);
+        testEntityManager.clear();
+
+        assertThat(UUID.fromString(first).version(), is(7));
+        assertThat(UUID.fromString(first).getMostSignificantBits() >>> 16 >= before, is(true));
+        assertThat(checklistItemRepository.findByGuid(first).orElseThrow().getGuid(), is(first));
+        assertThat(checklistItemRepository.findByGuid("not-a-guid").isPresent(), is(false));
+    }
+
+    @Test
+    void shouldStreamAllChecklistItemsWithTheirCategoriesInASingleStatement(){
+
+        try(Stream<ChecklistItemEntity> checklistItems = checklistItemRepository.streamAll()){
+            assertThat(checklistItems.map(ChecklistItemDTO::toDTO).toList(), hasSize(12));
+        }
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+    }
+
+    @Test
+    void shouldBatchInsertsWhenSavingManyChecklistItems(){
+
+        CategoryEntity category = testEntityManager.find(CategoryEntity.class,
+                checklistItemRepository.findByGuid(firstItemGuid).orElseThrow().getCategory().getId());
+        List<ChecklistItemEntity> checklistItems = IntStream.range(0, 200).mapToObj(i -> {
+            ChecklistItemEntity checklistItem = new ChecklistItemEntity();
+            checklistItem.setGuid(UUID.randomUUID().toString());
+            checklistItem.setDescription("Batch item " + i);
+            checklistItem.setIsCompleted(false);
+            checklistItem.setDeadline(LocalDate.now());
+            checklistItem.setCategory(category);
+            return checklistItem;
+        }).toList();
+        statistics.clear();
+
+        checklistItemRepository.saveAll(checklistItems);
+        testEntityManager.flush();
+
+        // a handful of id allocations plus one prepared insert reused by every JDBC batch
+        assertThat(statistics.getEntityInsertCount(), is(200L));
+        assertThat(statistics.getPrepareStatementCount(), lessThan(10L));
+    }
+
+    @Test
+    void shouldReadChangesAfterAChangeSequenceWithASingleStatement(){
+
+        checklistItemRepository.initializeChangeSequence();
+        checklistItemRepository.updateChangeSequenceByGuid(firstItemGuid, 5L);
+        statistics.clear();
+
+        List<ChecklistItemChange> allChanges = checklistItemRepository.findChangesAfter(-1L, 0L, PageRequest.ofSize(20));
+        List<ChecklistItemChange> latestChanges = checklistItemRepository.findChangesAfter(0L, Long.MAX_VALUE,
+                PageRequest.ofSize(20));
+
+        assertThat(allChanges, hasSize(12));
+        assertThat(allChanges.get(11).checklistItem().guid(), is(firstItemGuid));
+        assertThat(latestChanges, hasSize(1));
+        assertThat(latestChanges.get(0).changeSequence(), is(5L));
+        assertThat(latestChanges.get(0).checklistItem().categoryDTO().name(), is("Category 0"));
+        assertThat(statistics.getPrepareStatementCount(), is(2L));
+    }
+
+    @Test
+    void shouldFanOutIntoCategorySelectsWhenLoadingEntities(){
+
+        checklistItemRepository.findAll().forEach(ChecklistItemDTO::toDTO);
+
+        assertThat(statistics.getPrepareStatementCount(), greaterThan(1L));
+    }
+}
@@ -1,7 +1,9 @@
 package com.learning.springboot.checklistapi.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.springboot.checklistapi.dto.CategoryDTO;
 import com.learning.springboot.checklistapi.entity.CategoryEntity;
-import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.exception.PreconditionFailedException;
 import com.learning.springboot.checklistapi.exception.ResourceNotFoundException;
 import com.learning.springboot.checklistapi.exception.ValidationException;
 import com.learning.springboot.checklistapi.repository.CategoryRepository;
@@ -9,15 +11,22 @@ import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -28,13 +37,24 @@ class CategoryServiceTest {
 
     private CategoryService categoryService;
     @Mock
-    private ChecklistItemRepository checklistItemRepository;
+    private CategoryStatsService categoryStatsService;
     @Mock
     private CategoryRepository categoryRepository;
+    private CategoryCache categoryCache;
+    private CategoryListCache categoryListCache;
+    @Mock
+    private ChangeVersionService changeVersionService;
+    @Mock
+    private ChangeFeedService changeFeedService;
+    @Mock
+    private ChecklistItemRepository checklistItemRepository;
 
     @BeforeEach
     public void initTest(){
-        this.categoryService = new CategoryService(categoryRepository, checklistItemRepository);
+        this.categoryCache = new CategoryCache(categoryRepository);
+        this.categoryListCache = this.categoryListCache(Duration.ofMinutes(1));
+        this.categoryService = new CategoryService(categoryRepository, categoryCache, categoryListCache,
+                changeVersionService, categoryStatsService, changeFeedService, checklistItemRepository);
     }
 
     @Test
@@ -55,6 +75,48 @@ class CategoryServiceTest {
         );
     }
 
+    @Test
+    void shouldRebuildCategoryListSnapshotOnlyAfterAMutation(){
+        //having
+        CategoryEntity savedCategory = new CategoryEntity();
+        savedCategory.setGuid(UUID.randomUUID().toString());
+        savedCategory.setName("Teste");
+        when(categoryRepository.findAllDTOs()).thenReturn(List.of()).thenReturn(List.of(CategoryDTO.toDTO(savedCategory)));
+        when(categoryRepository.save(any(CategoryEntity.class))).thenReturn(savedCategory);
+
+        //when
+        CategoryListCache.Snapshot first = categoryListCache.getSnapshot();
+        CategoryListCache.Snapshot cached = categoryListCache.getSnapshot();
+        this.categoryService.addNewCategory("Teste");
+        CategoryListCache.Snapshot rebuilt = categoryListCache.getSnapshot();
+
+        //then
+        verify(categoryRepository, times(2)).findAllDTOs();
+        assertThat(cached, is(sameInstance(first)));
+        assertThat(new String(first.json()), is("[]"));
+        assertThat(rebuilt.etag(), is(not(first.etag())));
+        assertThat(new String(rebuilt.json()), is("[{\"guid\":\"" + savedCategory.getGuid() + "\",\"name\":\"Teste\"}]"));
+    }
+
+    @Test
+    void shouldRebuildCategoryListSnapshotAfterAMutationOnAnotherInstance(){
+        //having
+        CategoryListCache revalidatingCategoryListCache = this.categoryListCache(Duration.ZERO);
+        when(categoryRepository.findAllDTOs()).thenReturn(List.of())
+                .thenReturn(List.of(new CategoryDTO("c47c032b", "Trabalho")));
+        when(changeVersionService.currentChangeVersion()).thenReturn(7L, 7L, 8L);
+
+        //when
+        CategoryListCache.Snapshot first = revalidatingCategoryListCache.getSnapshot();
+        CategoryListCache.Snapshot unchanged = revalidatingCategoryListCache.getSnapshot();
+        CategoryListCache.Snapshot rebuilt = revalidatingCategoryListCache.getSnapshot();
+
+        //then
+        verify(categoryRepository, times(2)).findAllDTOs();
+        assertThat(unchanged, is(sameInstance(first)));
+        assertThat(new String(rebuilt.json()), is("[{\"guid\":\"c47c032b\",\"name\":\"Trabalho\"}]"));
+    }
+
     @Test
     void shouldThrowAnExceptionWhenCategoryNameIsNullOrEmpty(){
         Exception exception = assertThrows(IllegalArgumentException.class, () -> this.categoryService.addNewCategory(null));
@@ -76,7 +138,7 @@ class CategoryServiceTest {
         when(categoryRepository.save((any(CategoryEntity.class)))).thenReturn(new CategoryEntity());
 
         //then
-        CategoryEntity category = this.categoryService.updateCategory(guid, name);
+        CategoryEntity category = this.categoryService.updateCategory(guid, name, null);
         assertNotNull(category);
         verify(categoryRepository, times(1)).save(
                 argThat(categoryArg -> categoryArg.getName().equals(name)
@@ -84,10 +146,74 @@ class CategoryServiceTest {
         );
     }
 
+    @Test
+    void shouldInvalidateCachedCategoryWhenUpdatingIt(){
+        //having
+        String guid = UUID.randomUUID().toString();
+        CategoryEntity savedCategory = new CategoryEntity();
+        savedCategory.setGuid(guid);
+        savedCategory.setName("old");
+        when(categoryRepository.findByGuid(guid)).thenReturn(Optional.of(savedCategory));
+        when(categoryRepository.findByName("old")).thenReturn(Optional.of(savedCategory));
+        categoryCache.findByGuid(guid);
+        categoryCache.findGuidByName("old");
+
+        //when
+        this.categoryService.updateCategory(guid, "new", null);
+        when(categoryRepository.findByName("old")).thenReturn(Optional.empty());
+
+        //then
+        assertThat(categoryCache.findByGuid(guid).orElseThrow().getName(), is("new"));
+        assertThat(categoryCache.findGuidByName("old").isPresent(), is(false));
+        assertThat(categoryCache.guidStats().missCount(), is(2L));
+    }
+
+    @Test
+    void shouldStampChecklistItemsWithTheChangeVersionWhenRenamingCategory(){
+        //having
+        String guid = UUID.randomUUID().toString();
+        CategoryEntity savedCategory = new CategoryEntity();
+        savedCategory.setId(7L);
+        savedCategory.setGuid(guid);
+        savedCategory.setName("old");
+        when(categoryRepository.findByGuid(guid)).thenReturn(Optional.of(savedCategory));
+        when(checklistItemRepository.findIdsWithLockByCategoryId(7L)).thenReturn(List.of(1L, 2L));
+        when(changeVersionService.bumpChangeVersion()).thenReturn(42L);
+
+        //when
+        this.categoryService.updateCategory(guid, "new", null);
+
+        //then
+        InOrder inOrder = inOrder(checklistItemRepository, changeVersionService);
+        inOrder.verify(checklistItemRepository).findIdsWithLockByCategoryId(7L);
+        inOrder.verify(changeVersionService).bumpChangeVersion();
+        inOrder.verify(checklistItemRepository).updateChangeSequenceByCategoryId(7L, 42L);
+    }
+
+    @Test
+    void shouldRejectCategoryUpdateWhenExpectedVersionDoesNotMatch(){
+        //having
+        String guid = UUID.randomUUID().toString();
+        CategoryEntity savedCategory = new CategoryEntity();
+        savedCategory.setGuid(guid);
+        savedCategory.setName("old");
+        savedCategory.setVersion(5L);
+        when(categoryRepository.findByGuid(guid)).thenReturn(Optional.of(savedCategory));
+
+        //when
+        Exception exception = assertThrows(PreconditionFailedException.class, () ->
+                this.categoryService.updateCategory(guid, "new", 4L));
+
+        //then
+        assertThat(exception.getMessage(), is("Category was modified, its version does not match."));
+        assertThat(savedCategory.getName(), is("old"));
+        verify(categoryRepository, never()).save(any(CategoryEntity.class));
+    }
+
     @Test
     void shouldThrowAnExceptionWhenTryToUpdateAndCategoryGuidIsNullOrEmpty(){
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
-                this.categoryService.updateCategory("", "Sample Name"));
+                this.categoryService.updateCategory("", "Sample Name", null));
 
         assertThat(exception.getMessage(), is("Invalid parameters provided to update a category"));
     }
@@ -95,7 +221,7 @@ class CategoryServiceTest {
     @Test
     void shouldThrowAnExceptionWhenTryToUpdateAndCategoryNameIsNullOrEmpty(){
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
-                this.categoryService.updateCategory("anyValue", ""));
+                this.categoryService.updateCategory("anyValue", "", null));
 
         assertThat(exception.getMessage(), is("Invalid parameters provided to update a category"));
     }
@@ -105,7 +231,7 @@ class CategoryServiceTest {
         when(categoryRepository.findByGuid(anyString())).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ResourceNotFoundException.class, () ->
-                this.categoryService.updateCategory("anyValue", "anyName"));
+                this.categoryService.updateCategory("anyValue", "anyName", null));
 
         assertThat(exception.getMessage(), is("Category not found."));
     }
@@ -122,6 +248,8 @@ class CategoryServiceTest {
 
         //then
         categoryService.deleteCategory(guid);
+        verify(categoryRepository, times(1)).delete(savedCategory);
+        verify(categoryStatsService, times(1)).categoryDeleted(savedCategory.getId());
     }
     @Test
     void shouldThrowAnExceptionWhenTryToDeleteAndCategoryAndItDoesNotExist(){
@@ -135,13 +263,12 @@ class CategoryServiceTest {
 
     @Test
     void shouldThrowAnExceptionWhenTryToDeleteAndCategoryAndChecklistItemExist(){
-        ChecklistItemEntity checklistItem = new ChecklistItemEntity();
         CategoryEntity savedCategory = new CategoryEntity();
+        savedCategory.setId(1L);
         String guid = "anyValue";
-        checklistItem.setGuid(guid);
 
         when(categoryRepository.findByGuid(guid)).thenReturn(Optional.of(savedCategory));
-        when(checklistItemRepository.findByCategoryGuid(guid)).thenReturn(List.of(checklistItem));
+        when(categoryStatsService.hasChecklistItems(1L)).thenReturn(true);
 
         Exception exception = assertThrows(ValidationException.class, () ->
                 this.categoryService.deleteCategory("anyValue"));
@@ -187,4 +314,9 @@ class CategoryServiceTest {
         //then
         categoryService.findCategoryByGuid(guid);
     }
-}
\ No newline at end of file
+
+    private CategoryListCache categoryListCache(Duration ttl){
+        return new CategoryListCache(categoryRepository, changeVersionService, new ObjectMapper(),
+                Clock.fixed(Instant.parse("2023-11-17T10:00:00Z"), ZoneOffset.UTC), ttl);
+    }
+}
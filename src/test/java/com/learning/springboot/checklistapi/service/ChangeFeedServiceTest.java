@@ -0,0 +1,197 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.springboot.checklistapi.dto.ChangeEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChangeFeedServiceTest {
+
+    private ChangeFeedService changeFeedService;
+
+    @AfterEach
+    public void cleanUp(){
+        changeFeedService.shutdown();
+    }
+
+    @Test
+    void shouldSendTheSameCommittedEventToEverySubscriber() throws InterruptedException {
+        //having
+        changeFeedService = newChangeFeedService(16, ChangeFeedService.OverflowPolicy.DROP);
+        RecordingEmitter first = new RecordingEmitter(new CountDownLatch(0));
+        RecordingEmitter second = new RecordingEmitter(new CountDownLatch(0));
+        changeFeedService.subscribe(first);
+        changeFeedService.subscribe(second);
+
+        //when
+        changeFeedService.publish(ChangeEventDTO.checklistItemStatusChanged("guid", true));
+
+        //then
+        assertThat(first.awaitFrames(2).get(1), containsString("\"type\":\"STATUS_CHANGED\""));
+        assertThat(second.awaitFrames(2).get(1), containsString("\"guid\":\"guid\""));
+    }
+
+    @Test
+    void shouldReplaceTheBacklogOfASlowSubscriberWithAResync() throws InterruptedException {
+        //having
+        changeFeedService = newChangeFeedService(2, ChangeFeedService.OverflowPolicy.DROP);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        changeFeedService.subscribe(slow);
+        slow.awaitBlocked();
+
+        //when
+        for(int i = 0; i < 5; i++){
+            changeFeedService.publish(ChangeEventDTO.checklistItemDeleted("guid-" + i));
+        }
+        release.countDown();
+
+        //then
+        List<String> frames = slow.awaitFrames(2);
+        assertThat(frames.get(frames.size() - 1), containsString("RESYNC"));
+        assertThat(changeFeedService.subscriberCount(), is(1));
+    }
+
+    @Test
+    void shouldDisconnectASlowSubscriber() throws InterruptedException {
+        //having
+        changeFeedService = newChangeFeedService(1, ChangeFeedService.OverflowPolicy.DISCONNECT);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        changeFeedService.subscribe(slow);
+        slow.awaitBlocked();
+
+        //when
+        for(int i = 0; i < 3; i++){
+            changeFeedService.publish(ChangeEventDTO.checklistItemDeleted("guid-" + i));
+        }
+        release.countDown();
+
+        //then
+        assertThat(changeFeedService.subscriberCount(), is(0));
+    }
+
+    @Test
+    void shouldNeverAdmitMoreSubscribersThanTheLimit() throws InterruptedException {
+        //having
+        changeFeedService = newChangeFeedService(16, ChangeFeedService.OverflowPolicy.DROP, 10);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < 50; i++){
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    changeFeedService.subscribe(new RecordingEmitter(new CountDownLatch(0)));
+                } catch (ResponseStatusException e){
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        //when
+        start.countDown();
+        for(Thread thread : threads){
+            thread.join();
+        }
+
+        //then
+        assertThat(changeFeedService.subscriberCount(), is(10));
+        assertThat(rejected.get(), is(40));
+    }
+
+    @Test
+    void shouldFreeTheSlotOfAGoneSubscriber() throws InterruptedException {
+        //having
+        changeFeedService = newChangeFeedService(16, ChangeFeedService.OverflowPolicy.DROP, 1);
+        RecordingEmitter gone = new RecordingEmitter(new CountDownLatch(0)){
+            @Override
+            public void send(Set<DataWithMediaType> frame){
+                throw new IllegalStateException("ResponseBodyEmitter has already completed");
+            }
+        };
+        changeFeedService.subscribe(gone);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(changeFeedService.subscriberCount() > 0 && System.nanoTime() < deadline){
+            Thread.sleep(10);
+        }
+
+        //when
+        RecordingEmitter next = new RecordingEmitter(new CountDownLatch(0));
+        changeFeedService.subscribe(next);
+
+        //then
+        assertThat(next.awaitFrames(1), hasSize(1));
+        assertThrows(ResponseStatusException.class,
+                () -> changeFeedService.subscribe(new RecordingEmitter(new CountDownLatch(0))));
+    }
+
+    private ChangeFeedService newChangeFeedService(int bufferSize, ChangeFeedService.OverflowPolicy overflowPolicy){
+        return newChangeFeedService(bufferSize, overflowPolicy, 10);
+    }
+
+    private ChangeFeedService newChangeFeedService(int bufferSize, ChangeFeedService.OverflowPolicy overflowPolicy,
+                                                   int maxSubscribers){
+        return new ChangeFeedService(new ObjectMapper(), new SimpleMeterRegistry(), bufferSize, overflowPolicy,
+                maxSubscribers, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Records every frame as text, blocking sends until released to stand in for a slow client.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch release){
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> frame){
+            this.blocked.countDown();
+            try {
+                this.release.await();
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            this.frames.add(frame.stream().map(data -> data.getData().toString()).collect(Collectors.joining()));
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertThat(this.blocked.await(5, TimeUnit.SECONDS), is(true));
+        }
+
+        List<String> awaitFrames(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while(this.frames.size() < count && System.nanoTime() < deadline){
+                Thread.sleep(10);
+            }
+            assertThat(this.frames, hasSize(count));
+            return this.frames;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemChangesDTO;
+import com.learning.springboot.checklistapi.entity.ChecklistItemTombstoneEntity;
+import com.learning.springboot.checklistapi.exception.ChangeTokenExpiredException;
+import com.learning.springboot.checklistapi.repository.ChecklistItemChange;
+import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import com.learning.springboot.checklistapi.repository.ChecklistItemTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChecklistItemChangesServiceTest {
+
+    private static final Instant NOW = Instant.parse("2023-11-17T10:00:00Z");
+
+    private ChecklistItemChangesService checklistItemChangesService;
+    @Mock
+    private ChecklistItemRepository checklistItemRepository;
+    @Mock
+    private ChecklistItemTombstoneRepository checklistItemTombstoneRepository;
+
+    @BeforeEach
+    public void initTest(){
+        this.checklistItemChangesService = new ChecklistItemChangesService(checklistItemRepository,
+                checklistItemTombstoneRepository, new CompletedStatusBuffer(false, 500),
+                Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofDays(30));
+    }
+
+    @Test
+    void shouldMergeChangedItemsAndTombstonesByChangeSequence(){
+        //having
+        ChecklistItemChangeToken since = new ChecklistItemChangeToken(10, false, 3, NOW.minusSeconds(60));
+        when(checklistItemRepository.findChangesAfter(eq(10L), eq(3L), any())).thenReturn(List.of(
+                change(11L, 4L, "item-4"), change(13L, 1L, "item-1"), change(14L, 2L, "item-2")));
+        when(checklistItemTombstoneRepository.findChangesAfter(eq(10L), eq(0L),
+                eq(since.issuedAt().minus(ChecklistItemChangesService.PURGE_GRACE)), any())).thenReturn(List.of(
+                tombstone(11L, 7L, "deleted-7"), tombstone(12L, 8L, "deleted-8")));
+
+        //when
+        ChecklistItemChangesDTO changes = this.checklistItemChangesService.findChanges(since, 4);
+
+        //then
+        assertThat(changes.changed().stream().map(item -> item.guid()).toList(), contains("item-4", "item-1"));
+        assertThat(changes.deleted(), contains("deleted-7", "deleted-8"));
+        assertThat(changes.hasMore(), is(true));
+        ChecklistItemChangeToken next = ChecklistItemChangeToken.decode(changes.next());
+        assertThat(next, is(new ChecklistItemChangeToken(13, false, 1, since.issuedAt())));
+    }
+
+    @Test
+    void shouldSkipItemsOfTheSameChangeSequenceWhenContinuingAfterATombstone(){
+        //having
+        ChecklistItemChangeToken since = new ChecklistItemChangeToken(12, true, 8, NOW.minusSeconds(60));
+        when(checklistItemRepository.findChangesAfter(eq(12L), eq(Long.MAX_VALUE), any())).thenReturn(List.of());
+        when(checklistItemTombstoneRepository.findChangesAfter(eq(12L), eq(8L), any(), any())).thenReturn(List.of());
+
+        //when
+        ChecklistItemChangesDTO changes = this.checklistItemChangesService.findChanges(since, null);
+
+        //then
+        assertThat(changes.changed().isEmpty(), is(true));
+        assertThat(changes.hasMore(), is(false));
+        assertThat(ChecklistItemChangeToken.decode(changes.next()), is(new ChecklistItemChangeToken(12, true, 8, NOW)));
+    }
+
+    @Test
+    void shouldNotReportDeletionsToASyncFromScratch(){
+        //having
+        when(checklistItemRepository.findChangesAfter(eq(-1L), eq(0L), any())).thenReturn(List.of(
+                change(11L, 4L, "item-4")));
+
+        //when
+        ChecklistItemChangesDTO changes = this.checklistItemChangesService.findChanges(null, null);
+
+        //then
+        assertThat(changes.changed().stream().map(item -> item.guid()).toList(), contains("item-4"));
+        assertThat(changes.deleted().isEmpty(), is(true));
+        assertThat(ChecklistItemChangeToken.decode(changes.next()), is(new ChecklistItemChangeToken(11, false, 4, NOW)));
+        verifyNoInteractions(checklistItemTombstoneRepository);
+    }
+
+    @Test
+    void shouldPurgeTombstonesNoAcceptedTokenCanNeed(){
+        //having
+        when(checklistItemTombstoneRepository.deleteByDeletedAtBefore(
+                NOW.minus(Duration.ofDays(30)).minus(ChecklistItemChangesService.PURGE_GRACE))).thenReturn(3);
+
+        //when
+        int purged = this.checklistItemChangesService.purgeTombstones();
+
+        //then
+        assertThat(purged, is(3));
+    }
+
+    @Test
+    void shouldRejectTokensOlderThanTheTombstoneRetention(){
+        ChecklistItemChangeToken since = new ChecklistItemChangeToken(10, false, 3, NOW.minus(Duration.ofDays(31)));
+
+        assertThrows(ChangeTokenExpiredException.class, () -> this.checklistItemChangesService.findChanges(since, null));
+        verifyNoInteractions(checklistItemRepository, checklistItemTombstoneRepository);
+    }
+
+    private static ChecklistItemChange change(Long changeSequence, Long id, String guid){
+        return new ChecklistItemChange(changeSequence, id, guid, "description", false, LocalDate.now(), LocalDate.now(),
+                null, null, 0L);
+    }
+
+    private static ChecklistItemTombstoneEntity tombstone(Long changeSequence, Long id, String guid){
+        ChecklistItemTombstoneEntity tombstone = new ChecklistItemTombstoneEntity(guid, changeSequence, NOW);
+        tombstone.setId(id);
+        return tombstone;
+    }
+}
@@ -0,0 +1,126 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.repository.ChecklistItemChange;
+import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChecklistItemSearchIndexTest {
+
+    @Mock
+    private ChecklistItemRepository checklistItemRepository;
+    @Mock
+    private ChangeVersionService changeVersionService;
+    private ChecklistItemSearchIndex checklistItemSearchIndex;
+
+    @BeforeEach
+    public void initTest(){
+        this.checklistItemSearchIndex = new ChecklistItemSearchIndex(checklistItemRepository, changeVersionService);
+        when(changeVersionService.currentChangeVersion()).thenReturn(7L);
+        when(checklistItemRepository.streamAllDTOs()).thenReturn(Stream.of(
+                getChecklistItemDTO(1L, "Comprar pão na padaria"),
+                getChecklistItemDTO(2L, "Estudar para a prova de Matemática"),
+                getChecklistItemDTO(3L, "Ir ao mercado"),
+                getChecklistItemDTO(4L, "Marcar consulta no dentista")));
+        this.checklistItemSearchIndex.rebuild();
+    }
+
+    @Test
+    void shouldFindItemsIgnoringCaseAndAccents(){
+        assertThat(checklistItemSearchIndex.search("MATEMATICA", 10), is(List.of(2L)));
+        assertThat(checklistItemSearchIndex.search("pão", 10), is(List.of(1L)));
+    }
+
+    @Test
+    void shouldRankExactMatchesBeforePartialOnes(){
+        checklistItemSearchIndex.add(5L, "Mercadinho da esquina");
+
+        assertThat(checklistItemSearchIndex.search("mercado", 10), is(List.of(3L, 5L)));
+        assertThat(checklistItemSearchIndex.search("mercado", 1), is(List.of(3L)));
+        assertThat(checklistItemSearchIndex.search("mercdo", 10), is(List.of(3L, 5L)));
+    }
+
+    @Test
+    void shouldKeepIndexCurrentOnChanges(){
+        checklistItemSearchIndex.add(5L, "Mercado de pulgas");
+        checklistItemSearchIndex.update(3L, "Ir ao mercado", "Ir à feira");
+        checklistItemSearchIndex.remove(1L, "Comprar pão na padaria");
+
+        assertThat(checklistItemSearchIndex.search("mercado", 10), is(List.of(5L)));
+        assertThat(checklistItemSearchIndex.search("feira", 10), is(List.of(3L)));
+        assertThat(checklistItemSearchIndex.search("padaria", 10), is(empty()));
+        assertThat(checklistItemSearchIndex.size(), is(4L));
+    }
+
+    @Test
+    void shouldReplayChangesMadeWhileRebuilding(){
+        //having
+        when(checklistItemRepository.streamAllDTOs()).thenReturn(Stream.of(
+                getChecklistItemDTO(1L, "Comprar pão na padaria"),
+                getChecklistItemDTO(3L, "Ir ao mercado")).peek(item -> {
+                    if(item.id() == 1L){
+                        checklistItemSearchIndex.add(5L, "Mercado de pulgas");
+                        checklistItemSearchIndex.remove(1L, "Comprar pão na padaria");
+                    }
+                }));
+
+        //when
+        checklistItemSearchIndex.rebuild();
+
+        //then
+        assertThat(checklistItemSearchIndex.search("mercado", 10), is(List.of(3L, 5L)));
+        assertThat(checklistItemSearchIndex.search("padaria", 10), is(empty()));
+    }
+
+    @Test
+    void shouldCatchUpOnItemsWrittenAfterTheBuild(){
+        //having
+        when(checklistItemRepository.findChangesAfter(7L, Long.MAX_VALUE,
+                PageRequest.ofSize(ChecklistItemSearchIndex.CATCH_UP_BATCH_SIZE))).thenReturn(List.of(
+                new ChecklistItemChange(8L, getChecklistItemDTO(3L, "Ir à feira")),
+                new ChecklistItemChange(9L, getChecklistItemDTO(5L, "Mercado de pulgas"))));
+
+        //when
+        checklistItemSearchIndex.catchUp();
+
+        //then
+        assertThat(checklistItemSearchIndex.search("mercado", 10), is(List.of(5L)));
+        assertThat(checklistItemSearchIndex.search("feira", 10), is(List.of(3L)));
+        verify(checklistItemRepository, times(1)).findChangesAfter(7L, Long.MAX_VALUE,
+                PageRequest.ofSize(ChecklistItemSearchIndex.CATCH_UP_BATCH_SIZE));
+    }
+
+    @Test
+    void shouldRemoveItemsWithoutTheirDescription(){
+        checklistItemSearchIndex.removeAll(List.of(1L, 4L));
+
+        assertThat(checklistItemSearchIndex.search("padaria", 10), is(empty()));
+        assertThat(checklistItemSearchIndex.search("dentista", 10), is(empty()));
+        assertThat(checklistItemSearchIndex.size(), is(2L));
+    }
+
+    @Test
+    void shouldIgnoreQueriesShorterThanATrigram(){
+        assertThat(checklistItemSearchIndex.search("ir", 10), is(empty()));
+    }
+
+    private ChecklistItemDTO getChecklistItemDTO(Long id, String description){
+        return ChecklistItemDTO.builder().id(id).description(description).build();
+    }
+}
@@ -1,16 +1,28 @@
 package com.learning.springboot.checklistapi.service;
 
+import com.learning.springboot.checklistapi.dto.CategoryDTO;
+import com.learning.springboot.checklistapi.dto.ChangeEventDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.ChecklistItemFilterDTO;
 import com.learning.springboot.checklistapi.entity.CategoryEntity;
+import com.learning.springboot.checklistapi.entity.CategoryStatsEntity;
 import com.learning.springboot.checklistapi.entity.ChecklistItemEntity;
+import com.learning.springboot.checklistapi.exception.PreconditionFailedException;
 import com.learning.springboot.checklistapi.exception.ResourceNotFoundException;
+import com.learning.springboot.checklistapi.exception.ValidationException;
 import com.learning.springboot.checklistapi.repository.CategoryRepository;
 import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import com.learning.springboot.checklistapi.repository.ChecklistItemSort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -32,10 +44,22 @@ class ChecklistItemServiceTest {
     private ChecklistItemRepository checklistItemRepository;
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private ChangeVersionService changeVersionService;
+    @Mock
+    private CategoryStatsService categoryStatsService;
+    @Mock
+    private ChecklistItemSearchIndex checklistItemSearchIndex;
+    @Mock
+    private DeadlineReminderService deadlineReminderService;
+    @Mock
+    private ChangeFeedService changeFeedService;
+    @Mock
+    private ChecklistItemChangesService checklistItemChangesService;
 
     @BeforeEach
     public void initTest(){
-        this.checklistItemService = new ChecklistItemService(checklistItemRepository, categoryRepository);
+        this.checklistItemService = newChecklistItemService(new CompletedStatusBuffer(false, 500));
     }
 
     @Test
@@ -55,12 +79,71 @@ class ChecklistItemServiceTest {
 
         //then
         this.checklistItemService.addNewChecklistItem(description, isCompleted, deadline, guid);
+        verify(changeVersionService, times(1)).bumpChangeVersion();
+        verify(changeFeedService, times(1)).publish(argThat(event -> event.type() == ChangeEventDTO.Type.CREATED
+                && event.checklistItemDTO().description().equals(description)));
         verify(checklistItemRepository, times(1)).save(
                 argThat(checklistItemArg -> checklistItemArg.getDescription().equals(description)
                 && checklistItemArg.getIsCompleted().equals(true) && checklistItemArg.getDeadline().equals(LocalDate.now())
                 && checklistItemArg.getCategory().getGuid().equals(guid)));
     }
 
+    @Test
+    void shouldCreateChecklistItemsInBatchResolvingCategoriesOnce(){
+
+        //having
+        CategoryEntity firstCategory = new CategoryEntity();
+        firstCategory.setGuid(UUID.randomUUID().toString());
+        CategoryEntity secondCategory = new CategoryEntity();
+        secondCategory.setGuid(UUID.randomUUID().toString());
+        List<ChecklistItemDTO> checklistItems = List.of(
+                getChecklistItemDTO("first", firstCategory.getGuid()),
+                getChecklistItemDTO("second", secondCategory.getGuid()),
+                getChecklistItemDTO("third", firstCategory.getGuid()));
+
+        //when
+        when(categoryRepository.findByGuidIn(anyCollection())).thenReturn(List.of(firstCategory, secondCategory));
+        when(checklistItemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //then
+        List<ChecklistItemEntity> savedChecklistItems = this.checklistItemService.addNewChecklistItems(checklistItems);
+        verify(categoryRepository, times(1)).findByGuidIn(argThat(guids -> guids.size() == 2));
+        verify(categoryRepository, never()).findByGuid(anyString());
+        assertThat(savedChecklistItems.size(), is(3));
+        assertThat(savedChecklistItems.get(2).getCategory(), is(firstCategory));
+        assertThat(savedChecklistItems.get(2).getGuid(), is(notNullValue()));
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenBatchReferencesUnknownCategory(){
+        when(categoryRepository.findByGuidIn(anyCollection())).thenReturn(List.of());
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () ->
+                this.checklistItemService.addNewChecklistItems(List.of(getChecklistItemDTO("first", "AnyValue"))));
+
+        assertThat(exception.getMessage(), is("Category not found"));
+        verify(checklistItemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldResolveCategoryFromCacheOnSubsequentCreates(){
+
+        //having
+        CategoryEntity savedCategory = new CategoryEntity();
+        String guid = UUID.randomUUID().toString();
+        savedCategory.setGuid(guid);
+
+        //when
+        when(categoryRepository.findByGuid(guid)).thenReturn(Optional.of(savedCategory));
+
+        //then
+        this.checklistItemService.addNewChecklistItem("first", false, LocalDate.now(), guid);
+        this.checklistItemService.addNewChecklistItem("second", false, LocalDate.now(), guid);
+        verify(categoryRepository, times(1)).findByGuid(guid);
+        verify(checklistItemRepository, times(2)).save(argThat(checklistItemArg ->
+                checklistItemArg.getCategory().getGuid().equals(guid)));
+    }
+
     @Test
     void shouldThrowAnExceptionWhenTryValidatingDescription(){
 
@@ -132,10 +215,71 @@ class ChecklistItemServiceTest {
     }
 
     @Test
-    void shouldFindAllChecklistItemsSuccessfully(){
+    void shouldFindFirstChecklistItemsPageWithDefaultSize(){
+
+        when(checklistItemRepository.findPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, null, null,
+                ChecklistItemService.DEFAULT_PAGE_SIZE)).thenReturn(new SliceImpl<>(List.of()));
+        checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE, null, null);
+
+        verify(checklistItemRepository, times(1)).findPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE,
+                null, null, ChecklistItemService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void shouldFindChecklistItemsPageAfterCursor(){
+
+        LocalDate deadline = LocalDate.now();
+        ChecklistItemFilterDTO filter = new ChecklistItemFilterDTO("categoryGuid", true, null, null, null, null);
+        when(checklistItemRepository.findPage(filter, ChecklistItemSort.POSTED_DATE_DESC, deadline, 7L, 10))
+                .thenReturn(new SliceImpl<>(List.of()));
+        checklistItemService.findChecklistItemsPage(filter, ChecklistItemSort.POSTED_DATE_DESC,
+                new ChecklistItemCursor(deadline, 7L), 10);
 
-        when(checklistItemRepository.findAll()).thenReturn(List.of());
-        checklistItemService.findAllChecklistItems();
+        verify(checklistItemRepository, times(1)).findPage(filter, ChecklistItemSort.POSTED_DATE_DESC, deadline, 7L, 10);
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenDateRangeIsInverted(){
+        ChecklistItemFilterDTO filter = new ChecklistItemFilterDTO(null, null,
+                LocalDate.of(2023, 11, 18), LocalDate.of(2023, 11, 17), null, null);
+        Exception exception = assertThrows(ValidationException.class, () ->
+                this.checklistItemService.findChecklistItemsPage(filter, ChecklistItemSort.DEADLINE, null, null));
+
+        assertThat(exception.getMessage(), is("deadlineFrom cannot be after deadlineTo"));
+        verifyNoInteractions(checklistItemRepository);
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenPageSizeIsOutOfBounds(){
+        Exception exception = assertThrows(ValidationException.class, () ->
+                this.checklistItemService.findChecklistItemsPage(ChecklistItemFilterDTO.NONE, ChecklistItemSort.DEADLINE,
+                        null, ChecklistItemService.MAX_PAGE_SIZE + 1));
+
+        assertThat(exception.getMessage(), is("Page size must be between 1 and " + ChecklistItemService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void shouldReturnSearchResultsInIndexRankOrder(){
+
+        when(checklistItemSearchIndex.search("mercado", ChecklistItemService.DEFAULT_SEARCH_LIMIT))
+                .thenReturn(List.of(2L, 1L, 3L));
+        when(checklistItemRepository.findDTOsByIdIn(List.of(2L, 1L, 3L))).thenReturn(List.of(
+                ChecklistItemDTO.builder().id(1L).description("Ir ao mercadinho").build(),
+                ChecklistItemDTO.builder().id(2L).description("Mercado").build()));
+
+        List<ChecklistItemDTO> results = checklistItemService.searchChecklistItems("mercado", null);
+
+        assertThat(results.stream().map(ChecklistItemDTO::id).toList(), is(List.of(2L, 1L)));
+        verify(checklistItemSearchIndex, times(1)).removeAll(List.of(3L));
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenSearchQueryIsTooShort(){
+        Exception exception = assertThrows(ValidationException.class, () ->
+                this.checklistItemService.searchChecklistItems(" ab ", null));
+
+        assertThat(exception.getMessage(), is("Search query must have at least 3 characters"));
+        verifyNoInteractions(checklistItemSearchIndex);
     }
 
     @Test
@@ -146,18 +290,22 @@ class ChecklistItemServiceTest {
         checklistItem.setGuid(guid);
 
         //when
-        when(checklistItemRepository.findByGuid(anyString())).thenReturn(Optional.of(checklistItem));
+        when(checklistItemRepository.findWithLockByGuid(anyString())).thenReturn(Optional.of(checklistItem));
+        when(changeVersionService.bumpChangeVersion()).thenReturn(42L);
 
         //then
         checklistItemService.deleteChecklistItem(guid);
+        verify(checklistItemRepository, times(1)).delete(checklistItem);
+        verify(checklistItemChangesService, times(1)).itemDeleted(guid, 42L);
     }
 
     @Test
     void shouldThrowAnExceptionWhenChecklistItemIsNotFound(){
-        when(checklistItemRepository.findByGuid(anyString())).thenReturn(Optional.empty());
+        when(checklistItemRepository.findWithLockByGuid(anyString())).thenReturn(Optional.empty());
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> this.checklistItemService.deleteChecklistItem("AnyValue"));
 
         assertThat(exception.getMessage(), is("ChecklistItem not found."));
+        verifyNoInteractions(changeVersionService);
     }
 
     @Test
@@ -186,7 +334,7 @@ class ChecklistItemServiceTest {
         when(checklistItemRepository.save(any(ChecklistItemEntity.class))).thenReturn(new ChecklistItemEntity());
 
         //then
-        this.checklistItemService.updateChecklistItem(guid, description, isCompleted, deadline, categoryGuid);
+        this.checklistItemService.updateChecklistItem(guid, description, isCompleted, deadline, categoryGuid, null);
         verify(checklistItemRepository, times(1)).save(
                 argThat(checklistItemArg ->  checklistItemArg.getGuid().equals(guid) && checklistItemArg.getDescription().equals(description)
                         && checklistItemArg.getIsCompleted().equals(true) && checklistItemArg.getDeadline().equals(LocalDate.now())
@@ -216,7 +364,7 @@ class ChecklistItemServiceTest {
         ArgumentCaptor<ChecklistItemEntity> argumentCaptor = ArgumentCaptor.forClass(ChecklistItemEntity.class);
 
         //then
-        this.checklistItemService.updateChecklistItem(guid, description, isCompleted, deadline, categoryGuid);
+        this.checklistItemService.updateChecklistItem(guid, description, isCompleted, deadline, categoryGuid, null);
         verify(checklistItemRepository, times(1)).save(argumentCaptor.capture());
         ChecklistItemEntity savedChecklistItem = argumentCaptor.getValue();
         assertThat(savedChecklistItem.getGuid(), is(guid));
@@ -231,7 +379,7 @@ class ChecklistItemServiceTest {
     void shouldThrowAnExceptionWhenUpdatingChecklistItemIsNotFound(){
         when(checklistItemRepository.findByGuid(anyString())).thenReturn(Optional.empty());
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> this.checklistItemService.updateChecklistItem(
-                "AnyValue", "anyValue", true, LocalDate.now(), "Anyvalue"));
+                "AnyValue", "anyValue", true, LocalDate.now(), "Anyvalue", null));
 
         assertThat(exception.getMessage(), is("ChecklistItem not found."));
     }
@@ -253,10 +401,51 @@ class ChecklistItemServiceTest {
 
         //then
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> this.checklistItemService.updateChecklistItem(
-                "AnyValue", "AnyValue", true, LocalDate.now(), categoryGuid));
+                "AnyValue", "AnyValue", true, LocalDate.now(), categoryGuid, null));
         assertThat(exception.getMessage(), is("Category not found."));
     }
 
+    @Test
+    void shouldRejectUpdateWhenExpectedVersionDoesNotMatch(){
+        //having
+        ChecklistItemEntity checklistItem = new ChecklistItemEntity();
+        checklistItem.setGuid(UUID.randomUUID().toString());
+        checklistItem.setVersion(3L);
+
+        //when
+        when(checklistItemRepository.findByGuid(anyString())).thenReturn(Optional.of(checklistItem));
+
+        //then
+        assertThrows(PreconditionFailedException.class, () -> this.checklistItemService.updateChecklistItem(
+                checklistItem.getGuid(), "other", true, LocalDate.now(), "AnyValue", 2L));
+        verify(checklistItemRepository, never()).save(any(ChecklistItemEntity.class));
+        verifyNoInteractions(changeVersionService);
+    }
+
+    @Test
+    void shouldSkipTheWriteWhenUpdateChangesNothing(){
+        //having
+        CategoryEntity savedCategory = new CategoryEntity();
+        savedCategory.setGuid(UUID.randomUUID().toString());
+        ChecklistItemEntity checklistItem = new ChecklistItemEntity();
+        checklistItem.setGuid(UUID.randomUUID().toString());
+        checklistItem.setDescription("same");
+        checklistItem.setIsCompleted(false);
+        checklistItem.setDeadline(LocalDate.now());
+        checklistItem.setCategory(savedCategory);
+        checklistItem.setVersion(3L);
+
+        //when
+        when(checklistItemRepository.findByGuid(anyString())).thenReturn(Optional.of(checklistItem));
+        when(categoryRepository.findByGuid(anyString())).thenReturn(Optional.of(savedCategory));
+
+        //then
+        this.checklistItemService.updateChecklistItem(checklistItem.getGuid(), "same", false, LocalDate.now(),
+                savedCategory.getGuid(), 3L);
+        verify(checklistItemRepository, never()).save(any(ChecklistItemEntity.class));
+        verifyNoInteractions(changeVersionService, changeFeedService);
+    }
+
     @Test
     void shouldFindChecklistItemByGuidSuccessfully(){
         //having
@@ -282,23 +471,242 @@ class ChecklistItemServiceTest {
     @Test
     void shouldUpdateCompletedStatusSuccessfully(){
         //having
-        ChecklistItemEntity checklistItem = new ChecklistItemEntity();
         String guid = UUID.randomUUID().toString();
-        checklistItem.setGuid(guid);
         Boolean isCompleted = true;
 
         //when
-        when(checklistItemRepository.findByGuid(anyString())).thenReturn(Optional.of(checklistItem));
+        when(checklistItemRepository.updateIsCompletedByGuid(guid, isCompleted)).thenReturn(1);
 
         //then
-        checklistItemService.updateIsCompletedStatus(guid, isCompleted);
+        checklistItemService.updateIsCompletedStatus(guid, isCompleted, null);
+        verify(checklistItemRepository, never()).findByGuid(anyString());
+        verify(checklistItemRepository, never()).save(any(ChecklistItemEntity.class));
+        verify(categoryStatsService, times(1)).completedStatusChanged(guid, isCompleted);
+        verify(deadlineReminderService, times(1)).completedStatusChanged(guid, isCompleted);
+        verify(changeVersionService, times(1)).bumpChangeVersion();
+        verify(checklistItemRepository, times(1)).updateChangeSequenceByGuid(eq(guid), anyLong());
+        verify(changeFeedService, times(1)).publish(ChangeEventDTO.checklistItemStatusChanged(guid, isCompleted));
+    }
+
+    @Test
+    void shouldNotTouchStatsWhenCompletedStatusIsUnchanged(){
+        //having
+        String guid = UUID.randomUUID().toString();
+
+        //when
+        when(checklistItemRepository.updateIsCompletedByGuid(guid, true)).thenReturn(0);
+        when(checklistItemRepository.existsByGuid(guid)).thenReturn(true);
+
+        //then
+        checklistItemService.updateIsCompletedStatus(guid, true, null);
+        verifyNoInteractions(categoryStatsService);
+        verifyNoInteractions(changeVersionService);
     }
 
     @Test
     void shouldThrowAnExceptionWhenUpdateCompletedStatusIsNotFound(){
-        when(checklistItemRepository.findByGuid(anyString())).thenReturn(Optional.empty());
-        Exception exception = assertThrows(ResourceNotFoundException.class, () -> this.checklistItemService.updateIsCompletedStatus("AnyValue", true));
+        when(checklistItemRepository.updateIsCompletedByGuid(anyString(), anyBoolean())).thenReturn(0);
+        when(checklistItemRepository.existsByGuid(anyString())).thenReturn(false);
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> this.checklistItemService.updateIsCompletedStatus("AnyValue", true, null));
 
         assertThat(exception.getMessage(), is("ChecklistItem not found."));
+        verifyNoInteractions(changeVersionService);
+    }
+
+    @Test
+    void shouldUpdateCompletedStatusOnlyWhenExpectedVersionMatches(){
+        //having
+        String guid = UUID.randomUUID().toString();
+
+        //when
+        when(checklistItemRepository.updateIsCompletedByGuidAndVersion(guid, true, 2L)).thenReturn(0);
+        when(checklistItemRepository.findVersionByGuid(guid)).thenReturn(Optional.of(3L));
+
+        //then
+        Exception exception = assertThrows(PreconditionFailedException.class, () ->
+                this.checklistItemService.updateIsCompletedStatus(guid, true, 2L));
+        assertThat(exception.getMessage(), is("ChecklistItem was modified, its version does not match."));
+        verify(checklistItemRepository, never()).updateIsCompletedByGuid(anyString(), anyBoolean());
+        verifyNoInteractions(changeVersionService);
+    }
+
+    @Test
+    void shouldUpdateCompletedStatusOfManyItemsInOneStatement(){
+        List<String> guids = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        when(checklistItemRepository.findGuidsWithLockByGuidInAndIsCompletedNot(guids, true)).thenReturn(guids);
+        List<CategoryStatsEntity> countedBefore = List.of(new CategoryStatsEntity(1L, 2L, 0L, 1L));
+        when(categoryStatsService.countChecklistItems(guids)).thenReturn(countedBefore);
+        when(checklistItemRepository.updateIsCompletedByGuidIn(guids, true)).thenReturn(2);
+
+        int updated = checklistItemService.updateIsCompletedStatus(guids, true);
+
+        assertThat(updated, is(2));
+        InOrder inOrder = inOrder(categoryStatsService, checklistItemRepository);
+        inOrder.verify(categoryStatsService).countChecklistItems(guids);
+        inOrder.verify(checklistItemRepository).updateIsCompletedByGuidIn(guids, true);
+        inOrder.verify(categoryStatsService).checklistItemsChanged(guids, countedBefore);
+        verify(changeVersionService, times(1)).bumpChangeVersion();
+    }
+
+    @Test
+    void shouldOnlyStampAndPublishItemsWhoseStatusChanged(){
+        //having
+        String changedGuid = UUID.randomUUID().toString();
+        List<String> guids = List.of(changedGuid, UUID.randomUUID().toString(), "unknown");
+        when(checklistItemRepository.findGuidsWithLockByGuidInAndIsCompletedNot(guids, true)).thenReturn(List.of(changedGuid));
+        when(checklistItemRepository.updateIsCompletedByGuidIn(List.of(changedGuid), true)).thenReturn(1);
+        when(changeVersionService.bumpChangeVersion()).thenReturn(42L);
+
+        //when
+        int updated = checklistItemService.updateIsCompletedStatus(guids, true);
+
+        //then
+        assertThat(updated, is(1));
+        verify(checklistItemRepository, times(1)).updateChangeSequenceByGuidIn(List.of(changedGuid), 42L);
+        verify(changeFeedService, times(1)).publish(any());
+        verify(changeFeedService, times(1)).publish(ChangeEventDTO.checklistItemStatusChanged(changedGuid, true));
+    }
+
+    @Test
+    void shouldNotTouchAnythingWhenNoItemChangesStatus(){
+        List<String> guids = List.of(UUID.randomUUID().toString());
+        when(checklistItemRepository.findGuidsWithLockByGuidInAndIsCompletedNot(guids, false)).thenReturn(List.of());
+
+        int updated = checklistItemService.updateIsCompletedStatus(guids, false);
+
+        assertThat(updated, is(0));
+        verify(checklistItemRepository, never()).updateIsCompletedByGuidIn(anyCollection(), anyBoolean());
+        verifyNoInteractions(changeVersionService, changeFeedService, categoryStatsService);
+    }
+
+    @Test
+    void shouldUpdateCompletedStatusOfACategoryInOneStatement(){
+        CategoryEntity savedCategory = new CategoryEntity();
+        String categoryGuid = UUID.randomUUID().toString();
+        savedCategory.setId(7L);
+        savedCategory.setGuid(categoryGuid);
+        when(categoryRepository.findByGuid(categoryGuid)).thenReturn(Optional.of(savedCategory));
+        List<String> changedGuids = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        when(checklistItemRepository.findGuidsWithLockByCategoryIdAndIsCompletedNot(7L, true)).thenReturn(changedGuids);
+        when(checklistItemRepository.updateIsCompletedByCategoryGuid(categoryGuid, true)).thenReturn(2);
+        when(checklistItemRepository.findGuidsWithLockByCategoryIdAndIsCompletedNot(7L, false)).thenReturn(List.of());
+        when(changeVersionService.bumpChangeVersion()).thenReturn(42L);
+
+        int updated = checklistItemService.updateIsCompletedStatusByCategory(categoryGuid, true);
+        int repeated = checklistItemService.updateIsCompletedStatusByCategory(categoryGuid, false);
+
+        assertThat(updated, is(2));
+        assertThat(repeated, is(0));
+        verify(checklistItemRepository, times(1)).updateChangeSequenceByGuidIn(changedGuids, 42L);
+        verify(categoryStatsService, times(1)).checklistItemsChanged(eq(changedGuids), anyList());
+        verify(checklistItemRepository, never()).updateIsCompletedByCategoryGuid(categoryGuid, false);
+        verify(changeVersionService, times(1)).bumpChangeVersion();
+        verify(changeFeedService, times(1)).publish(ChangeEventDTO.categoryStatusChanged(categoryGuid, true));
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenUpdateCompletedStatusOfUnknownCategory(){
+        when(categoryRepository.findByGuid(anyString())).thenReturn(Optional.empty());
+        Exception exception = assertThrows(ResourceNotFoundException.class, () ->
+                this.checklistItemService.updateIsCompletedStatusByCategory("AnyValue", true));
+
+        assertThat(exception.getMessage(), is("Category not found."));
+    }
+
+    @Test
+    void shouldBufferCompletedStatusTogglesAndFlushOnlyTheLastOne(){
+        //having
+        CompletedStatusBuffer completedStatusBuffer = new CompletedStatusBuffer(true, 500);
+        ChecklistItemService writeBehindService = newChecklistItemService(completedStatusBuffer);
+        String guid = UUID.randomUUID().toString();
+        when(checklistItemRepository.existsByGuid(guid)).thenReturn(true);
+        when(checklistItemRepository.findDTOByGuid(guid)).thenReturn(Optional.of(
+                new ChecklistItemDTO(1L, guid, "Item", false, LocalDate.now(), LocalDate.now(), null, null, 0L)));
+        when(checklistItemRepository.findGuidsWithLockByGuidInAndIsCompletedNot(List.of(guid), true)).thenReturn(List.of(guid));
+        when(checklistItemRepository.updateIsCompletedByGuidIn(List.of(guid), true)).thenReturn(1);
+
+        //when
+        writeBehindService.updateIsCompletedStatus(guid, true, null);
+        writeBehindService.updateIsCompletedStatus(guid, false, null);
+        writeBehindService.updateIsCompletedStatus(guid, true, null);
+
+        //then
+        ChecklistItemDTO bufferedItem = writeBehindService.findChecklistItemDTOByGuid(guid);
+        assertThat(bufferedItem.isCompleted(), is(true));
+        assertThat(bufferedItem.version(), is(1L));
+        verify(checklistItemRepository, times(1)).existsByGuid(guid);
+        verify(checklistItemRepository, never()).updateIsCompletedByGuid(anyString(), anyBoolean());
+        verifyNoInteractions(changeVersionService);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(writeBehindService.flushPendingCompletedStatus(), is(1));
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(checklistItemRepository, times(1)).updateIsCompletedByGuidIn(List.of(guid), true);
+        verify(changeVersionService, times(1)).bumpChangeVersion();
+        assertThat(completedStatusBuffer.pendingStatus(guid).isPresent(), is(false));
+    }
+
+    @Test
+    void shouldFlushBufferedCompletedStatusBeforeFilteringByIt(){
+        //having
+        CompletedStatusBuffer completedStatusBuffer = new CompletedStatusBuffer(true, 500);
+        ChecklistItemService writeBehindService = newChecklistItemService(completedStatusBuffer);
+        String guid = UUID.randomUUID().toString();
+        ChecklistItemFilterDTO filter = new ChecklistItemFilterDTO(null, true, null, null, null, null);
+        when(checklistItemRepository.existsByGuid(guid)).thenReturn(true);
+        when(checklistItemRepository.findGuidsWithLockByGuidInAndIsCompletedNot(List.of(guid), true)).thenReturn(List.of(guid));
+        when(checklistItemRepository.updateIsCompletedByGuidIn(List.of(guid), true)).thenReturn(1);
+        when(checklistItemRepository.findPage(filter, ChecklistItemSort.DEADLINE, null, null,
+                ChecklistItemService.DEFAULT_PAGE_SIZE)).thenReturn(new SliceImpl<>(List.of()));
+        writeBehindService.updateIsCompletedStatus(guid, true, null);
+
+        //when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writeBehindService.findChecklistItemsPage(filter, ChecklistItemSort.DEADLINE, null, null);
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        //then
+        InOrder inOrder = inOrder(checklistItemRepository);
+        inOrder.verify(checklistItemRepository, times(1)).updateIsCompletedByGuidIn(List.of(guid), true);
+        inOrder.verify(checklistItemRepository, times(1)).findPage(filter, ChecklistItemSort.DEADLINE, null, null,
+                ChecklistItemService.DEFAULT_PAGE_SIZE);
+        assertThat(completedStatusBuffer.hasPendingChanges(), is(false));
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenBufferingCompletedStatusOfUnknownItem(){
+        ChecklistItemService writeBehindService = newChecklistItemService(new CompletedStatusBuffer(true, 500));
+        when(checklistItemRepository.existsByGuid(anyString())).thenReturn(false);
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () ->
+                writeBehindService.updateIsCompletedStatus("AnyValue", true, null));
+
+        assertThat(exception.getMessage(), is("ChecklistItem not found."));
+    }
+
+    private ChecklistItemService newChecklistItemService(CompletedStatusBuffer completedStatusBuffer){
+        return new ChecklistItemService(checklistItemRepository, categoryRepository,
+                new CategoryCache(categoryRepository), changeVersionService, categoryStatsService,
+                checklistItemSearchIndex, deadlineReminderService, completedStatusBuffer, changeFeedService,
+                checklistItemChangesService);
+    }
+
+    private ChecklistItemDTO getChecklistItemDTO(String description, String categoryGuid){
+        return ChecklistItemDTO.builder()
+                .description(description)
+                .isCompleted(false)
+                .deadline(LocalDate.now())
+                .categoryDTO(CategoryDTO.builder().guid(categoryGuid).build())
+                .build();
     }
-}
\ No newline at end of file
+}
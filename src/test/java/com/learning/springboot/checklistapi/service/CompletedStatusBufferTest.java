@@ -0,0 +1,109 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class CompletedStatusBufferTest {
+
+    private CompletedStatusBuffer completedStatusBuffer;
+
+    @BeforeEach
+    public void initTest(){
+        this.completedStatusBuffer = new CompletedStatusBuffer(true, 2);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void cleanUp(){
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldKeepOnlyTheLastStatusOfEachItem() throws InterruptedException {
+        //having
+        completedStatusBuffer.put("a", true);
+        completedStatusBuffer.put("a", false);
+        boolean requestedBelowThreshold = completedStatusBuffer.awaitFlushRequest(Duration.ZERO);
+        completedStatusBuffer.put("b", true);
+
+        //when
+        Map<Boolean, List<String>> drained = completedStatusBuffer.drain();
+
+        //then
+        assertThat(requestedBelowThreshold, is(false));
+        assertThat(drained.get(Boolean.FALSE), is(List.of("a")));
+        assertThat(drained.get(Boolean.TRUE), is(List.of("b")));
+        assertThat(completedStatusBuffer.isEmpty(), is(true));
+        assertThat(completedStatusBuffer.pendingStatus("a"), is(Optional.of(false)));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(completedStatusBuffer.pendingStatus("a"), is(Optional.empty()));
+    }
+
+    @Test
+    void shouldKeepChangesPendingWhenTheFlushRollsBack(){
+        //having
+        completedStatusBuffer.put("a", true);
+        completedStatusBuffer.put("b", true);
+        completedStatusBuffer.drain();
+
+        //when
+        completedStatusBuffer.put("b", false);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        //then
+        assertThat(completedStatusBuffer.pendingStatus("a"), is(Optional.of(true)));
+        assertThat(completedStatusBuffer.pendingStatus("b"), is(Optional.of(false)));
+        assertThat(completedStatusBuffer.size(), is(2));
+    }
+
+    @Test
+    void shouldKeepTheStoredVersionWhenTheStatusIsToggledBack(){
+        //having
+        ChecklistItemDTO storedItem = new ChecklistItemDTO(1L, "a", "Item", false, LocalDate.now(), LocalDate.now(),
+                null, null, 4L);
+
+        //when
+        completedStatusBuffer.put("a", true);
+        ChecklistItemDTO toggledItem = completedStatusBuffer.withPendingStatus(storedItem);
+        completedStatusBuffer.put("a", false);
+        ChecklistItemDTO toggledBackItem = completedStatusBuffer.withPendingStatus(storedItem);
+
+        //then
+        assertThat(toggledItem.isCompleted(), is(true));
+        assertThat(toggledItem.version(), is(5L));
+        assertThat(toggledBackItem.isCompleted(), is(false));
+        assertThat(toggledBackItem.version(), is(4L));
+    }
+
+    @Test
+    void shouldNotHoldTheFlushWhenNothingIsPending(){
+        //when
+        Map<Boolean, List<String>> drained = completedStatusBuffer.drain();
+
+        //then
+        assertThat(drained.get(Boolean.TRUE), is(List.of()));
+        assertThat(drained.get(Boolean.FALSE), is(List.of()));
+        assertThat(TransactionSynchronizationManager.getSynchronizations().isEmpty(), is(true));
+    }
+
+    private void complete(int status){
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
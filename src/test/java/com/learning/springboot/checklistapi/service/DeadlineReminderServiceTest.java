@@ -0,0 +1,126 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.learning.springboot.checklistapi.dto.ChecklistItemDTO;
+import com.learning.springboot.checklistapi.dto.DeadlineEventDTO;
+import com.learning.springboot.checklistapi.entity.ReminderCheckpointEntity;
+import com.learning.springboot.checklistapi.repository.ChecklistItemRepository;
+import com.learning.springboot.checklistapi.repository.ReminderCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineReminderServiceTest {
+
+    @Mock
+    private ChecklistItemRepository checklistItemRepository;
+    @Mock
+    private ReminderCheckpointRepository reminderCheckpointRepository;
+    private final List<DeadlineEventDTO> events = new ArrayList<>();
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-11-17T10:00:00Z"));
+    private DeadlineReminderService deadlineReminderService;
+
+    @BeforeEach
+    public void initTest(){
+        this.deadlineReminderService = new DeadlineReminderService(checklistItemRepository,
+                reminderCheckpointRepository, List.of(events::add), clock, 7, 1_000);
+    }
+
+    @Test
+    void shouldCatchUpAfterRestartAndFireScheduledReminders(){
+        //having
+        when(reminderCheckpointRepository.findById(DeadlineReminderService.CHECKPOINT_ID)).thenReturn(Optional.of(
+                new ReminderCheckpointEntity(DeadlineReminderService.CHECKPOINT_ID, Instant.parse("2023-11-16T12:00:00Z"))));
+        when(reminderCheckpointRepository.updateProcessedUntil(any(), any())).thenReturn(1);
+        when(checklistItemRepository.findIncompleteDTOsByDeadlineBetween(LocalDate.of(2023, 11, 15), LocalDate.of(2023, 11, 24)))
+                .thenReturn(List.of(
+                        getChecklistItemDTO("overdue-while-down", LocalDate.of(2023, 11, 16)),
+                        getChecklistItemDTO("due-today", LocalDate.of(2023, 11, 17)),
+                        getChecklistItemDTO("due-tomorrow", LocalDate.of(2023, 11, 18))));
+
+        //when
+        deadlineReminderService.start();
+
+        //then
+        assertThat(describe(events), is(List.of("OVERDUE overdue-while-down catchUp", "DUE due-today catchUp")));
+        assertThat(deadlineReminderService.pendingCount(), is(2));
+
+        events.clear();
+        clock.set(Instant.parse("2023-11-18T00:00:30Z"));
+        deadlineReminderService.tick();
+        assertThat(describe(events), is(List.of("OVERDUE due-today", "DUE due-tomorrow")));
+        assertThat(deadlineReminderService.pendingCount(), is(1));
+        verify(reminderCheckpointRepository).updateProcessedUntil(DeadlineReminderService.CHECKPOINT_ID, clock.instant());
+    }
+
+    @Test
+    void shouldNotFireRemindersOfCompletedOrRemovedItems(){
+        //having
+        when(reminderCheckpointRepository.findById(DeadlineReminderService.CHECKPOINT_ID)).thenReturn(Optional.empty());
+        when(checklistItemRepository.findIncompleteDTOsByDeadlineBetween(any(), any()))
+                .thenReturn(List.of(getChecklistItemDTO("completed", LocalDate.of(2023, 11, 18))));
+        deadlineReminderService.start();
+
+        //when
+        deadlineReminderService.completedStatusChanged("completed", true);
+        clock.set(Instant.parse("2023-11-20T00:00:00Z"));
+        deadlineReminderService.tick();
+
+        //then
+        assertThat(events.isEmpty(), is(true));
+        assertThat(deadlineReminderService.pendingCount(), is(0));
+        verify(reminderCheckpointRepository).save(any(ReminderCheckpointEntity.class));
+    }
+
+    private ChecklistItemDTO getChecklistItemDTO(String guid, LocalDate deadline){
+        return ChecklistItemDTO.builder().guid(guid).description(guid).isCompleted(false).deadline(deadline).build();
+    }
+
+    private static List<String> describe(List<DeadlineEventDTO> events){
+        return events.stream().map(event -> event.type() + " " + event.guid() + (event.catchUp() ? " catchUp" : "")).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant){
+            this.instant = instant;
+        }
+
+        void set(Instant instant){
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone(){
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone){
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant(){
+            return instant;
+        }
+    }
+}
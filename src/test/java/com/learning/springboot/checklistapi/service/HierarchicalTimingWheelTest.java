@@ -0,0 +1,67 @@
+package com.learning.springboot.checklistapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void shouldFireTimersOfEveryLevelInOrderAndNotBefore(){
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(TICK, 10, START);
+        timingWheel.schedule(START + 3 * TICK, "level 0");
+        timingWheel.schedule(START + 42 * TICK, "level 1");
+        timingWheel.schedule(START + 777 * TICK, "level 2");
+        List<String> fired = new ArrayList<>();
+
+        timingWheel.advance(START + 2 * TICK, fired::add);
+        assertThat(fired, is(empty()));
+
+        timingWheel.advance(START + 3 * TICK, fired::add);
+        assertThat(fired, is(List.of("level 0")));
+
+        timingWheel.advance(START + 41 * TICK, fired::add);
+        assertThat(fired, is(List.of("level 0")));
+
+        timingWheel.advance(START + 42 * TICK, fired::add);
+        timingWheel.advance(START + 776 * TICK, fired::add);
+        assertThat(fired, is(List.of("level 0", "level 1")));
+
+        timingWheel.advance(START + 777 * TICK, fired::add);
+        assertThat(fired, is(List.of("level 0", "level 1", "level 2")));
+        assertThat(timingWheel.size(), is(0));
+    }
+
+    @Test
+    void shouldNotFireCancelledTimers(){
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(TICK, 10, START);
+        HierarchicalTimingWheel.Timer<String> cancelled = timingWheel.schedule(START + 500 * TICK, "cancelled");
+        timingWheel.schedule(START + 500 * TICK, "kept");
+        List<String> fired = new ArrayList<>();
+
+        timingWheel.cancel(cancelled);
+        timingWheel.cancel(cancelled);
+        timingWheel.advance(START + 1_000 * TICK, fired::add);
+
+        assertThat(fired, is(List.of("kept")));
+        assertThat(timingWheel.size(), is(0));
+    }
+
+    @Test
+    void shouldRejectTimersExpiringWithinTheCurrentTick(){
+        HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(TICK, 10, START);
+
+        assertThat(timingWheel.schedule(START + TICK / 2, "now"), is(nullValue()));
+        assertThat(timingWheel.schedule(START + TICK, "next tick"), is(notNullValue()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.learning.springboot.checklistapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.springboot.checklistapi.dto.NewResourceDTO;
+import com.learning.springboot.checklistapi.entity.IdempotencyKeyEntity;
+import com.learning.springboot.checklistapi.exception.ValidationException;
+import com.learning.springboot.checklistapi.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final Instant NOW = Instant.parse("2023-11-17T10:00:00Z");
+    private static final Map<String, String> REQUEST = Map.of("name", "Trabalho");
+
+    private IdempotencyService idempotencyService;
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void initTest(){
+        this.idempotencyService = this.idempotencyService(false);
+    }
+
+    @Test
+    void shouldReplayTheStoredResponseWithoutCreatingAgain(){
+        //having
+        AtomicInteger creations = new AtomicInteger();
+
+        //when
+        NewResourceDTO first = this.idempotencyService.execute("categories", "retry-1", REQUEST,
+                () -> new NewResourceDTO("guid-" + creations.incrementAndGet()));
+        NewResourceDTO retried = this.idempotencyService.execute("categories", "retry-1", REQUEST,
+                () -> new NewResourceDTO("guid-" + creations.incrementAndGet()));
+        NewResourceDTO otherScope = this.idempotencyService.execute("checklist-items", "retry-1", REQUEST,
+                () -> new NewResourceDTO("guid-" + creations.incrementAndGet()));
+
+        //then
+        assertThat(first.guid(), is("guid-1"));
+        assertThat(retried.guid(), is("guid-1"));
+        assertThat(otherScope.guid(), is("guid-2"));
+        Exception exception = assertThrows(ValidationException.class, () -> this.idempotencyService.execute(
+                "categories", "retry-1", Map.of("name", "Casa"), () -> new NewResourceDTO("guid-3")));
+        assertThat(exception.getMessage(), is("Idempotency-Key was already used with a different request"));
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void shouldCollapseConcurrentDuplicatesOntoOneCreation() throws Exception {
+        //having
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch creationStarted = new CountDownLatch(1);
+        CountDownLatch releaseCreation = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when
+        CompletableFuture<NewResourceDTO> first = CompletableFuture.supplyAsync(() -> this.idempotencyService.execute(
+                "categories", "retry-1", REQUEST, () -> {
+                    creationStarted.countDown();
+                    await(releaseCreation);
+                    return new NewResourceDTO("guid-" + creations.incrementAndGet());
+                }), executor);
+        assertThat(creationStarted.await(5, TimeUnit.SECONDS), is(true));
+        CompletableFuture<NewResourceDTO> duplicate = CompletableFuture.supplyAsync(() -> this.idempotencyService.execute(
+                "categories", "retry-1", REQUEST, () -> new NewResourceDTO("guid-" + creations.incrementAndGet())), executor);
+        releaseCreation.countDown();
+
+        //then
+        assertThat(first.get(5, TimeUnit.SECONDS).guid(), is("guid-1"));
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).guid(), is("guid-1"));
+        assertThat(creations.get(), is(1));
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldNotKeepFailedCreations(){
+        //having
+        assertThrows(ValidationException.class, () -> this.idempotencyService.execute("categories", "retry-1", REQUEST,
+                () -> { throw new ValidationException("Category name cannot be empty or null"); }));
+
+        //when
+        NewResourceDTO retried = this.idempotencyService.execute("categories", "retry-1", REQUEST,
+                () -> new NewResourceDTO("guid-1"));
+
+        //then
+        assertThat(retried.guid(), is("guid-1"));
+    }
+
+    @Test
+    void shouldReplayAResponseStoredByAnotherInstance(){
+        //having
+        IdempotencyService sharedIdempotencyService = this.idempotencyService(true);
+        IdempotencyKeyEntity storedKey = new IdempotencyKeyEntity("categories:retry-1", sharedIdempotencyService.fingerprint(REQUEST),
+                NOW.minusSeconds(60));
+        storedKey.setResourceGuid("guid-1");
+        when(idempotencyKeyRepository.findByIdempotencyKey("categories:retry-1")).thenReturn(Optional.of(storedKey));
+
+        //when
+        NewResourceDTO replayed = sharedIdempotencyService.execute("categories", "retry-1", REQUEST,
+                () -> { throw new AssertionError("Creation must not run again"); });
+
+        //then
+        assertThat(replayed.guid(), is("guid-1"));
+        verify(idempotencyKeyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldRejectBlankIdempotencyKeys(){
+        assertThrows(ValidationException.class, () -> this.idempotencyService.execute("categories", " ", REQUEST,
+                () -> new NewResourceDTO("guid-1")));
+    }
+
+    private IdempotencyService idempotencyService(boolean database){
+        return new IdempotencyService(idempotencyKeyRepository, new TransactionTemplate(transactionManager),
+                new ObjectMapper(), Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofHours(24), 100, database);
+    }
+
+    private static void await(CountDownLatch latch){
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}